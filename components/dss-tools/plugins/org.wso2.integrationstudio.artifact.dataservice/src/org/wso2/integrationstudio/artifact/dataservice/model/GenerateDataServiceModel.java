@@ -15,11 +15,11 @@
  */
 package org.wso2.integrationstudio.artifact.dataservice.model;
 
-import java.sql.DatabaseMetaData;
 import java.util.EnumSet;
 import java.util.Map;
 
 import org.wso2.integrationstudio.artifact.dataservice.ui.wizard.GenerateDataServicesUtils.Methods;
+import org.wso2.integrationstudio.artifact.dataservice.utils.DatabaseMetadataSnapshot;
 import org.wso2.integrationstudio.platform.core.project.model.ProjectDataModel;
 
 public class GenerateDataServiceModel extends ProjectDataModel{
@@ -27,7 +27,7 @@ public class GenerateDataServiceModel extends ProjectDataModel{
     private String datasource;
     private Map<String, EnumSet<Methods>> tables;
     private boolean isGenerateSingleService = true;
-    private DatabaseMetaData metadata;
+    private DatabaseMetadataSnapshot metadata;
     private String serviceName;
     
     public String getDatasource() {
@@ -48,10 +48,10 @@ public class GenerateDataServiceModel extends ProjectDataModel{
     public void setGenerateSingleService(boolean isGenerateSingleService) {
         this.isGenerateSingleService = isGenerateSingleService;
     }
-    public DatabaseMetaData getMetadata() {
+    public DatabaseMetadataSnapshot getMetadata() {
         return metadata;
     }
-    public void setMetadata(DatabaseMetaData metadata) {
+    public void setMetadata(DatabaseMetadataSnapshot metadata) {
         this.metadata = metadata;
     }
     public String getServiceName() {
@@ -19,9 +19,6 @@ package org.wso2.integrationstudio.artifact.dataservice.ui.wizard;
 import java.io.File;
 import java.io.IOException;
 import java.io.StringWriter;
-import java.sql.DatabaseMetaData;
-import java.sql.ResultSet;
-import java.sql.SQLException;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -72,6 +69,9 @@ import org.wso2.integrationstudio.artifact.dataservice.ui.wizard.GenerateDataSer
 import org.wso2.integrationstudio.artifact.dataservice.utils.DataServiceArtifactConstants;
 import org.wso2.integrationstudio.artifact.dataservice.utils.DataServiceImageUtils;
 import org.wso2.integrationstudio.artifact.dataservice.utils.DataServiceTemplateUtils;
+import org.wso2.integrationstudio.artifact.dataservice.utils.DatabaseMetadataSnapshot;
+import org.wso2.integrationstudio.artifact.dataservice.utils.DatabaseMetadataSnapshot.ColumnMetadata;
+import org.wso2.integrationstudio.artifact.dataservice.utils.DatabaseMetadataSnapshot.TableMetadata;
 import org.wso2.integrationstudio.capp.maven.utils.MavenConstants;
 import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
 import org.wso2.integrationstudio.logging.core.Logger;
@@ -111,11 +111,6 @@ public class DataServiceCreationWizard extends AbstractWSO2ProjectCreationWizard
 	private static final String SINGLE_SERVICE_DESCRIPTION = "single service for whole database";
 	private static final String MUTLIPLE_SERVICE_DESCRIPTION = "multiple services per each table";
 	private static final String WSO2_DS_NAMESPACE = "http://ws.wso2.org/dataservice";
-	private static final String COLUMN_NAME = "COLUMN_NAME";
-	private static final String DATA_TYPE = "DATA_TYPE";
-	private static final String AUTOINCREMENT_COLUMN = "IS_AUTOINCREMENT";
-	private static final String IDENTITY_COLUMN = "Identity";
-	private static final String IS_AUTOINCREMENT = "YES";
 
 
 	private final DataServiceModel dsModel;
@@ -562,7 +557,7 @@ public class DataServiceCreationWizard extends AbstractWSO2ProjectCreationWizard
         dataElement.appendChild(configEle);
         
         Map<String, EnumSet<Methods>> tables = generateDataServiceModel.getTables();
-        DatabaseMetaData metadata = generateDataServiceModel.getMetadata();
+        DatabaseMetadataSnapshot metadata = generateDataServiceModel.getMetadata();
         for (Map.Entry<String, EnumSet<Methods>> entry : tables.entrySet()) {
             Map<String, String> columnsList = new HashMap<String, String>();
             Map<String, String> primaryKeys = new HashMap<String, String>();
@@ -570,33 +565,28 @@ public class DataServiceCreationWizard extends AbstractWSO2ProjectCreationWizard
             String columnNameString = "";
             int i = 0;
             String table = entry.getKey();
-            try (ResultSet rs = metadata.getColumns(null, null, table, null)) {
-                while (rs.next()) {
-                    String name = rs.getString(COLUMN_NAME);
-                    int type = rs.getInt(DATA_TYPE);
-                    String sqlType = getSQLType(type);
-                    if (this.isAutoIncrementField(rs)) {
-                        autoIncrementFeilds.put(name, sqlType);
-                        continue;
-                    }
-                    columnsList.put(name, sqlType);
-                    if (i == 0) {
-                        columnNameString = " " + name;
-                    } else {
-                        columnNameString = columnNameString + ", " + name;
-                    }
-                    i++;
+            TableMetadata tableMetadata = metadata.getTable(table);
+            for (ColumnMetadata column : tableMetadata.getColumns()) {
+                String name = column.getName();
+                String sqlType = getSQLType(column.getDataType());
+                if (column.isAutoIncrement()) {
+                    autoIncrementFeilds.put(name, sqlType);
+                    continue;
+                }
+                columnsList.put(name, sqlType);
+                if (i == 0) {
+                    columnNameString = " " + name;
+                } else {
+                    columnNameString = columnNameString + ", " + name;
                 }
+                i++;
             }
-            try (ResultSet rs = metadata.getPrimaryKeys(null, null, table)) {
-                while (rs.next()) {
-                    String name = rs.getString(COLUMN_NAME);
-                    String sqlType = columnsList.get(name);
-                    if (sqlType == null) {
-                        sqlType = autoIncrementFeilds.get(name);
-                    }
-                    primaryKeys.put(name, sqlType);
+            for (String name : tableMetadata.getPrimaryKeys()) {
+                String sqlType = columnsList.get(name);
+                if (sqlType == null) {
+                    sqlType = autoIncrementFeilds.get(name);
                 }
+                primaryKeys.put(name, sqlType);
             }
             EnumSet<Methods> methods = entry.getValue();
             if (methods.contains(Methods.GET)) {
@@ -617,22 +607,6 @@ public class DataServiceCreationWizard extends AbstractWSO2ProjectCreationWizard
         return generateServiceFromDoc(doc, generateDataServiceModel.getServiceName());
     }
     
-    private boolean isAutoIncrementField(ResultSet columnNames) {
-        try {
-            String autoIncrString = columnNames.getString(AUTOINCREMENT_COLUMN);
-            if (IS_AUTOINCREMENT.equalsIgnoreCase(autoIncrString)) {
-                return true;
-            }
-            Boolean identity = columnNames.getBoolean(IDENTITY_COLUMN);
-            if (identity != null) {
-                return identity;
-            }
-        } catch (SQLException ignore) {
-            // ignore
-        }       
-        return false;
-    }
-    
     /**
      * Adds the template
      * 
@@ -654,39 +628,34 @@ public class DataServiceCreationWizard extends AbstractWSO2ProjectCreationWizard
         Element configEle = generateConfigElement(doc);
         dataElement.appendChild(configEle);
         
-        DatabaseMetaData metadata = generateDataServiceModel.getMetadata();
+        DatabaseMetadataSnapshot metadata = generateDataServiceModel.getMetadata();
         Map<String, String> columnsList = new HashMap<String, String>();
         Map<String, String> primaryKeys = new HashMap<String, String>();
         Map<String, String> autoIncrementFeilds = new HashMap<String, String>();
         String columnNameString = "";
         int i = 0;
-        try (ResultSet rs = metadata.getColumns(null, null, table, null)) {
-            while (rs.next()) {
-                String name = rs.getString(COLUMN_NAME);
-                int type = rs.getInt(DATA_TYPE);
-                String sqlType = getSQLType(type);
-                if (this.isAutoIncrementField(rs)) {
-                    autoIncrementFeilds.put(name, sqlType);
-                    continue;
-                }
-                columnsList.put(name, sqlType);
-                if (i == 0) {
-                    columnNameString = " " + name;
-                } else {
-                    columnNameString = columnNameString + ", " + name;
-                }
-                i++;
+        TableMetadata tableMetadata = metadata.getTable(table);
+        for (ColumnMetadata column : tableMetadata.getColumns()) {
+            String name = column.getName();
+            String sqlType = getSQLType(column.getDataType());
+            if (column.isAutoIncrement()) {
+                autoIncrementFeilds.put(name, sqlType);
+                continue;
+            }
+            columnsList.put(name, sqlType);
+            if (i == 0) {
+                columnNameString = " " + name;
+            } else {
+                columnNameString = columnNameString + ", " + name;
             }
+            i++;
         }
-        try (ResultSet rs = metadata.getPrimaryKeys(null, null, table)) {
-            while (rs.next()) {
-                String name = rs.getString(COLUMN_NAME);
-                String sqlType = columnsList.get(name);
-                if (sqlType == null) {
-                    sqlType = autoIncrementFeilds.get(name);
-                }
-                primaryKeys.put(name, sqlType);
+        for (String name : tableMetadata.getPrimaryKeys()) {
+            String sqlType = columnsList.get(name);
+            if (sqlType == null) {
+                sqlType = autoIncrementFeilds.get(name);
             }
+            primaryKeys.put(name, sqlType);
         }
         if (methods.contains(Methods.GET)) {
             generateSelectAllDefinition(doc, dataElement, table, columnNameString, columnsList);
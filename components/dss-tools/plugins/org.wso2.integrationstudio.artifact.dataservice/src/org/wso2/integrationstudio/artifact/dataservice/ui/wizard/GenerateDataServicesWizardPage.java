@@ -17,16 +17,13 @@ package org.wso2.integrationstudio.artifact.dataservice.ui.wizard;
 
 import java.io.File;
 import java.io.IOException;
-import java.net.MalformedURLException;
+import java.lang.reflect.InvocationTargetException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.sql.Connection;
-import java.sql.DatabaseMetaData;
 import java.sql.Driver;
-import java.sql.DriverManager;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -36,6 +33,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Properties;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -44,6 +42,8 @@ import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.FileLocator;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jface.operation.IRunnableWithProgress;
 import org.eclipse.jface.wizard.WizardPage;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.custom.TableEditor;
@@ -80,6 +80,10 @@ import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 import org.wso2.integrationstudio.artifact.dataservice.model.GenerateDataServiceModel;
 import org.wso2.integrationstudio.artifact.dataservice.ui.wizard.GenerateDataServicesUtils.Methods;
+import org.wso2.integrationstudio.artifact.dataservice.utils.DatabaseMetadataCrawler;
+import org.wso2.integrationstudio.artifact.dataservice.utils.DatabaseMetadataCrawler.ConnectionProvider;
+import org.wso2.integrationstudio.artifact.dataservice.utils.DatabaseMetadataSnapshot;
+import org.wso2.integrationstudio.artifact.dataservice.utils.DatabaseMetadataSnapshot.TableMetadata;
 import org.wso2.integrationstudio.artifact.datasource.artifact.DataSourceArtifact;
 import org.wso2.integrationstudio.artifact.datasource.artifact.DataSourceProjectArtifact;
 import org.wso2.integrationstudio.ds.presentation.DsEditorPlugin;
@@ -1031,58 +1035,70 @@ public class GenerateDataServicesWizardPage extends WizardPage {
             showMessageBox("Cannot resolve the password", "Please enter a plain text password", SWT.ICON_ERROR);
             return null;
         }
-        Connection connection = null;
         if ((connectionURL != null) && (driverClassName != null) && (userName != null) && (password != null)) {
-            try {               
-                URL url = new URL(driverUrl);
-                URLClassLoader classLoader = new URLClassLoader(new URL[] { url });
+            // an explicit fetch always connects, so the credentials are checked and schema changes are seen; the
+            // rest of the wizard reads the fetched snapshot from the data model
+            try (URLClassLoader classLoader = new URLClassLoader(new URL[] { new URL(driverUrl) })) {
                 Driver driver = (Driver) Class.forName(driverClassName, true, classLoader)
                             .newInstance();
-                DriverManager.registerDriver(new DriverShim(driver));            
-                if (!userName.isEmpty()) {
-                    connection = DriverManager.getConnection(connectionURL, userName, password);
-                } else {
-                    connection = DriverManager.getConnection(connectionURL);
-                }
-                return getTableList(connection);
+                return getTableList(crawlDatabase(driver, connectionURL, userName, password));
+            } catch (InterruptedException e) {
+                // cancelled by the user
             } catch (ClassNotFoundException | SQLException | InstantiationException | 
-                    IllegalAccessException | MalformedURLException e) {
+                    IllegalAccessException | IOException e) {
                 showMessageBox("Error while retriving tables", e.getMessage(), SWT.ICON_ERROR);
             } 
         }
         return null;   
     }
-    
-    private Map<String, Boolean> getTableList(Connection connection) throws SQLException {
-        Map<String, Boolean> tablesMap = new HashMap<String, Boolean>();
-        if (connection != null) {
-            DatabaseMetaData mObject = connection.getMetaData();
-            dataModel.setMetadata(mObject);
-            ResultSet tableNamesList = null;
-            String schema = null;
-            try {
-                String dbType = mObject.getDatabaseProductName();
-                isDatasourceReadOnly = mObject.isReadOnly();
-                if ("Oracle".equalsIgnoreCase(dbType)) {
-                   schema = connection.getSchema(); 
-                } else if ("PostgreSQL".equalsIgnoreCase(dbType)) {
-                    ResultSet schemas = mObject.getSchemas();
-                    while (schemas.next()) {
-                        schema = schemas.getString("TABLE_SCHEM");
-                    }
-                }
-                tableNamesList = mObject.getTables(connection.getCatalog(), schema, "%", new String[] { "TABLE" });
-                while (tableNamesList.next()) {
-                    String tableName = tableNamesList.getString("TABLE_NAME");
-                    ResultSet rs = mObject.getPrimaryKeys(null, null, tableName);
-                    boolean hasPrimaryKey = rs.next();
-                    tablesMap.put(tableName, hasPrimaryKey);                    
+
+    /**
+     * Reads the metadata of the database in the wizard container, so the user sees the progress and can cancel it.
+     */
+    private DatabaseMetadataSnapshot crawlDatabase(final Driver driver, final String connectionURL,
+            final String userName, String password) throws SQLException, InterruptedException {
+        final Properties properties = new Properties();
+        if (!userName.isEmpty()) {
+            properties.put("user", userName);
+            properties.put("password", password);
+        }
+        final ConnectionProvider connectionProvider = new ConnectionProvider() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                Connection connection = driver.connect(connectionURL, properties);
+                if (connection == null) {
+                    throw new SQLException("No suitable driver found for " + connectionURL, "08001");
                 }
-            } finally {
-                if(tableNamesList != null) {
-                    tableNamesList.close();
+                return connection;
+            }
+        };
+        final DatabaseMetadataSnapshot[] snapshot = new DatabaseMetadataSnapshot[1];
+        try {
+            getContainer().run(true, true, new IRunnableWithProgress() {
+                @Override
+                public void run(IProgressMonitor monitor) throws InvocationTargetException, InterruptedException {
+                    try (Connection connection = connectionProvider.getConnection()) {
+                        snapshot[0] = DatabaseMetadataCrawler.crawl(connection, connectionProvider, monitor);
+                    } catch (SQLException e) {
+                        throw new InvocationTargetException(e);
+                    }
                 }
+            });
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
             }
+            throw new SQLException(e.getCause());
+        }
+        return snapshot[0];
+    }
+    
+    private Map<String, Boolean> getTableList(DatabaseMetadataSnapshot snapshot) {
+        dataModel.setMetadata(snapshot);
+        isDatasourceReadOnly = snapshot.isReadOnly();
+        Map<String, Boolean> tablesMap = new HashMap<String, Boolean>();
+        for (TableMetadata table : snapshot.getTables().values()) {
+            tablesMap.put(table.getName(), table.hasPrimaryKey());
         }
         return tablesMap;
     }
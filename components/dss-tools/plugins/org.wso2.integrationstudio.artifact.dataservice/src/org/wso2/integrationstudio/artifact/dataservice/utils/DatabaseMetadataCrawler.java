@@ -0,0 +1,385 @@
+/*
+*  Copyright (c) Mar 19, 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+package org.wso2.integrationstudio.artifact.dataservice.utils;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
+import org.wso2.integrationstudio.artifact.dataservice.Activator;
+import org.wso2.integrationstudio.artifact.dataservice.utils.DatabaseMetadataSnapshot.ColumnMetadata;
+import org.wso2.integrationstudio.artifact.dataservice.utils.DatabaseMetadataSnapshot.TableMetadata;
+import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
+import org.wso2.integrationstudio.logging.core.Logger;
+
+/**
+ * Reads the tables, columns, primary keys and procedures of a database into a {@link DatabaseMetadataSnapshot}.
+ * <p>
+ * Columns and primary keys of all the tables are read with one catalog query each where the driver supports it. Drivers
+ * which need a query per table are queried from a few connections in parallel. Snapshots are not cached, every crawl
+ * reads the database.
+ */
+public class DatabaseMetadataCrawler {
+
+    private static final int MAX_PARALLEL_CONNECTIONS = 4;
+    private static final long PROGRESS_INTERVAL = 100;
+
+    private static final String TABLE_TYPE = "TABLE";
+    private static final String TABLE_SCHEM = "TABLE_SCHEM";
+    private static final String TABLE_NAME = "TABLE_NAME";
+    private static final String COLUMN_NAME = "COLUMN_NAME";
+    private static final String DATA_TYPE = "DATA_TYPE";
+    private static final String PROCEDURE_NAME = "PROCEDURE_NAME";
+    private static final String AUTOINCREMENT_COLUMN = "IS_AUTOINCREMENT";
+    private static final String IDENTITY_COLUMN = "Identity";
+    private static final String IS_AUTOINCREMENT = "YES";
+    private static final String ORACLE = "Oracle";
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    private static IIntegrationStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
+
+    /**
+     * Opens additional connections to the database for reading metadata in parallel
+     */
+    public interface ConnectionProvider {
+
+        Connection getConnection() throws SQLException;
+    }
+
+    private DatabaseMetadataCrawler() {
+    }
+
+    /**
+     * Reads a snapshot of the database.
+     *
+     * @param connection connection to read the metadata with
+     * @param connectionProvider provider of connections for reading in parallel, or null to read from the given
+     *            connection only
+     * @param monitor progress monitor, which is told about each table as it is read
+     * @return the snapshot
+     * @throws SQLException if the metadata could not be read
+     * @throws InterruptedException if the monitor is canceled
+     */
+    public static DatabaseMetadataSnapshot crawl(Connection connection, ConnectionProvider connectionProvider,
+            IProgressMonitor monitor) throws SQLException, InterruptedException {
+        SubMonitor progress = SubMonitor.convert(monitor, "Reading database metadata", 100);
+        DatabaseMetaData metaData = connection.getMetaData();
+        String productName = metaData.getDatabaseProductName();
+        DatabaseMetadataSnapshot snapshot = new DatabaseMetadataSnapshot(productName, metaData.isReadOnly());
+        String catalog = connection.getCatalog();
+        String schema = getSchema(connection, metaData, productName);
+
+        progress.subTask("Reading tables");
+        try (ResultSet rs = metaData.getTables(catalog, schema, "%", new String[] { TABLE_TYPE })) {
+            while (rs.next()) {
+                snapshot.addTable(new TableMetadata(rs.getString(TABLE_SCHEM), rs.getString(TABLE_NAME)));
+            }
+        }
+        checkCanceled(progress);
+        progress.worked(10);
+
+        progress.subTask("Reading columns and primary keys of " + snapshot.getTables().size() + " tables");
+        List<TableMetadata> tables = new ArrayList<TableMetadata>(snapshot.getTables().values());
+        boolean columnsRead = readColumns(metaData, catalog, schema, snapshot);
+        boolean primaryKeysRead = readPrimaryKeys(metaData, catalog, schema, snapshot);
+        if (!columnsRead || !primaryKeysRead) {
+            // a failed catalog query may have read a part of the tables
+            for (TableMetadata table : tables) {
+                if (!columnsRead) {
+                    table.clearColumns();
+                }
+                if (!primaryKeysRead) {
+                    table.clearPrimaryKeys();
+                }
+            }
+            readTablesInParallel(connection, connectionProvider, catalog, tables, !columnsRead, !primaryKeysRead,
+                    progress.newChild(80));
+        } else {
+            progress.worked(80);
+        }
+
+        progress.subTask("Reading procedures");
+        try (ResultSet rs = metaData.getProcedures(catalog, schema, "%")) {
+            while (rs.next()) {
+                snapshot.addProcedure(rs.getString(PROCEDURE_NAME));
+            }
+        } catch (SQLException e) {
+            // procedures are not needed to generate data services
+            log.warn("Could not read the procedures of the database", e);
+        }
+        progress.worked(10);
+        return snapshot;
+    }
+
+    private static String getSchema(Connection connection, DatabaseMetaData metaData, String productName)
+            throws SQLException {
+        String schema = null;
+        if (ORACLE.equalsIgnoreCase(productName)) {
+            schema = connection.getSchema();
+        } else if (POSTGRESQL.equalsIgnoreCase(productName)) {
+            try (ResultSet schemas = metaData.getSchemas()) {
+                while (schemas.next()) {
+                    schema = schemas.getString(TABLE_SCHEM);
+                }
+            }
+        }
+        return schema;
+    }
+
+    /**
+     * Reads the columns of all the tables with one query.
+     *
+     * @return whether the driver could list the columns of all the tables
+     */
+    private static boolean readColumns(DatabaseMetaData metaData, String catalog, String schema,
+            DatabaseMetadataSnapshot snapshot) {
+        try (ResultSet rs = metaData.getColumns(catalog, schema, "%", "%")) {
+            while (rs.next()) {
+                TableMetadata table = getTable(snapshot, rs);
+                if (table != null) {
+                    table.addColumn(readColumn(rs));
+                }
+            }
+            return true;
+        } catch (SQLException e) {
+            log.warn("Could not read the columns of all the tables at once, reading them per table", e);
+            return false;
+        }
+    }
+
+    /**
+     * Reads the primary keys of all the tables with one query. The JDBC specification requires a table name, so this
+     * works only with drivers that accept none.
+     *
+     * @return whether the driver could list the primary keys of all the tables
+     */
+    private static boolean readPrimaryKeys(DatabaseMetaData metaData, String catalog, String schema,
+            DatabaseMetadataSnapshot snapshot) {
+        boolean found = false;
+        try (ResultSet rs = metaData.getPrimaryKeys(catalog, schema, null)) {
+            while (rs.next()) {
+                TableMetadata table = getTable(snapshot, rs);
+                if (table != null) {
+                    table.addPrimaryKey(rs.getString(COLUMN_NAME));
+                    found = true;
+                }
+            }
+        } catch (SQLException e) {
+            return false;
+        }
+        // drivers which need a table name may list nothing instead of failing
+        return found || snapshot.getTables().isEmpty();
+    }
+
+    private static TableMetadata getTable(DatabaseMetadataSnapshot snapshot, ResultSet rs) throws SQLException {
+        TableMetadata table = snapshot.getTable(rs.getString(TABLE_NAME));
+        // skip tables with the same name in other schemas
+        if (table == null || (table.getSchema() != null && !table.getSchema().equals(rs.getString(TABLE_SCHEM)))) {
+            return null;
+        }
+        return table;
+    }
+
+    private static ColumnMetadata readColumn(ResultSet rs) throws SQLException {
+        return new ColumnMetadata(rs.getString(COLUMN_NAME), rs.getInt(DATA_TYPE), isAutoIncrementField(rs));
+    }
+
+    private static boolean isAutoIncrementField(ResultSet columnNames) {
+        try {
+            String autoIncrString = columnNames.getString(AUTOINCREMENT_COLUMN);
+            if (IS_AUTOINCREMENT.equalsIgnoreCase(autoIncrString)) {
+                return true;
+            }
+            Boolean identity = columnNames.getBoolean(IDENTITY_COLUMN);
+            if (identity != null) {
+                return identity;
+            }
+        } catch (SQLException ignore) {
+            // ignore
+        }
+        return false;
+    }
+
+    /**
+     * Reads the columns and primary keys table by table. The given connection reads along with up to
+     * {@link #MAX_PARALLEL_CONNECTIONS} - 1 connections from the provider, since a JDBC connection can not be shared
+     * between threads.
+     */
+    private static void readTablesInParallel(Connection connection, ConnectionProvider connectionProvider,
+            String catalog, List<TableMetadata> tables, boolean readColumns, boolean readPrimaryKeys,
+            SubMonitor progress) throws SQLException, InterruptedException {
+        progress.setWorkRemaining(tables.size());
+        Queue<TableMetadata> pending = new ConcurrentLinkedQueue<TableMetadata>(tables);
+        AtomicInteger read = new AtomicInteger();
+        TableReader.Query query = new TableReader.Query(catalog, readColumns, readPrimaryKeys);
+        int workers = connectionProvider == null ? 1 : Math.min(MAX_PARALLEL_CONNECTIONS, tables.size());
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(workers, 1), new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "Database metadata crawler-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        List<Future<Void>> futures = new ArrayList<Future<Void>>();
+        try {
+            futures.add(executor.submit(new TableReader(connection, null, query, pending, read)));
+            for (int i = 1; i < workers; i++) {
+                futures.add(executor.submit(new TableReader(null, connectionProvider, query, pending, read)));
+            }
+
+            int reported = 0;
+            for (Future<Void> future : futures) {
+                while (true) {
+                    try {
+                        future.get(PROGRESS_INTERVAL, TimeUnit.MILLISECONDS);
+                        break;
+                    } catch (TimeoutException e) {
+                        reported = reportProgress(progress, read.get(), reported, tables.size());
+                        if (progress.isCanceled()) {
+                            pending.clear();
+                            throw new InterruptedException();
+                        }
+                    } catch (ExecutionException e) {
+                        pending.clear();
+                        if (e.getCause() instanceof SQLException) {
+                            throw (SQLException) e.getCause();
+                        }
+                        throw new SQLException(e.getCause());
+                    }
+                }
+            }
+            reportProgress(progress, read.get(), reported, tables.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static int reportProgress(SubMonitor progress, int read, int reported, int total) {
+        if (read > reported) {
+            progress.subTask("Read " + read + " of " + total + " tables");
+            progress.worked(read - reported);
+        }
+        return Math.max(read, reported);
+    }
+
+    private static void checkCanceled(IProgressMonitor monitor) throws InterruptedException {
+        if (monitor.isCanceled()) {
+            throw new InterruptedException();
+        }
+    }
+
+    /**
+     * Reads tables from the pending queue until it is empty. A reader which can not open a connection leaves the
+     * tables to the others.
+     */
+    private static class TableReader implements Callable<Void> {
+
+        private final Connection connection;
+        private final ConnectionProvider connectionProvider;
+        private final Query query;
+        private final Queue<TableMetadata> pending;
+        private final AtomicInteger read;
+
+        TableReader(Connection connection, ConnectionProvider connectionProvider, Query query,
+                Queue<TableMetadata> pending, AtomicInteger read) {
+            this.connection = connection;
+            this.connectionProvider = connectionProvider;
+            this.query = query;
+            this.pending = pending;
+            this.read = read;
+        }
+
+        @Override
+        public Void call() throws SQLException {
+            if (connection != null) {
+                readTables(connection);
+                return null;
+            }
+            Connection ownConnection;
+            try {
+                ownConnection = connectionProvider.getConnection();
+            } catch (SQLException e) {
+                log.warn("Could not open another connection to read database metadata", e);
+                return null;
+            }
+            try {
+                readTables(ownConnection);
+            } finally {
+                ownConnection.close();
+            }
+            return null;
+        }
+
+        private void readTables(Connection readerConnection) throws SQLException {
+            DatabaseMetaData metaData = readerConnection.getMetaData();
+            TableMetadata table;
+            while ((table = pending.poll()) != null && !Thread.currentThread().isInterrupted()) {
+                if (query.columns) {
+                    try (ResultSet rs = metaData.getColumns(query.catalog, table.getSchema(), table.getName(), "%")) {
+                        while (rs.next()) {
+                            table.addColumn(readColumn(rs));
+                        }
+                    }
+                }
+                if (query.primaryKeys) {
+                    try (ResultSet rs = metaData.getPrimaryKeys(query.catalog, table.getSchema(), table.getName())) {
+                        while (rs.next()) {
+                            table.addPrimaryKey(rs.getString(COLUMN_NAME));
+                        }
+                    }
+                }
+                read.incrementAndGet();
+            }
+        }
+
+        /**
+         * What to read for each table
+         */
+        private static class Query {
+
+            private final String catalog;
+            private final boolean columns;
+            private final boolean primaryKeys;
+
+            Query(String catalog, boolean columns, boolean primaryKeys) {
+                this.catalog = catalog;
+                this.columns = columns;
+                this.primaryKeys = primaryKeys;
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+*  Copyright (c) Mar 19, 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+package org.wso2.integrationstudio.artifact.dataservice.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tables, columns, primary keys and procedures of a database, read by the {@link DatabaseMetadataCrawler}. A snapshot
+ * does not hold on to the connection it was read with.
+ */
+public class DatabaseMetadataSnapshot {
+
+    private final String productName;
+    private final boolean readOnly;
+    private final Map<String, TableMetadata> tables = new LinkedHashMap<String, TableMetadata>();
+    private final List<String> procedures = new ArrayList<String>();
+
+    DatabaseMetadataSnapshot(String productName, boolean readOnly) {
+        this.productName = productName;
+        this.readOnly = readOnly;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * @return tables by name, in the order the database listed them
+     */
+    public Map<String, TableMetadata> getTables() {
+        return Collections.unmodifiableMap(tables);
+    }
+
+    public TableMetadata getTable(String name) {
+        return tables.get(name);
+    }
+
+    public List<String> getProcedures() {
+        return Collections.unmodifiableList(procedures);
+    }
+
+    void addTable(TableMetadata table) {
+        tables.put(table.getName(), table);
+    }
+
+    void addProcedure(String procedure) {
+        procedures.add(procedure);
+    }
+
+    /**
+     * Metadata of a table
+     */
+    public static class TableMetadata {
+
+        private final String schema;
+        private final String name;
+        private final List<ColumnMetadata> columns = new ArrayList<ColumnMetadata>();
+        private final List<String> primaryKeys = new ArrayList<String>();
+
+        TableMetadata(String schema, String name) {
+            this.schema = schema;
+            this.name = name;
+        }
+
+        public String getSchema() {
+            return schema;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return columns in the order of their position in the table
+         */
+        public List<ColumnMetadata> getColumns() {
+            return Collections.unmodifiableList(columns);
+        }
+
+        public List<String> getPrimaryKeys() {
+            return Collections.unmodifiableList(primaryKeys);
+        }
+
+        public boolean hasPrimaryKey() {
+            return !primaryKeys.isEmpty();
+        }
+
+        synchronized void addColumn(ColumnMetadata column) {
+            columns.add(column);
+        }
+
+        synchronized void addPrimaryKey(String column) {
+            primaryKeys.add(column);
+        }
+
+        synchronized void clearColumns() {
+            columns.clear();
+        }
+
+        synchronized void clearPrimaryKeys() {
+            primaryKeys.clear();
+        }
+    }
+
+    /**
+     * Metadata of a column
+     */
+    public static class ColumnMetadata {
+
+        private final String name;
+        private final int dataType;
+        private final boolean autoIncrement;
+
+        ColumnMetadata(String name, int dataType, boolean autoIncrement) {
+            this.name = name;
+            this.dataType = dataType;
+            this.autoIncrement = autoIncrement;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return SQL type from {@link java.sql.Types}
+         */
+        public int getDataType() {
+            return dataType;
+        }
+
+        public boolean isAutoIncrement() {
+            return autoIncrement;
+        }
+    }
+}
@@ -125,14 +125,16 @@ public class DBDetailWizarPage extends WizardPage implements Listener {
 		ArrayList<String> tableNames = new ArrayList<String>();
 
 		DatabaseMetaData dbMetaData = connection.getMetaData();
-		ResultSet rs = dbMetaData.getTables(null, null, null, DB_TABLE_TYPES);
+		// the connection is pooled, so the result set is not closed with it
+		try (ResultSet rs = dbMetaData.getTables(null, null, null, DB_TABLE_TYPES)) {
 
-		while (rs.next()) {
+			while (rs.next()) {
 
-			String tableName = rs.getString(TABLE_NAME);
+				String tableName = rs.getString(TABLE_NAME);
 
-			if (tableName != null) {
-				tableNames.add(tableName);
+				if (tableName != null) {
+					tableNames.add(tableName);
+				}
 			}
 		}
 
@@ -1,13 +1,14 @@
 package org.wso2.integrationstudio.ds.wizards;
 
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.net.URLClassLoader;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.Connection;
 import java.sql.Driver;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 
 import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.jface.wizard.IWizardPage;
@@ -27,8 +28,8 @@ import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Listener;
 import org.eclipse.swt.widgets.Text;
 import org.wso2.integrationstudio.ds.wizards.util.DBUriConstants;
-import org.wso2.integrationstudio.ds.wizards.util.DbConnManager;
-import org.wso2.integrationstudio.ds.wizards.util.DriverShim;
+import org.wso2.integrationstudio.ds.wizards.util.JdbcConnectionPool;
+import org.wso2.integrationstudio.ds.wizards.util.JdbcDriverRegistry;
 import org.wso2.integrationstudio.ds.wizards.util.ValidateUtil;
 
 public class DriverConnDetailPage extends WizardPage implements Listener {
@@ -124,6 +125,8 @@ public class DriverConnDetailPage extends WizardPage implements Listener {
 					if (ValidateUtil.isTextNonEmpty(userNameTxt) &&
 					    ValidateUtil.isTextNonEmpty(passwdTxt)) {
 
+						// return the connection of the previous test to the pool, so that it can be reused
+						clearConnection();
 						try {
 							Connection conn =
 							                  testConnection(dbDetails.get(DBUriConstants.DB_URL),
@@ -136,7 +139,7 @@ public class DriverConnDetailPage extends WizardPage implements Listener {
 								dbConn = conn;
 							}
 
-						} catch (MalformedURLException e) {
+						} catch (IOException e) {
 							MessageDialog.openInformation(Display.getCurrent().getActiveShell(),
 							                              "Error!", e.toString());
 						} catch (InstantiationException e) {
@@ -478,7 +481,7 @@ public class DriverConnDetailPage extends WizardPage implements Listener {
 
 	public Connection testConnection(String dbURL, String dbUsername, String dbPassword,
 	                                 String driverURL, String driverClass)
-	                                                                      throws MalformedURLException,
+	                                                                      throws IOException,
 	                                                                      InstantiationException,
 	                                                                      IllegalAccessException,
 	                                                                      ClassNotFoundException,
@@ -487,15 +490,11 @@ public class DriverConnDetailPage extends WizardPage implements Listener {
 		// boolean isConnAlive = false;
 		try {
 
-			URL url = new URL("jar:file:" + driverURL + "!/");
+			List<Path> jars = Collections.singletonList(Paths.get(driverURL));
 
-			URLClassLoader ucl = new URLClassLoader(new URL[] { url });
+			Driver driver = JdbcDriverRegistry.getInstance().getDriver(driverClass, jars);
 
-			Driver driver = (Driver) Class.forName(driverClass, true, ucl).newInstance();
-
-			DriverManager.registerDriver(new DriverShim(driver));
-
-			connection = DriverManager.getConnection(dbURL, dbUsername, dbPassword);
+			connection = JdbcConnectionPool.getInstance().getConnection(driver, dbURL, dbUsername, dbPassword);
 
 			if (connection != null) {
 				// isConnAlive = true;
@@ -507,7 +506,7 @@ public class DriverConnDetailPage extends WizardPage implements Listener {
 				                              "Ping Failed!");
 			}
 
-		} catch (MalformedURLException e) {
+		} catch (IOException e) {
 			MessageDialog.openInformation(Display.getCurrent().getActiveShell(), "Error!",
 			                              e.toString());
 		} catch (InstantiationException e) {
@@ -584,9 +583,23 @@ public class DriverConnDetailPage extends WizardPage implements Listener {
 
 	private void clearConnection() {
 
+		if (dbConn != null) {
+			try {
+				// returns the connection to the pool
+				dbConn.close();
+			} catch (SQLException e) {
+				// the connection is no longer used
+			}
+		}
 		dbConn = null;
 	}
 
+	public void dispose() {
+
+		clearConnection();
+		super.dispose();
+	}
+
 	public boolean isPageComplete() {
 
 		/*
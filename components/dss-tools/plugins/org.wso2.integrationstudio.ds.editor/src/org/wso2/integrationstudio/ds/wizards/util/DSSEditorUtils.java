@@ -27,19 +27,17 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.net.URL;
-import java.net.URLClassLoader;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.sql.Connection;
 import java.sql.Driver;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Properties;
@@ -207,6 +205,12 @@ public class DSSEditorUtils {
         Connection connection = getConnection(dbType, version, username, password, host, port, dbName);
         
         if (connection != null) {
+            try {
+                // returns the connection to the pool for the metadata lookups that follow
+                connection.close();
+            } catch (SQLException e) {
+                log.error("Could not close connection.", e);
+            }
             return true;
         } else {
             return false;
@@ -226,7 +230,7 @@ public class DSSEditorUtils {
         Connection connection = getConnectionFromUrl(conUrl, username, password);
         
         if (connection != null) {
-            PreparedStatement pstmt;
+            PreparedStatement pstmt = null;
             ResultSetMetaData metaData;
             try {
                 pstmt = connection.prepareStatement(sqlStr);
@@ -245,6 +249,10 @@ public class DSSEditorUtils {
                 log.error("Could not retrieve SQL metadata.", e);
             } finally {
                 try {
+                    // the connection is pooled, so the statement is not closed with it
+                    if (pstmt != null) {
+                        pstmt.close();
+                    }
                     connection.close();
                 } catch (SQLException e) {
                     log.error("Could not close connection.", e);
@@ -361,52 +369,14 @@ public class DSSEditorUtils {
         Connection connection = null;
         
         try {
-            String driverUrl = getServerHome() + File.separator + "lib";
-            List<URL> urls = new ArrayList<>();
-            try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(Paths.get(driverUrl), "*.jar")) {
-                for (Path path : directoryStream) {
-                    urls.add(path.toUri().toURL());
-                }
-            }
-            URLClassLoader urlClassLoader = new URLClassLoader(urls.toArray(new URL[urls.size()]));
-
-            Driver driver = null;
-            switch (dbType) {
-            case DSSVisualEditorConstants.DBTypes.DB_TYPE_MYSQL:
-                driver = (Driver) Class.forName(DSSVisualEditorConstants.DBDrivers.MYSQL_DRIVER, true, urlClassLoader)
-                        .newInstance();
-                break;
-            case DSSVisualEditorConstants.DBTypes.DB_TYPE_MSSQL:
-                driver = (Driver) Class.forName(DSSVisualEditorConstants.DBDrivers.MS_SQL_DRIVER, true, urlClassLoader)
-                        .newInstance();
-                break;
-            case DSSVisualEditorConstants.DBTypes.DB_TYPE_POSTGRESSQL:
-                driver = (Driver) Class.forName(DSSVisualEditorConstants.DBDrivers.POSTGRESQL_DRIVER, true, urlClassLoader)
-                        .newInstance();
-                break;
-            case DSSVisualEditorConstants.DBTypes.DB_TYPE_DERBY:
-                driver = (Driver) Class
-                        .forName(DSSVisualEditorConstants.DBDrivers.DERBY_CLIENT_DRIVER, true, urlClassLoader)
-                        .newInstance();
-                break;
-            case DSSVisualEditorConstants.DBTypes.DB_TYPE_H2:
-                driver = (Driver) Class.forName(DSSVisualEditorConstants.DBDrivers.H2_DRIVER, true, urlClassLoader)
-                        .newInstance();
-                break;
-            case DSSVisualEditorConstants.DBTypes.DB_TYPE_ORACLE:
-                driver = (Driver) Class.forName(DSSVisualEditorConstants.DBDrivers.ORACLE_DRIVER, true, urlClassLoader)
-                        .newInstance();
-                break;
-            }
-
-            DriverManager.registerDriver(new DriverShim(driver));
+            Driver driver = getDriver(getDriverClass(dbType));
             // Check username and password are empty due to Derby db can connect without username and password
             if (dbType.equals(DSSVisualEditorConstants.DBTypes.DB_TYPE_DERBY)
                     && username.equals(DSSVisualEditorConstants.General.EMPTY_INPUT)
                     && password.equals(DSSVisualEditorConstants.General.EMPTY_INPUT)) {
-                connection = DriverManager.getConnection(connUriStr);
+                connection = JdbcConnectionPool.getInstance().getConnection(driver, connUriStr, null, null);
             } else {
-                connection = DriverManager.getConnection(connUriStr, username, password);
+                connection = JdbcConnectionPool.getInstance().getConnection(driver, connUriStr, username, password);
             }
             
         } catch (Exception e) {
@@ -419,32 +389,24 @@ public class DSSEditorUtils {
     private Connection getConnectionFromUrl(String conUrl, String username, String password) {
 
         Connection connection = null;
-        String dbType = "";
-        String version = "";
+        String dbType = DSSVisualEditorConstants.DBTypes.DB_TYPE_MYSQL;
+        String jdbcBase = DSSVisualEditorConstants.DBUrlParams.DB_URL_JDBC_BASE;
         
-        if (conUrl.contains("mysql")) {
-            dbType = "mysql";
-            version = DSSVisualEditorConstants.DBConnectionParams.MYSQL_VERSION_8_0_15;
-        } else if (conUrl.contains("sqlserver")) {
-            dbType = "mssql";
-            version = DSSVisualEditorConstants.DBConnectionParams.MSSQL_VERSION_6_4_0;
+        if (conUrl.startsWith(jdbcBase + DSSVisualEditorConstants.DBTypes.DB_TYPE_MSSQL_CONN)) {
+            dbType = DSSVisualEditorConstants.DBTypes.DB_TYPE_MSSQL;
+        } else if (conUrl.startsWith(jdbcBase + DSSVisualEditorConstants.DBTypes.DB_TYPE_POSTGRESSQL)) {
+            dbType = DSSVisualEditorConstants.DBTypes.DB_TYPE_POSTGRESSQL;
+        } else if (conUrl.startsWith(jdbcBase + DSSVisualEditorConstants.DBTypes.DB_TYPE_DERBY_CONN)) {
+            dbType = DSSVisualEditorConstants.DBTypes.DB_TYPE_DERBY;
+        } else if (conUrl.startsWith(jdbcBase + DSSVisualEditorConstants.DBTypes.DB_TYPE_H2)) {
+            dbType = DSSVisualEditorConstants.DBTypes.DB_TYPE_H2;
+        } else if (conUrl.startsWith(jdbcBase + DSSVisualEditorConstants.DBTypes.DB_TYPE_ORACLE)) {
+            dbType = DSSVisualEditorConstants.DBTypes.DB_TYPE_ORACLE;
         }
         
         try {
-            String driverUrl = getServerHome() + File.separator + "lib";
-            List<URL> urls = new ArrayList<>();
-            try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(Paths.get(driverUrl), "*.jar")) {
-                for (Path path : directoryStream) {
-                    urls.add(path.toUri().toURL());
-                }
-            }
-            URLClassLoader urlClassLoader = new URLClassLoader(urls.toArray(new URL[urls.size()]));
-
-            Driver driver = (Driver) Class
-                    .forName(DSSVisualEditorConstants.DBDrivers.MYSQL_DRIVER, true, urlClassLoader).newInstance();
-            DriverManager.registerDriver(new DriverShim(driver));
-
-            connection = DriverManager.getConnection(conUrl, username, password);
+            Driver driver = getDriver(getDriverClass(dbType));
+            connection = JdbcConnectionPool.getInstance().getConnection(driver, conUrl, username, password);
             
         } catch (Exception e) {
             log.error("Could not establish database connection.", e);
@@ -453,6 +415,41 @@ public class DSSEditorUtils {
         return connection;
     }
 
+    private String getDriverClass(String dbType) {
+        switch (dbType) {
+        case DSSVisualEditorConstants.DBTypes.DB_TYPE_MSSQL:
+            return DSSVisualEditorConstants.DBDrivers.MS_SQL_DRIVER;
+        case DSSVisualEditorConstants.DBTypes.DB_TYPE_POSTGRESSQL:
+            return DSSVisualEditorConstants.DBDrivers.POSTGRESQL_DRIVER;
+        case DSSVisualEditorConstants.DBTypes.DB_TYPE_DERBY:
+            return DSSVisualEditorConstants.DBDrivers.DERBY_CLIENT_DRIVER;
+        case DSSVisualEditorConstants.DBTypes.DB_TYPE_H2:
+            return DSSVisualEditorConstants.DBDrivers.H2_DRIVER;
+        case DSSVisualEditorConstants.DBTypes.DB_TYPE_ORACLE:
+            return DSSVisualEditorConstants.DBDrivers.ORACLE_DRIVER;
+        default:
+            return DSSVisualEditorConstants.DBDrivers.MYSQL_DRIVER;
+        }
+    }
+
+    /**
+     * Returns a driver loaded from the jars in the lib folder of the server. The driver is loaded only once unless
+     * the jars change.
+     */
+    private Driver getDriver(String driverClass)
+            throws IOException, ClassNotFoundException, InstantiationException, IllegalAccessException {
+        String driverUrl = getServerHome() + File.separator + "lib";
+        List<Path> jars = new ArrayList<>();
+        try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(Paths.get(driverUrl), "*.jar")) {
+            for (Path path : directoryStream) {
+                jars.add(path);
+            }
+        }
+        // keep the same key however the file system lists the folder
+        Collections.sort(jars);
+        return JdbcDriverRegistry.getInstance().getDriver(driverClass, jars);
+    }
+
     /**
      * Get absolute path to server home folder
      * 
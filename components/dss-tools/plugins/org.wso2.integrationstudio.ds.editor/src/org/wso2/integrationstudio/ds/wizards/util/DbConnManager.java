@@ -1,12 +1,13 @@
 package org.wso2.integrationstudio.ds.wizards.util;
 
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.net.URLClassLoader;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.Connection;
 import java.sql.Driver;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
 
 import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.swt.widgets.Display;
@@ -31,7 +32,7 @@ public class DbConnManager {
 
 	public boolean testConnection(String dbURL, String dbUsername, String dbPassword,
 	                              String driverURL, String driverClass)
-	                                                                   throws MalformedURLException,
+	                                                                   throws IOException,
 	                                                                   InstantiationException,
 	                                                                   IllegalAccessException,
 	                                                                   ClassNotFoundException,
@@ -40,18 +41,16 @@ public class DbConnManager {
 		boolean isConnAlive = false;
 		// try {
 
-		URL url = new URL("jar:file:" + driverURL + "!/");
+		List<Path> jars = Collections.singletonList(Paths.get(driverURL));
 
-		URLClassLoader ucl = new URLClassLoader(new URL[] { url });
+		Driver driver = JdbcDriverRegistry.getInstance().getDriver(driverClass, jars);
 
-		Driver driver = (Driver) Class.forName(driverClass, true, ucl).newInstance();
-
-		DriverManager.registerDriver(new DriverShim(driver));
-
-		connection = DriverManager.getConnection(dbURL, dbUsername, dbPassword);
+		connection = JdbcConnectionPool.getInstance().getConnection(driver, dbURL, dbUsername, dbPassword);
 
 		if (connection != null) {
 			isConnAlive = true;
+			// returns the connection to the pool
+			connection.close();
 			MessageDialog.openInformation(Display.getCurrent().getActiveShell(), "Success!",
 			                              "Ping Succeeded!");
 		} else {
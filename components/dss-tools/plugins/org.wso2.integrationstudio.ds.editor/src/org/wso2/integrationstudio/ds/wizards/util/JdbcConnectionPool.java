@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package org.wso2.integrationstudio.ds.wizards.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
+import org.wso2.integrationstudio.logging.core.Logger;
+
+/**
+ * This class keeps a few idle database connections, keyed by the connection URL and user name, so that the connection
+ * tests and metadata lookups of the DSS tooling reuse a physical connection instead of opening one each time.
+ * <p>
+ * Closing a connection got from the pool returns it to the pool. Connections idle for longer than the idle timeout are
+ * closed.
+ *
+ */
+public class JdbcConnectionPool {
+
+    private static final long IDLE_TIMEOUT = 5 * 60 * 1000;
+    private static final int MAX_IDLE_CONNECTIONS_PER_KEY = 2;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+    private static final String USER = "user";
+    private static final String PASSWORD = "password";
+
+    private static volatile JdbcConnectionPool instance;
+
+    private final Map<String, Deque<PooledConnection>> idleConnections = new HashMap<>();
+    private final Job evictionJob = new IdleConnectionEvictionJob();
+
+    private static IIntegrationStudioLog log = Logger.getLog("org.wso2.integrationstudio.ds.editor");
+
+    public static JdbcConnectionPool getInstance() {
+        if (instance != null) {
+            return instance;
+        }
+
+        synchronized (JdbcConnectionPool.class) {
+            if (instance == null) {
+                instance = new JdbcConnectionPool();
+            }
+        }
+
+        return instance;
+    }
+
+    private JdbcConnectionPool() {
+    }
+
+    /**
+     * Returns an idle connection to the database if there is a valid one, or opens a new connection otherwise.
+     *
+     * @param driver Driver to connect with.
+     * @param url Connection URL.
+     * @param username Login username, or null to connect without credentials.
+     * @param password Login password, or null to connect without credentials.
+     * @return A connection which returns to the pool when it is closed.
+     */
+    public Connection getConnection(Driver driver, String url, String username, String password)
+            throws SQLException {
+        String key = getKey(url, username);
+        PooledConnection pooledConnection;
+        while ((pooledConnection = takeIdleConnection(key)) != null) {
+            if (pooledConnection.driver == driver && Objects.equals(pooledConnection.password, password)
+                    && isValid(pooledConnection.connection)) {
+                return pooledConnection.open();
+            }
+            closeQuietly(pooledConnection.connection);
+        }
+
+        Properties properties = new Properties();
+        if (username != null) {
+            properties.put(USER, username);
+        }
+        if (password != null) {
+            properties.put(PASSWORD, password);
+        }
+        Connection connection = driver.connect(url, properties);
+        if (connection == null) {
+            // the same error as DriverManager gives
+            throw new SQLException("No suitable driver found for " + url, "08001");
+        }
+        return new PooledConnection(key, driver, password, connection).open();
+    }
+
+    /**
+     * Closes the idle connections opened with a driver, which happens when the driver jar is replaced.
+     */
+    void closeConnections(Driver driver) {
+        List<PooledConnection> removed = new ArrayList<>();
+        synchronized (this) {
+            for (Deque<PooledConnection> connections : idleConnections.values()) {
+                Iterator<PooledConnection> iterator = connections.iterator();
+                while (iterator.hasNext()) {
+                    PooledConnection pooledConnection = iterator.next();
+                    if (pooledConnection.driver == driver) {
+                        iterator.remove();
+                        removed.add(pooledConnection);
+                    }
+                }
+            }
+        }
+        for (PooledConnection pooledConnection : removed) {
+            closeQuietly(pooledConnection.connection);
+        }
+    }
+
+    private static String getKey(String url, String username) {
+        return url + '\u0000' + (username == null ? "" : username);
+    }
+
+    private synchronized PooledConnection takeIdleConnection(String key) {
+        Deque<PooledConnection> connections = idleConnections.get(key);
+        if (connections == null) {
+            return null;
+        }
+        PooledConnection pooledConnection = connections.pollLast();
+        if (connections.isEmpty()) {
+            idleConnections.remove(key);
+        }
+        return pooledConnection;
+    }
+
+    private void release(PooledConnection pooledConnection) {
+        PooledConnection evicted = null;
+        synchronized (this) {
+            Deque<PooledConnection> connections = idleConnections.get(pooledConnection.key);
+            if (connections == null) {
+                connections = new ArrayDeque<>();
+                idleConnections.put(pooledConnection.key, connections);
+            }
+            pooledConnection.idleSince = System.currentTimeMillis();
+            connections.addLast(pooledConnection);
+            if (connections.size() > MAX_IDLE_CONNECTIONS_PER_KEY) {
+                evicted = connections.pollFirst();
+            }
+        }
+        if (evicted != null) {
+            closeQuietly(evicted.connection);
+        }
+        // a running job is run again, so connections released while it runs are not missed
+        if (evictionJob.getState() != Job.SLEEPING) {
+            evictionJob.schedule(IDLE_TIMEOUT);
+        }
+    }
+
+    /**
+     * Closes the connections idle for longer than the idle timeout.
+     *
+     * @return Whether any connections are still idle.
+     */
+    private boolean evictIdleConnections() {
+        long now = System.currentTimeMillis();
+        List<PooledConnection> evicted = new ArrayList<>();
+        boolean remaining;
+        synchronized (this) {
+            Iterator<Deque<PooledConnection>> keys = idleConnections.values().iterator();
+            while (keys.hasNext()) {
+                Deque<PooledConnection> connections = keys.next();
+                while (!connections.isEmpty() && now - connections.peekFirst().idleSince >= IDLE_TIMEOUT) {
+                    evicted.add(connections.pollFirst());
+                }
+                if (connections.isEmpty()) {
+                    keys.remove();
+                }
+            }
+            remaining = !idleConnections.isEmpty();
+        }
+        for (PooledConnection pooledConnection : evicted) {
+            closeQuietly(pooledConnection.connection);
+        }
+        return remaining;
+    }
+
+    private static boolean isValid(Connection connection) {
+        try {
+            return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        } catch (AbstractMethodError e) {
+            // drivers older than JDBC 4 can not validate a connection
+            try {
+                return !connection.isClosed();
+            } catch (SQLException closedException) {
+                return false;
+            }
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.warn("Could not close database connection.", e);
+        }
+    }
+
+    /**
+     * A physical connection held by the pool
+     */
+    private class PooledConnection {
+
+        private final String key;
+        private final Driver driver;
+        private final String password;
+        private final Connection connection;
+        private long idleSince;
+
+        PooledConnection(String key, Driver driver, String password, Connection connection) {
+            this.key = key;
+            this.driver = driver;
+            this.password = password;
+            this.connection = connection;
+        }
+
+        Connection open() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, new ConnectionLease(this));
+        }
+
+        /**
+         * Returns the connection to the pool, or closes it if it can not be reset for the next use
+         */
+        void returnToPool() {
+            try {
+                if (connection.isClosed()) {
+                    return;
+                }
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                    connection.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                log.warn("Could not reset database connection, closing it.", e);
+                closeQuietly(connection);
+                return;
+            }
+            release(this);
+        }
+    }
+
+    /**
+     * The connection given out for one use of a pooled connection, which returns it to the pool when closed
+     */
+    private static class ConnectionLease implements InvocationHandler {
+
+        private final PooledConnection pooledConnection;
+        private boolean closed;
+
+        ConnectionLease(PooledConnection pooledConnection) {
+            this.pooledConnection = pooledConnection;
+        }
+
+        @Override
+        public synchronized Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+            case "close":
+                if (!closed) {
+                    closed = true;
+                    pooledConnection.returnToPool();
+                }
+                return null;
+            case "isClosed":
+                return closed || pooledConnection.connection.isClosed();
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "Pooled " + pooledConnection.connection;
+            default:
+                if (closed) {
+                    throw new SQLException("Connection is closed.");
+                }
+                try {
+                    return method.invoke(pooledConnection.connection, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+        }
+    }
+
+    private class IdleConnectionEvictionJob extends Job {
+
+        IdleConnectionEvictionJob() {
+            super("Closing idle database connections");
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+            if (evictIdleConnections()) {
+                schedule(IDLE_TIMEOUT);
+            }
+            return Status.OK_STATUS;
+        }
+    }
+}
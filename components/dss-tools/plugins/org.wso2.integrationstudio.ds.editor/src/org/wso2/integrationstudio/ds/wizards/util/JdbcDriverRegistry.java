@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package org.wso2.integrationstudio.ds.wizards.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.sql.Driver;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
+import org.wso2.integrationstudio.logging.core.Logger;
+
+/**
+ * This class loads JDBC drivers from driver jars once and keeps them for the rest of the session.
+ * <p>
+ * Drivers are keyed by the driver class and the path and checksum of each jar, so a driver is loaded again only if a
+ * jar is replaced. Drivers are used directly rather than through {@link java.sql.DriverManager}, so nothing is
+ * registered there.
+ *
+ */
+public class JdbcDriverRegistry {
+
+    private static final int CHECKSUM_BUFFER_SIZE = 64 * 1024;
+
+    private static volatile JdbcDriverRegistry instance;
+
+    // loaded drivers by driver class, jar paths and jar checksums
+    private final Map<String, LoadedDriver> drivers = new HashMap<>();
+    // key of the driver currently loaded for a driver class and jar paths
+    private final Map<String, String> currentKeys = new HashMap<>();
+    private final Map<Path, JarChecksum> checksums = new HashMap<>();
+
+    private static IIntegrationStudioLog log = Logger.getLog("org.wso2.integrationstudio.ds.editor");
+
+    public static JdbcDriverRegistry getInstance() {
+        if (instance != null) {
+            return instance;
+        }
+
+        synchronized (JdbcDriverRegistry.class) {
+            if (instance == null) {
+                instance = new JdbcDriverRegistry();
+            }
+        }
+
+        return instance;
+    }
+
+    private JdbcDriverRegistry() {
+    }
+
+    /**
+     * Returns the driver loaded from the given jars, loading it if the jars have not been loaded before or have
+     * changed since.
+     *
+     * @param driverClass Driver class name.
+     * @param jars Jars to load the driver from.
+     * @return The driver.
+     */
+    public synchronized Driver getDriver(String driverClass, List<Path> jars)
+            throws IOException, ClassNotFoundException, InstantiationException, IllegalAccessException {
+        StringBuilder location = new StringBuilder(driverClass);
+        StringBuilder key = new StringBuilder(driverClass);
+        List<Path> absoluteJars = new ArrayList<>();
+        for (Path jar : jars) {
+            Path absoluteJar = jar.toAbsolutePath().normalize();
+            absoluteJars.add(absoluteJar);
+            location.append('|').append(absoluteJar);
+            key.append('|').append(absoluteJar).append('#').append(Long.toHexString(getChecksum(absoluteJar)));
+        }
+
+        LoadedDriver loadedDriver = drivers.get(key.toString());
+        if (loadedDriver != null) {
+            return loadedDriver.driver;
+        }
+
+        URL[] urls = new URL[absoluteJars.size()];
+        for (int i = 0; i < urls.length; i++) {
+            urls[i] = absoluteJars.get(i).toUri().toURL();
+        }
+        URLClassLoader classLoader = new URLClassLoader(urls);
+        Driver driver;
+        try {
+            driver = (Driver) Class.forName(driverClass, true, classLoader).newInstance();
+        } catch (ClassNotFoundException | InstantiationException | IllegalAccessException | RuntimeException e) {
+            close(classLoader);
+            throw e;
+        }
+
+        String previousKey = currentKeys.put(location.toString(), key.toString());
+        if (previousKey != null) {
+            LoadedDriver previous = drivers.remove(previousKey);
+            if (previous != null) {
+                JdbcConnectionPool.getInstance().closeConnections(previous.driver);
+                close(previous.classLoader);
+            }
+        }
+        drivers.put(key.toString(), new LoadedDriver(driver, classLoader));
+        return driver;
+    }
+
+    /**
+     * Returns the CRC32 checksum of a jar, which is computed again only if the size or the modified time of the jar
+     * has changed.
+     */
+    private long getChecksum(Path jar) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(jar, BasicFileAttributes.class);
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+
+        JarChecksum checksum = checksums.get(jar);
+        if (checksum != null && checksum.size == size && checksum.lastModified == lastModified) {
+            return checksum.value;
+        }
+
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[CHECKSUM_BUFFER_SIZE];
+        try (InputStream input = Files.newInputStream(jar)) {
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        checksums.put(jar, new JarChecksum(size, lastModified, crc.getValue()));
+        return crc.getValue();
+    }
+
+    private static void close(URLClassLoader classLoader) {
+        try {
+            classLoader.close();
+        } catch (IOException e) {
+            log.warn("Could not close the class loader of a JDBC driver.", e);
+        }
+    }
+
+    private static class LoadedDriver {
+
+        private final Driver driver;
+        private final URLClassLoader classLoader;
+
+        LoadedDriver(Driver driver, URLClassLoader classLoader) {
+            this.driver = driver;
+            this.classLoader = classLoader;
+        }
+    }
+
+    private static class JarChecksum {
+
+        private final long size;
+        private final long lastModified;
+        private final long value;
+
+        JarChecksum(long size, long lastModified, long value) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.value = value;
+        }
+    }
+}
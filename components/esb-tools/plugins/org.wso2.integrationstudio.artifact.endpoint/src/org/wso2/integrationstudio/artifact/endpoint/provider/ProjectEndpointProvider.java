@@ -28,7 +28,7 @@ import org.wso2.integrationstudio.esb.core.configuration.impl.EsbEndpointImpl;
 import org.wso2.integrationstudio.esb.core.interfaces.IEndpointProvider;
 import org.wso2.integrationstudio.esb.core.interfaces.IEsbEndpoint;
 import org.wso2.integrationstudio.esb.project.artifact.ESBArtifact;
-import org.wso2.integrationstudio.esb.project.artifact.ESBProjectArtifact;
+import org.wso2.integrationstudio.esb.project.artifact.ESBArtifactIndex;
 import org.wso2.integrationstudio.platform.core.interfaces.IIntegrationStudioElement;
 import org.wso2.integrationstudio.platform.core.utils.IntegrationStudioProviderUtils;
 import org.wso2.integrationstudio.platform.core.utils.ResourceManager;
@@ -47,22 +47,18 @@ public class ProjectEndpointProvider implements IEndpointProvider {
 	public IEsbEndpoint[] getEndpoints(Map<String, List<String>> filters) {
 		if (project.isOpen()){
 			List<IEsbEndpoint> endpoints=new ArrayList<IEsbEndpoint>();
-			ESBProjectArtifact esbProjectArtifact = new ESBProjectArtifact();
 			try {
-				esbProjectArtifact.fromFile(project.getFile("artifact.xml").getLocation().toFile());
-				List<ESBArtifact> artifacts = esbProjectArtifact.getAllESBArtifacts();
+				List<ESBArtifact> artifacts = ESBArtifactIndex.getInstance().getArtifacts(project, "synapse/endpoint");
 				for (ESBArtifact artifact : artifacts) {
-					if (artifact.getType().equals("synapse/endpoint")) {
-						IFile file = project.getFile(new Path(artifact.getFile()));
-						boolean mediaTypeFilterPassed = IntegrationStudioProviderUtils.isMediaTypeFilterPassed(filters, file);
-						if (mediaTypeFilterPassed) {
-							EsbEndpointImpl esbEndpoint = new EsbEndpointImpl();
-							esbEndpoint.setName(artifact.getName());
-							esbEndpoint.setSource(file);
-							esbEndpoint.setIcon(ResourceManager.getImageDescriptor(this.getClass(),
-							                                                         "/icons/EsbModelFile.png"));
-							endpoints.add(esbEndpoint);	
-						}
+					IFile file = project.getFile(new Path(artifact.getFile()));
+					boolean mediaTypeFilterPassed = IntegrationStudioProviderUtils.isMediaTypeFilterPassed(filters, file);
+					if (mediaTypeFilterPassed) {
+						EsbEndpointImpl esbEndpoint = new EsbEndpointImpl();
+						esbEndpoint.setName(artifact.getName());
+						esbEndpoint.setSource(file);
+						esbEndpoint.setIcon(ResourceManager.getImageDescriptor(this.getClass(),
+						                                                         "/icons/EsbModelFile.png"));
+						endpoints.add(esbEndpoint);	
 					}
 				}
 			} catch (Exception ignored) {
@@ -28,7 +28,7 @@ import org.wso2.integrationstudio.esb.core.configuration.impl.EsbLocalEntryImpl;
 import org.wso2.integrationstudio.esb.core.interfaces.IEsbLocalEntry;
 import org.wso2.integrationstudio.esb.core.interfaces.ILocalEntryProvider;
 import org.wso2.integrationstudio.esb.project.artifact.ESBArtifact;
-import org.wso2.integrationstudio.esb.project.artifact.ESBProjectArtifact;
+import org.wso2.integrationstudio.esb.project.artifact.ESBArtifactIndex;
 import org.wso2.integrationstudio.platform.core.interfaces.IIntegrationStudioElement;
 import org.wso2.integrationstudio.platform.core.utils.ResourceManager;
 
@@ -46,20 +46,16 @@ public class ProjectLocalEntryProvider implements ILocalEntryProvider {
 	public IEsbLocalEntry[] getLocalEntries(Map<String, List<String>> filters) {
 		if (project.isOpen()) {
 			List<IEsbLocalEntry> localEntries = new ArrayList<IEsbLocalEntry>();
-			ESBProjectArtifact esbProjectArtifact = new ESBProjectArtifact();
 			try {
-				esbProjectArtifact.fromFile(project.getFile("artifact.xml").getLocation().toFile());
-				List<ESBArtifact> artifacts = esbProjectArtifact.getAllESBArtifacts();
+				List<ESBArtifact> artifacts = ESBArtifactIndex.getInstance().getArtifacts(project, "synapse/local-entry");
 				for (ESBArtifact artifact : artifacts) {
-					if (artifact.getType().equals("synapse/local-entry")) {
-						EsbLocalEntryImpl esbLocalEntry = new EsbLocalEntryImpl();
-						esbLocalEntry.setName(artifact.getName());
-						IFile file = project.getFile(new Path(artifact.getFile()));
-						esbLocalEntry.setSource(file);
-						esbLocalEntry.setIcon(ResourceManager.getImageDescriptor(this.getClass(),
-						                                                         "/icons/EsbModelFile.png"));
-						localEntries.add(esbLocalEntry);
-					}
+					EsbLocalEntryImpl esbLocalEntry = new EsbLocalEntryImpl();
+					esbLocalEntry.setName(artifact.getName());
+					IFile file = project.getFile(new Path(artifact.getFile()));
+					esbLocalEntry.setSource(file);
+					esbLocalEntry.setIcon(ResourceManager.getImageDescriptor(this.getClass(),
+					                                                         "/icons/EsbModelFile.png"));
+					localEntries.add(esbLocalEntry);
 				}
 			} catch (Exception ignored) {
 				// ignored
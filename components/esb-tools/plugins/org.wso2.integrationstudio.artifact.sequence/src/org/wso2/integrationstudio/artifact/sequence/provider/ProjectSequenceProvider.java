@@ -28,7 +28,7 @@ import org.wso2.integrationstudio.esb.core.configuration.impl.EsbSequenceImpl;
 import org.wso2.integrationstudio.esb.core.interfaces.IEsbSequence;
 import org.wso2.integrationstudio.esb.core.interfaces.ISequenceProvider;
 import org.wso2.integrationstudio.esb.project.artifact.ESBArtifact;
-import org.wso2.integrationstudio.esb.project.artifact.ESBProjectArtifact;
+import org.wso2.integrationstudio.esb.project.artifact.ESBArtifactIndex;
 import org.wso2.integrationstudio.platform.core.interfaces.IIntegrationStudioElement;
 import org.wso2.integrationstudio.platform.core.utils.IntegrationStudioProviderUtils;
 import org.wso2.integrationstudio.platform.core.utils.ResourceManager;
@@ -47,22 +47,18 @@ public class ProjectSequenceProvider implements ISequenceProvider {
 	public IEsbSequence[] getSequences(Map<String, List<String>> filters) {
 		if (project.isOpen()){
 			List<IEsbSequence> sequences=new ArrayList<IEsbSequence>();
-			ESBProjectArtifact esbProjectArtifact = new ESBProjectArtifact();
 			try {
-				esbProjectArtifact.fromFile(project.getFile("artifact.xml").getLocation().toFile());
-				List<ESBArtifact> artifacts = esbProjectArtifact.getAllESBArtifacts();
+				List<ESBArtifact> artifacts = ESBArtifactIndex.getInstance().getArtifacts(project, "synapse/sequence");
 				for (ESBArtifact artifact : artifacts) {
-					if (artifact.getType().equals("synapse/sequence")) {
-						IFile file = project.getFile(new Path(artifact.getFile()));
-						boolean mediaTypeFilterPassed = IntegrationStudioProviderUtils.isMediaTypeFilterPassed(filters, file);
-						if (mediaTypeFilterPassed) {
-							EsbSequenceImpl esbSequence = new EsbSequenceImpl();
-							esbSequence.setName(artifact.getName());
-							esbSequence.setSource(file);
-							esbSequence.setIcon(ResourceManager.getImageDescriptor(this.getClass(),
-							                                                         "/icons/EsbModelFile.png"));
-							sequences.add(esbSequence);
-						}
+					IFile file = project.getFile(new Path(artifact.getFile()));
+					boolean mediaTypeFilterPassed = IntegrationStudioProviderUtils.isMediaTypeFilterPassed(filters, file);
+					if (mediaTypeFilterPassed) {
+						EsbSequenceImpl esbSequence = new EsbSequenceImpl();
+						esbSequence.setName(artifact.getName());
+						esbSequence.setSource(file);
+						esbSequence.setIcon(ResourceManager.getImageDescriptor(this.getClass(),
+						                                                         "/icons/EsbModelFile.png"));
+						sequences.add(esbSequence);
 					}
 				}
 			} catch (Exception ignored) {
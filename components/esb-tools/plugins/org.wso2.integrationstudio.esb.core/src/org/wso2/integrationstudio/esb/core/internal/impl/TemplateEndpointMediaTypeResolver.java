@@ -23,6 +23,8 @@ import javax.xml.stream.XMLStreamException;
 
 import org.apache.axiom.om.OMElement;
 import org.wso2.integrationstudio.platform.core.mediatype.AbstractXmlDocMediaTypeResolver;
+import org.wso2.integrationstudio.platform.core.mediatype.MediaTypeFileInputStream;
+import org.wso2.integrationstudio.platform.core.mediatype.XmlRootElementSniffer;
 
 public class TemplateEndpointMediaTypeResolver extends AbstractXmlDocMediaTypeResolver {
 
@@ -30,6 +32,11 @@ public class TemplateEndpointMediaTypeResolver extends AbstractXmlDocMediaTypeRe
     public boolean isMediaType(InputStream dataStream) {
         String tagName = "template";
         boolean isEndpointTemplate = false;
+        if (dataStream instanceof MediaTypeFileInputStream && !tagName
+                .equals(XmlRootElementSniffer.getRootElementName(((MediaTypeFileInputStream) dataStream).getFile()))) {
+            // avoid building the whole document of files which are not templates
+            return false;
+        }
         try {
             OMElement root = getXmlDoc(dataStream);
             if(root.getLocalName().equals(tagName)){
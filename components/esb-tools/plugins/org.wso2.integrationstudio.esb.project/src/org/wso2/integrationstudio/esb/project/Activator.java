@@ -16,8 +16,11 @@
 
 package org.wso2.integrationstudio.esb.project;
 
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
 import org.osgi.framework.BundleContext;
+import org.wso2.integrationstudio.esb.project.artifact.ESBArtifactIndex;
 
 
 
@@ -46,6 +49,8 @@ public class Activator extends AbstractUIPlugin {
 	public void start(BundleContext context) throws Exception {
 		super.start(context);
 		plugin = this;
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(ESBArtifactIndex.getInstance(),
+				IResourceChangeEvent.POST_CHANGE);
 		
 	/*	IWorkspace workspace = ResourcesPlugin.getWorkspace();
 		fileModificationManager = new FileModificationManager();
@@ -58,6 +63,7 @@ public class Activator extends AbstractUIPlugin {
 	 * @see org.eclipse.ui.plugin.AbstractUIPlugin#stop(org.osgi.framework.BundleContext)
 	 */
 	public void stop(BundleContext context) throws Exception {
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(ESBArtifactIndex.getInstance());
 		plugin = null;
 		super.stop(context);
 	}
@@ -13,8 +13,9 @@
 package org.wso2.integrationstudio.esb.project;
 
 import java.io.File;
-import java.util.Iterator;
-import java.util.List;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import javax.xml.stream.FactoryConfigurationError;
 
@@ -51,6 +52,13 @@ import org.wso2.integrationstudio.platform.ui.editor.Openable;
 import org.wso2.integrationstudio.platform.ui.startup.ESBGraphicalEditor;
 import org.wso2.integrationstudio.utils.file.FileUtils;
 
+/**
+ * Keeps the artifact.xml of ESB projects in sync with the synapse configuration files added to or removed from them.
+ *
+ * Changes are collected per project and applied by a single update job of the project, after a short delay. The job
+ * reads artifact.xml once, applies all the changes collected so far to it and writes it once, so bulk imports do not
+ * cause a rewrite per file, and no two updates of the same artifact.xml run concurrently.
+ */
 public class FileModificationManager implements IResourceChangeListener {
 
 	private static IIntegrationStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
@@ -62,6 +70,9 @@ public class FileModificationManager implements IResourceChangeListener {
 	private static final String COMMAN_NAME = "synapse/";
 	private static final String ARTIFACT_MEATADATA_FILE = "artifact.xml";
 	private static final String ESB_PROJECT_NATURE = "org.wso2.developerstudio.eclipse.esb.project.nature";
+	private static final long UPDATE_DELAY = 300;
+
+	private final Map<IProject, ArtifactXMLUpdateJob> updateJobs = new HashMap<IProject, ArtifactXMLUpdateJob>();
 
 	@Override
 	public void resourceChanged(IResourceChangeEvent event) {
@@ -84,168 +95,10 @@ public class FileModificationManager implements IResourceChangeListener {
 						}
 						return false;
 					} else if (resource.getType() == IResource.FILE) {
-						if (delta.getKind() == IResourceDelta.ADDED) {
-
-							Job job = new Job("update ArifactXML") {
-
-								@Override
-								protected IStatus run(IProgressMonitor monitor) {
-									try {
-										if (resource instanceof IFile) {
-											final IFile file = (IFile) resource;
-											IProject iProject = file.getProject();
-											if (file.getParent() instanceof IFolder) {
-												IFolder folder = (IFolder) file.getParent();
-												IPath location = file.getLocation();
-												IPath removeLastSegments = location.removeLastSegments(2);
-												String grandParentDir = removeLastSegments.lastSegment();
-
-												if (SYNAPSE_CONFIG_DIR.equals(grandParentDir)) {
-
-													String source = FileUtils.getContentAsString(file.getLocationURI()
-															.toURL());
-													Openable openable = ESBGraphicalEditor.getOpenable();
-													ArtifactType artifactType = (ArtifactType) openable
-															.artifactTypeResolver(source);
-
-													final String folderType = folder.getName();
-													final String arifacLiteral = artifactType.getName().toLowerCase();
-
-													if (folderType.startsWith(arifacLiteral)) {
-
-														File arifact = iProject.getFile(ARTIFACT_MEATADATA_FILE)
-																.getLocation().toFile();
-														ESBProjectArtifact artifact = new ESBProjectArtifact();
-														artifact.fromFile(arifact);
-														List<ESBArtifact> allESBArtifacts = artifact
-																.getAllESBArtifacts();
-														ESBArtifact esbTempartifact = null;
-														for (ESBArtifact esbartifact : allESBArtifacts) {
-															String name = esbartifact.getName() + ".xml";
-															if (name.equals(file.getName())) {
-																return Status.OK_STATUS;
-															}
-															esbTempartifact = esbartifact;
-														}
-
-														String version = "";
-														String type = COMMAN_NAME
-																+ ESBProjectUtils.getType(folder.getName());
-														String groupId = "";
-														String name = file.getName().split("\\.")[0];
-
-														if (esbTempartifact == null) {
-															File pomLocation = iProject.getFile(POM).getLocation()
-																	.toFile();
-															MavenProject mavenProject = MavenUtils
-																	.getMavenProject(pomLocation);
-															version = mavenProject.getVersion();
-															groupId = mavenProject.getGroupId();
-														} else {
-															version = esbTempartifact.getVersion();
-															groupId = esbTempartifact.getGroupId();
-														}
-
-														ESBArtifact esbArtifact = new ESBArtifact();
-														esbArtifact.setName(name);
-														esbArtifact.setVersion(version.replace("-SNAPSHOT", ""));
-														esbArtifact.setType(type);
-														esbArtifact.setServerRole(ESB_SEVER_ROLE);
-														esbArtifact.setGroupId(groupId);
-														// Should not use file separator here
-														esbArtifact.setFile(FILE_PATH + folder.getName() + "/"
-																+ file.getName());
-														artifact.addESBArtifact(esbArtifact);
-														artifact.toFile();
-													} else {
-														IPath movedFromPath = delta.getMovedFromPath();
-														if (movedFromPath != null) {
-															Display.getDefault().syncExec(new Runnable() {
-
-																@Override
-																public void run() {
-
-																	MessageDialog.openError(Display.getCurrent()
-																			.getActiveShell(), "Error Move",
-																			"Cannot move due to invalid location");
-
-																	try {
-																		IUndoContext workspaceContext = (IUndoContext) ResourcesPlugin
-																				.getWorkspace().getAdapter(
-																						IUndoContext.class);
-																		OperationHistoryFactory
-																				.getOperationHistory()
-																				.undo(workspaceContext,
-																						new NullProgressMonitor(), null);
-
-																	} catch (ExecutionException e) {
-																		log.error("Cannot undo last operation", e);
-																	}
-
-																}
-															});
-														}
-													}
-												}
-											}
-										}
-									} catch (FactoryConfigurationError | Exception e) {
-										log.error("Error while updating the arifactxml", e);
-									}
-									return Status.OK_STATUS;
-								}
-							};
-							job.schedule();
-							return true;
-						} else if (delta.getKind() == IResourceDelta.REMOVED) {
-
-							Job job = new Job("update ArifactXML") {
-
-								@Override
-								protected IStatus run(IProgressMonitor monitor) {
-									try {
-										if (resource instanceof IFile) {
-											IFile file = (IFile) resource;
-											if (file.exists()) {
-												IProject project = file.getProject();
-												IPath location = file.getLocation();
-												IPath removeLastSegments = location.removeLastSegments(2);
-												String grandParentDir = removeLastSegments.lastSegment();
-
-												if (SYNAPSE_CONFIG_DIR.equals(grandParentDir)) {
-													File arifact = project.getFile(ARTIFACT_MEATADATA_FILE)
-															.getLocation().toFile();
-													ESBProjectArtifact artifact = new ESBProjectArtifact();
-													artifact.fromFile(arifact);
-													List<ESBArtifact> allESBArtifacts = artifact.getAllESBArtifacts();
-													ESBArtifact removeNode = null;
-													Iterator<ESBArtifact> iterator = allESBArtifacts.iterator();
-													while (iterator.hasNext()) {
-														ESBArtifact esbartifact = iterator.next();
-														String name = esbartifact.getName() + ".xml";
-														if (name.equals(file.getName())) {
-															removeNode = esbartifact;
-															break;
-														}
-
-													}
-													if (removeNode != null) {
-														artifact.removeESBArtifact(removeNode);
-														artifact.toFile();
-													}
-												}
-											}
-										}
-									} catch (FactoryConfigurationError | Exception e) {
-										log.error("Error while updating the arifactxml", e);
-									}
-									return Status.OK_STATUS;
-								}
-							};
-							job.schedule();
+						if (delta.getKind() == IResourceDelta.ADDED || delta.getKind() == IResourceDelta.REMOVED) {
+							getUpdateJob(resource.getProject()).addChange((IFile) resource, delta.getMovedFromPath());
 							return true;
 						}
-
 						return false;
 					}
 					return true;
@@ -259,4 +112,170 @@ public class FileModificationManager implements IResourceChangeListener {
 
 	}
 
+	private ArtifactXMLUpdateJob getUpdateJob(IProject project) {
+		synchronized (updateJobs) {
+			ArtifactXMLUpdateJob job = updateJobs.get(project);
+			if (job == null) {
+				job = new ArtifactXMLUpdateJob(project);
+				updateJobs.put(project, job);
+			}
+			return job;
+		}
+	}
+
+	/**
+	 * Applies the changes collected for a project to its artifact.xml. Whether a file is added or removed is decided by
+	 * its existence when the job runs, so that only the last change of a file within a batch takes effect.
+	 */
+	private class ArtifactXMLUpdateJob extends Job {
+
+		private final IProject project;
+
+		/**
+		 * Changed files of the project, in the order of their first change, with the path they were moved from.
+		 */
+		private Map<IFile, IPath> changes = new LinkedHashMap<IFile, IPath>();
+
+		ArtifactXMLUpdateJob(IProject project) {
+			super("update ArifactXML");
+			this.project = project;
+			setSystem(true);
+		}
+
+		void addChange(IFile file, IPath movedFromPath) {
+			synchronized (this) {
+				if (movedFromPath != null || !changes.containsKey(file)) {
+					changes.put(file, movedFromPath);
+				}
+			}
+			schedule(UPDATE_DELAY);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			Map<IFile, IPath> batch;
+			synchronized (this) {
+				batch = changes;
+				changes = new LinkedHashMap<IFile, IPath>();
+			}
+			if (!project.isOpen()) {
+				synchronized (updateJobs) {
+					updateJobs.remove(project);
+				}
+				return Status.OK_STATUS;
+			}
+			try {
+				File arifact = project.getFile(ARTIFACT_MEATADATA_FILE).getLocation().toFile();
+				ESBProjectArtifact artifact = new ESBProjectArtifact();
+				artifact.fromFile(arifact);
+				Map<String, ESBArtifact> artifactsByFileName = new HashMap<String, ESBArtifact>();
+				ESBArtifact lastArtifact = null;
+				for (ESBArtifact esbartifact : artifact.getAllESBArtifacts()) {
+					String name = esbartifact.getName() + ".xml";
+					if (!artifactsByFileName.containsKey(name)) {
+						artifactsByFileName.put(name, esbartifact);
+					}
+					lastArtifact = esbartifact;
+				}
+
+				boolean modified = false;
+				for (Map.Entry<IFile, IPath> change : batch.entrySet()) {
+					IFile file = change.getKey();
+					try {
+						if (!(file.getParent() instanceof IFolder)) {
+							continue;
+						}
+						IFolder folder = (IFolder) file.getParent();
+						IPath location = file.getLocation();
+						if (location == null || !SYNAPSE_CONFIG_DIR.equals(location.removeLastSegments(2).lastSegment())) {
+							continue;
+						}
+
+						if (!file.exists()) {
+							ESBArtifact removeNode = artifactsByFileName.remove(file.getName());
+							if (removeNode != null) {
+								artifact.removeESBArtifact(removeNode);
+								modified = true;
+							}
+							continue;
+						}
+
+						String source = FileUtils.getContentAsString(file.getLocationURI().toURL());
+						Openable openable = ESBGraphicalEditor.getOpenable();
+						ArtifactType artifactType = (ArtifactType) openable.artifactTypeResolver(source);
+
+						final String folderType = folder.getName();
+						final String arifacLiteral = artifactType.getName().toLowerCase();
+
+						if (folderType.startsWith(arifacLiteral)) {
+							if (artifactsByFileName.containsKey(file.getName())) {
+								continue;
+							}
+
+							String version = "";
+							String groupId = "";
+							if (lastArtifact == null) {
+								File pomLocation = project.getFile(POM).getLocation().toFile();
+								MavenProject mavenProject = MavenUtils.getMavenProject(pomLocation);
+								version = mavenProject.getVersion();
+								groupId = mavenProject.getGroupId();
+							} else {
+								version = lastArtifact.getVersion();
+								groupId = lastArtifact.getGroupId();
+							}
+
+							ESBArtifact esbArtifact = new ESBArtifact();
+							esbArtifact.setName(file.getName().split("\\.")[0]);
+							esbArtifact.setVersion(version.replace("-SNAPSHOT", ""));
+							esbArtifact.setType(COMMAN_NAME + ESBProjectUtils.getType(folder.getName()));
+							esbArtifact.setServerRole(ESB_SEVER_ROLE);
+							esbArtifact.setGroupId(groupId);
+							// Should not use file separator here
+							esbArtifact.setFile(FILE_PATH + folder.getName() + "/" + file.getName());
+							artifact.addESBArtifact(esbArtifact);
+							artifactsByFileName.put(esbArtifact.getName() + ".xml", esbArtifact);
+							lastArtifact = esbArtifact;
+							modified = true;
+						} else if (change.getValue() != null) {
+							undoInvalidMove();
+						}
+					} catch (FactoryConfigurationError | Exception e) {
+						// the other changes of the batch are still written
+						log.error("Error while updating the arifactxml for " + file.getName(), e);
+					}
+				}
+
+				if (modified) {
+					artifact.toFile();
+				}
+			} catch (FactoryConfigurationError | Exception e) {
+				log.error("Error while updating the arifactxml", e);
+			}
+			return Status.OK_STATUS;
+		}
+
+		private void undoInvalidMove() {
+			Display.getDefault().syncExec(new Runnable() {
+
+				@Override
+				public void run() {
+
+					MessageDialog.openError(Display.getCurrent().getActiveShell(), "Error Move",
+							"Cannot move due to invalid location");
+
+					try {
+						IUndoContext workspaceContext = (IUndoContext) ResourcesPlugin.getWorkspace()
+								.getAdapter(IUndoContext.class);
+						OperationHistoryFactory.getOperationHistory().undo(workspaceContext,
+								new NullProgressMonitor(), null);
+
+					} catch (ExecutionException e) {
+						log.error("Cannot undo last operation", e);
+					}
+
+				}
+			});
+		}
+	}
+
 }
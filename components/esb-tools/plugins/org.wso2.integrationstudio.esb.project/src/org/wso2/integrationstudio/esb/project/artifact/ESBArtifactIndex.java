@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2011, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.integrationstudio.esb.project.artifact;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.wso2.integrationstudio.esb.project.Activator;
+import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
+import org.wso2.integrationstudio.logging.core.Logger;
+
+/**
+ * In memory index of the artifacts declared in the artifact.xml files of the workspace projects.
+ *
+ * The artifact.xml of a project is read on the first lookup and kept until the index is notified of a change to the
+ * file, or to the project itself, through the workspace. As artifact.xml is also written through java.io by the
+ * project wizards, every lookup additionally compares the last modified time and the size of the file with the
+ * indexed values before trusting the entry.
+ *
+ * Lists returned by the index are shared between all callers and must not be modified.
+ */
+public class ESBArtifactIndex implements IResourceChangeListener {
+
+	private static IIntegrationStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
+
+	private static final String ARTIFACT_XML = "artifact.xml";
+
+	private static final ESBArtifactIndex instance = new ESBArtifactIndex();
+
+	private final ConcurrentMap<String, ProjectEntry> projectEntries = new ConcurrentHashMap<String, ProjectEntry>();
+
+	private ESBArtifactIndex() {
+	}
+
+	public static ESBArtifactIndex getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Returns all the artifacts declared in the artifact.xml of the given project.
+	 *
+	 * @param project ESB project
+	 * @return artifacts of the project, empty if the project is closed or has no artifact.xml
+	 * @throws Exception if the artifact.xml cannot be read
+	 */
+	public List<ESBArtifact> getArtifacts(IProject project) throws Exception {
+		ProjectEntry entry = getEntry(project);
+		return entry != null ? entry.artifacts : Collections.<ESBArtifact> emptyList();
+	}
+
+	/**
+	 * Returns the artifacts of the given type declared in the artifact.xml of the given project.
+	 *
+	 * @param project ESB project
+	 * @param type artifact type, e.g. synapse/sequence
+	 * @return artifacts of the given type, empty if there are none
+	 * @throws Exception if the artifact.xml cannot be read
+	 */
+	public List<ESBArtifact> getArtifacts(IProject project, String type) throws Exception {
+		ProjectEntry entry = getEntry(project);
+		if (entry != null) {
+			List<ESBArtifact> artifacts = entry.artifactsByType.get(type);
+			if (artifacts != null) {
+				return artifacts;
+			}
+		}
+		return Collections.<ESBArtifact> emptyList();
+	}
+
+	/**
+	 * Drops the indexed artifacts of the given project. The artifact.xml is read again on the next lookup.
+	 *
+	 * @param project ESB project
+	 */
+	public void invalidate(IProject project) {
+		projectEntries.remove(project.getName());
+	}
+
+	private ProjectEntry getEntry(IProject project) throws Exception {
+		if (!project.isOpen()) {
+			projectEntries.remove(project.getName());
+			return null;
+		}
+		IPath location = project.getFile(ARTIFACT_XML).getLocation();
+		if (location == null) {
+			return null;
+		}
+		File file = location.toFile();
+		ProjectEntry entry = projectEntries.get(project.getName());
+		if (entry == null || !entry.isUpToDate(file)) {
+			entry = new ProjectEntry(file);
+			projectEntries.put(project.getName(), entry);
+		}
+		return entry;
+	}
+
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta = event.getDelta();
+		if (delta == null) {
+			return;
+		}
+		try {
+			delta.accept(new IResourceDeltaVisitor() {
+				public boolean visit(IResourceDelta delta) {
+					IResource resource = delta.getResource();
+					switch (resource.getType()) {
+					case IResource.ROOT:
+						return true;
+					case IResource.PROJECT:
+						if (delta.getKind() != IResourceDelta.CHANGED
+								|| (delta.getFlags() & IResourceDelta.OPEN) != 0) {
+							invalidate((IProject) resource);
+							return false;
+						}
+						return true;
+					case IResource.FILE:
+						if (ARTIFACT_XML.equals(resource.getName())) {
+							invalidate(resource.getProject());
+						}
+						return false;
+					default:
+						// artifact.xml is at the root of the project
+						return false;
+					}
+				}
+			});
+		} catch (CoreException e) {
+			log.error("Error while updating the ESB artifact index", e);
+			projectEntries.clear();
+		}
+	}
+
+	/**
+	 * Artifacts of a single artifact.xml, grouped by type.
+	 */
+	private static class ProjectEntry {
+		private final long lastModified;
+		private final long length;
+		private final List<ESBArtifact> artifacts;
+		private final Map<String, List<ESBArtifact>> artifactsByType = new HashMap<String, List<ESBArtifact>>();
+
+		ProjectEntry(File file) throws Exception {
+			lastModified = file.lastModified();
+			length = file.length();
+			ESBProjectArtifact esbProjectArtifact = new ESBProjectArtifact();
+			esbProjectArtifact.fromFile(file);
+			artifacts = esbProjectArtifact.getAllESBArtifacts();
+			for (ESBArtifact artifact : artifacts) {
+				List<ESBArtifact> typeArtifacts = artifactsByType.get(artifact.getType());
+				if (typeArtifacts == null) {
+					typeArtifacts = new ArrayList<ESBArtifact>();
+					artifactsByType.put(artifact.getType(), typeArtifacts);
+				}
+				typeArtifacts.add(artifact);
+			}
+			for (Map.Entry<String, List<ESBArtifact>> typeEntry : artifactsByType.entrySet()) {
+				typeEntry.setValue(Collections.unmodifiableList(typeEntry.getValue()));
+			}
+		}
+
+		boolean isUpToDate(File file) {
+			return file.lastModified() == lastModified && file.length() == length;
+		}
+	}
+
+}
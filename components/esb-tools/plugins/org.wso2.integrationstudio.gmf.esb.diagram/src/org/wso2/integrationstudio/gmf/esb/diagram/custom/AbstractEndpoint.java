@@ -34,7 +34,6 @@ import org.eclipse.gmf.runtime.diagram.ui.figures.BorderItemLocator;
 import org.eclipse.gmf.runtime.gef.ui.figures.DefaultSizeNodeFigure;
 import org.eclipse.gmf.runtime.gef.ui.figures.NodeFigure;
 import org.eclipse.gmf.runtime.notation.View;
-import org.eclipse.swt.widgets.Display;
 import org.wso2.integrationstudio.gmf.esb.diagram.custom.layout.XYRepossition;
 import org.wso2.integrationstudio.gmf.esb.diagram.edit.parts.HighlightOnSelectionEditPolicy;
 import org.wso2.integrationstudio.gmf.esb.diagram.edit.parts.MediatorFlowMediatorFlowCompartment11EditPart;
@@ -201,13 +200,7 @@ public abstract class AbstractEndpoint extends BorderedBorderItemEditPart implem
     }
 
     protected void reAllocate(Rectangle bounds) {
-        Display.getCurrent().asyncExec(new Runnable() {
-            @Override
-            public void run() {
-                XYRepossition.resizeContainers((IGraphicalEditPart) instance);
-                XYRepossition.reArrange((IGraphicalEditPart) instance);
-            }
-        });
+        XYRepossition.relayout((IGraphicalEditPart) instance);
     }
 
     protected void getMostSuitableElementToConnect() {
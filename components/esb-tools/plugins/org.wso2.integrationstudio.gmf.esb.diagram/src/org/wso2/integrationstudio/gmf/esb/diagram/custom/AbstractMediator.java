@@ -315,13 +315,7 @@ public abstract class AbstractMediator extends AbstractBorderedShapeEditPart imp
     }
 
     protected void reAllocate(Rectangle bounds) {
-        Display.getCurrent().asyncExec(new Runnable() {
-            @Override
-            public void run() {
-                XYRepossition.resizeContainers((IGraphicalEditPart) instance);
-                XYRepossition.reArrange((IGraphicalEditPart) instance);
-            }
-        });
+        XYRepossition.relayout((IGraphicalEditPart) instance);
     }
 
     private boolean shouldReverse() {
@@ -17,7 +17,6 @@ import org.eclipse.gmf.runtime.diagram.ui.editparts.ShapeCompartmentEditPart;
 import org.eclipse.gmf.runtime.notation.Node;
 import org.eclipse.gmf.runtime.notation.View;
 import org.eclipse.jface.viewers.StructuredSelection;
-import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.IEditorPart;
 import org.eclipse.ui.IFileEditorInput;
 import org.eclipse.ui.PlatformUI;
@@ -116,13 +115,7 @@ public class AbstractMediatorFlowCompartmentEditPart extends ShapeCompartmentEdi
 
     protected void removeChild(EditPart child) {
         connectRemainingElements(child);
-        Display.getCurrent().asyncExec(new Runnable() {
-            @Override
-            public void run() {
-                XYRepossition.resizeContainers((IGraphicalEditPart) instance);
-                XYRepossition.reArrange((IGraphicalEditPart) instance);
-            }
-        });
+        XYRepossition.relayout((IGraphicalEditPart) instance);
         super.removeChild(child);
     }
 
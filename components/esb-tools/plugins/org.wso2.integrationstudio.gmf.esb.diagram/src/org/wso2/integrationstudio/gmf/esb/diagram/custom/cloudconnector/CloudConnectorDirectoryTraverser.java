@@ -18,7 +18,6 @@ package org.wso2.integrationstudio.gmf.esb.diagram.custom.cloudconnector;
 
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -28,7 +27,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.xml.stream.XMLStreamException;
 
@@ -50,51 +50,57 @@ import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
 import org.wso2.integrationstudio.logging.core.Logger;
 import org.wso2.integrationstudio.utils.file.FileUtils;
 
+/**
+ * Provides the operations and files of an extracted connector. Instances are bound to a connector directory, and read
+ * the parsed connector metadata from the shared {@link CloudConnectorMetadataRegistry}.
+ */
 public class CloudConnectorDirectoryTraverser {
 
     private static final String synapseNS = "http://ws.apache.org/ns/synapse";
-    private static final String connectorFileName = "connector.xml";
-    private static final String componentFileName = "component.xml";
     private static final String inputSchemaFolderName = "input_schema";
     private static final String outputSchemaFolderName = "output_schema";
     private static final String initFileName = "init.xml";
     private static final String DIR_DOT_METADATA = ".metadata";
     public static final String connectorPathFromWorkspace = DIR_DOT_METADATA + File.separator + ".Connectors";
     private Properties properties = new Properties();
-    private static String rootDirectory = null;
-    private static CloudConnectorDirectoryTraverser instance = null;
-    private Connector connector = null;
+    private final String rootDirectory;
+    private static final ConcurrentMap<String, CloudConnectorDirectoryTraverser> instances = new ConcurrentHashMap<>();
+    private static volatile CloudConnectorDirectoryTraverser instance = new CloudConnectorDirectoryTraverser(null);
     private static IIntegrationStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
 
     /*
      * Private Constructor
      */
-    private CloudConnectorDirectoryTraverser() {
+    private CloudConnectorDirectoryTraverser(String rootDirectory) {
+        this.rootDirectory = rootDirectory;
     }
 
     /*
-     * static method for creating an instance of this class
+     * static method for obtaining the instance of the given connector directory, which also becomes the current
+     * instance
      */
     public static CloudConnectorDirectoryTraverser getInstance(String file) {
-        rootDirectory = file;
-        if (instance == null) {
-            instance = new CloudConnectorDirectoryTraverser();
+        CloudConnectorDirectoryTraverser traverser = instances.get(file);
+        if (traverser == null) {
+            traverser = new CloudConnectorDirectoryTraverser(file);
+            CloudConnectorDirectoryTraverser existing = instances.putIfAbsent(file, traverser);
+            if (existing != null) {
+                traverser = existing;
+            }
         }
-        return instance;
+        instance = traverser;
+        return traverser;
     }
 
+    /*
+     * static method for obtaining the instance of the connector directory last requested
+     */
     public static CloudConnectorDirectoryTraverser getInstance() {
-        if (instance == null) {
-            instance = new CloudConnectorDirectoryTraverser();
-        }
         return instance;
     }
 
-    private void deserializeConnectorXML() throws Exception {
-        File artifactsFile = new File(rootDirectory + File.separator + connectorFileName);
-        String artifactsContent = FileUtils.getContentAsString(artifactsFile);
-        connector = new Connector();
-        connector.deserialize(artifactsContent);
+    private CloudConnectorMetadata getConnectorMetadata() throws Exception {
+        return CloudConnectorMetadataRegistry.getConnectorMetadata(rootDirectory);
     }
 
     private TemplateMediator readTemplateConfiguration(String fileLocation) throws IOException, XMLStreamException {
@@ -141,10 +147,9 @@ public class CloudConnectorDirectoryTraverser {
                         foundConnectors = true;
                         String connectorPath = connectorDirectory + File.separator + children[i].getName();
                         try {
-                            File artifactsFile = new File(connectorPath + File.separator + connectorFileName);
-                            String artifactsContent = FileUtils.getContentAsString(artifactsFile);
-                            connector = new Connector();
-                            connector.deserialize(artifactsContent);
+                            // parses the connector and all its components once, later validations reuse them
+                            CloudConnectorMetadata connector = CloudConnectorMetadataRegistry
+                                    .getConnectorMetadata(connectorPath);
 
                             if (!connector.getConnectorName().equals(children[i].getName().split("-")[0])) {
                                 log.error("Connector directory name, \'" + children[i].getName() + "\',"
@@ -152,6 +157,7 @@ public class CloudConnectorDirectoryTraverser {
                                 errorList.add("Connector directory name, \'" + children[i].getName() + "\',"
                                         + " doesn't match with the connector name \'" + connector.getConnectorName()
                                         + "\'. Valid connector should have the 'name-connector-1.0.0' format");
+                                CloudConnectorMetadataRegistry.invalidate(connectorPath);
                                 FileUtils.deleteDirectories(connectorPath);
                                 continue;
                             }
@@ -165,13 +171,15 @@ public class CloudConnectorDirectoryTraverser {
                                          .exists() ||
                                      new File(connectorPath + File.separator + "icon" + File.separator 
                                              + "icon-large.png").exists()) {
-                                CloudConnectorDirectoryTraverser.getInstance(connectorPath).getOperationsMap();
+                                // the connector and its components were already parsed with its metadata
                             } else {
                                 log.error("Missing icons files of " + children[i].getName());
                                 errorList.add("Missing icons files of " + children[i].getName());
+                                CloudConnectorMetadataRegistry.invalidate(connectorPath);
                                 FileUtils.deleteDirectories(connectorPath);
                             }
                         } catch (Exception e) {
+                            CloudConnectorMetadataRegistry.invalidate(connectorPath);
                             FileUtils.deleteDirectories(connectorPath);
                             log.error("Error while loading the connector due to  " + e.getMessage(), e);
                             errorList.add("Error while loading the connector due to  " + e.getMessage());
@@ -217,19 +225,7 @@ public class CloudConnectorDirectoryTraverser {
      */
 
     public Map<String, String> getOperationFileNamesMap() throws Exception {
-        Map<String, String> operationFileNamesMap = new HashMap<String, String>();
-        deserializeConnectorXML();
-        for (Dependency dependency : connector.getComponentDependencies()) {
-            String pathname = rootDirectory + File.separator + dependency.getComponent();
-            File artifactFile = new File(pathname + File.separator + componentFileName);
-            String artifactContent = FileUtils.getContentAsString(artifactFile);
-            Component subComponent = new Component();
-            subComponent.deserialize(artifactContent);
-            for (SubComponents subComponents : subComponent.getSubComponents()) {
-                operationFileNamesMap.put(subComponents.getFileName(), dependency.getComponent());
-            }
-        }
-        return operationFileNamesMap;
+        return new HashMap<String, String>(getConnectorMetadata().getOperationFileNames());
     }
 
     /**
@@ -241,22 +237,7 @@ public class CloudConnectorDirectoryTraverser {
      */
 
     public Map<String, String> getOperationsMap() throws Exception {
-        Map<String, String> operationNamesAndFileNamesMap = new HashMap<String, String>();
-        deserializeConnectorXML();
-        for (Dependency dependency : connector.getComponentDependencies()) {
-            String pathname = rootDirectory + File.separator + dependency.getComponent();
-            File artifactFile = new File(pathname + File.separator + componentFileName);
-            String artifactContent = FileUtils.getContentAsString(artifactFile);
-            Component subComponent = new Component();
-            subComponent.deserialize(artifactContent);
-            for (SubComponents subComponents : subComponent.getSubComponents()) {
-                if (subComponents.getHidden().equals("false")) {
-                    operationNamesAndFileNamesMap.put(subComponents.getName(), subComponents.getFileName());
-                }
-            }
-
-        }
-        return operationNamesAndFileNamesMap;
+        return new HashMap<String, String>(getConnectorMetadata().getOperations());
     }
 
     /**
@@ -268,20 +249,7 @@ public class CloudConnectorDirectoryTraverser {
      */
 
     public Map<String, String> getOperationsConnectorComponentNameMap() throws Exception {
-        Map<String, String> operationNamesAndConnectorComponentNameMap = new HashMap<String, String>();
-        deserializeConnectorXML();
-        for (Dependency dependency : connector.getComponentDependencies()) {
-            String pathname = rootDirectory + File.separator + dependency.getComponent();
-            File artifactFile = new File(pathname + File.separator + componentFileName);
-            String artifactContent = FileUtils.getContentAsString(artifactFile);
-            Component subComponent = new Component();
-            subComponent.deserialize(artifactContent);
-            for (SubComponents subComponents : subComponent.getSubComponents()) {
-                operationNamesAndConnectorComponentNameMap.put(subComponents.getName(), connector.getConnectorName());
-            }
-
-        }
-        return operationNamesAndConnectorComponentNameMap;
+        return new HashMap<String, String>(getConnectorMetadata().getOperationsConnectorComponentName());
     }
 
     /**
@@ -294,20 +262,7 @@ public class CloudConnectorDirectoryTraverser {
      */
 
     public Map<String, String> getOperationsInputLoadClassesMap() throws Exception {
-        Map<String, String> operationNamesAndInputLoadClassesMap = new HashMap<String, String>();
-        deserializeConnectorXML();
-        for (Dependency dependency : connector.getComponentDependencies()) {
-            String pathname = rootDirectory + File.separator + dependency.getComponent();
-            File artifactFile = new File(pathname + File.separator + componentFileName);
-            String artifactContent = FileUtils.getContentAsString(artifactFile);
-            ComponentLoadClassInput subComponent = new ComponentLoadClassInput();
-            subComponent.deserialize(artifactContent);
-            for (SubComponents subComponents : subComponent.getSubComponents()) {
-                operationNamesAndInputLoadClassesMap.put(subComponents.getName(), subComponents.getFileName());
-            }
-
-        }
-        return operationNamesAndInputLoadClassesMap;
+        return new HashMap<String, String>(getConnectorMetadata().getOperationsInputLoadClasses());
     }
 
     /**
@@ -320,20 +275,7 @@ public class CloudConnectorDirectoryTraverser {
      */
 
     public Map<String, String> getOperationsOutputLoadClassesMap() throws Exception {
-        Map<String, String> operationNamesAndOutputLoadClassesMap = new HashMap<String, String>();
-        deserializeConnectorXML();
-        for (Dependency dependency : connector.getComponentDependencies()) {
-            String pathname = rootDirectory + File.separator + dependency.getComponent();
-            File artifactFile = new File(pathname + File.separator + componentFileName);
-            String artifactContent = FileUtils.getContentAsString(artifactFile);
-            ComponentLoadClassOutput subComponent = new ComponentLoadClassOutput();
-            subComponent.deserialize(artifactContent);
-            for (SubComponents subComponents : subComponent.getSubComponents()) {
-                operationNamesAndOutputLoadClassesMap.put(subComponents.getName(), subComponents.getFileName());
-            }
-
-        }
-        return operationNamesAndOutputLoadClassesMap;
+        return new HashMap<String, String>(getConnectorMetadata().getOperationsOutputLoadClasses());
     }
 
     /**
@@ -345,20 +287,7 @@ public class CloudConnectorDirectoryTraverser {
      */
 
     public Map<String, String> getOperationsIsDynamicMap() throws Exception {
-        Map<String, String> operationNamesAndLoadClassesMap = new HashMap<String, String>();
-        deserializeConnectorXML();
-        for (Dependency dependency : connector.getComponentDependencies()) {
-            String pathname = rootDirectory + File.separator + dependency.getComponent();
-            File artifactFile = new File(pathname + File.separator + componentFileName);
-            String artifactContent = FileUtils.getContentAsString(artifactFile);
-            ComponentIsDynamic subComponent = new ComponentIsDynamic();
-            subComponent.deserialize(artifactContent);
-            for (SubComponents subComponents : subComponent.getSubComponents()) {
-                operationNamesAndLoadClassesMap.put(subComponents.getName(), subComponents.getFileName());
-            }
-
-        }
-        return operationNamesAndLoadClassesMap;
+        return new HashMap<String, String>(getConnectorMetadata().getOperationsIsDynamic());
     }
 
     /**
@@ -370,8 +299,9 @@ public class CloudConnectorDirectoryTraverser {
      */
 
     public String getCloudConnectorOperationInputLoadClass(String connectorOperation) throws Exception {
-        if (getOperationsInputLoadClassesMap().containsKey(connectorOperation)) {
-            String operationInputLoadClassName = getOperationsInputLoadClassesMap().get(connectorOperation);
+        Map<String, String> operationsInputLoadClasses = getConnectorMetadata().getOperationsInputLoadClasses();
+        if (operationsInputLoadClasses.containsKey(connectorOperation)) {
+            String operationInputLoadClassName = operationsInputLoadClasses.get(connectorOperation);
             return operationInputLoadClassName;
         } else {
             return "";
@@ -387,8 +317,9 @@ public class CloudConnectorDirectoryTraverser {
      */
 
     public String getCloudConnectorOperationOutputLoadClass(String connectorOperation) throws Exception {
-        if (getOperationsOutputLoadClassesMap().containsKey(connectorOperation)) {
-            String operationOutputLoadClassName = getOperationsOutputLoadClassesMap().get(connectorOperation);
+        Map<String, String> operationsOutputLoadClasses = getConnectorMetadata().getOperationsOutputLoadClasses();
+        if (operationsOutputLoadClasses.containsKey(connectorOperation)) {
+            String operationOutputLoadClassName = operationsOutputLoadClasses.get(connectorOperation);
             return operationOutputLoadClassName;
         } else {
             return "";
@@ -404,8 +335,9 @@ public class CloudConnectorDirectoryTraverser {
      */
 
     public String getCloudConnectorOperationIsDynamic(String connectorOperation) throws Exception {
-        if (getOperationsIsDynamicMap().containsKey(connectorOperation)) {
-            String operationIsDynamic = getOperationsIsDynamicMap().get(connectorOperation);
+        Map<String, String> operationsIsDynamic = getConnectorMetadata().getOperationsIsDynamic();
+        if (operationsIsDynamic.containsKey(connectorOperation)) {
+            String operationIsDynamic = operationsIsDynamic.get(connectorOperation);
             return operationIsDynamic;
         } else {
             return "";
@@ -413,25 +345,30 @@ public class CloudConnectorDirectoryTraverser {
     }
     
     public String getConnectorType() {
-        return connector.getConnectorType();
+        try {
+            return getConnectorMetadata().getConnectorType();
+        } catch (Exception e) {
+            log.error("Error while deserializing the connector", e);
+            return null;
+        }
     }
 
     public String getCloudConnectorName() {
         try {
-            deserializeConnectorXML();
+            return getConnectorMetadata().getConnectorName();
         } catch (Exception e) {
             log.error("Error while deserializing the connector", e);
+            return null;
         }
-        return connector.getConnectorName();
     }
 
     public String getCloudConnectorAuthenticationInfo() {
         try {
-            deserializeConnectorXML();
+            return getConnectorMetadata().getAuthenticationInfo();
         } catch (Exception e) {
             log.error("Error while deserializing the connector", e);
+            return null;
         }
-        return connector.getAuthenticationInfo();
     }
 
     public String getConfigurationFileLocation(Map<String, String> artifactsMap) throws Exception {
@@ -0,0 +1,209 @@
+/*
+ * Copyright WSO2, Inc. (http://wso2.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.integrationstudio.gmf.esb.diagram.custom.cloudconnector;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.impl.builder.StAXOMBuilder;
+import org.wso2.integrationstudio.utils.file.FileUtils;
+
+/**
+ * Immutable metadata of an extracted connector, read from its connector.xml and the component.xml of each of its
+ * components. Each file is parsed once, for all the views of the operations it provides.
+ */
+public final class CloudConnectorMetadata {
+
+    private static final String connectorFileName = "connector.xml";
+    private static final String componentFileName = "component.xml";
+
+    private final String connectorName;
+    private final String connectorType;
+    private final String authenticationInfo;
+    private final Map<String, String> operationFileNames;
+    private final Map<String, String> operations;
+    private final Map<String, String> operationsConnectorComponentName;
+    private final Map<String, String> operationsInputLoadClasses;
+    private final Map<String, String> operationsOutputLoadClasses;
+    private final Map<String, String> operationsIsDynamic;
+
+    /**
+     * Last modified times and sizes of the files the metadata was read from.
+     */
+    private final Map<File, String> stamps;
+
+    private CloudConnectorMetadata(Connector connector, Map<String, String> operationFileNames,
+            Map<String, String> operations, Map<String, String> operationsConnectorComponentName,
+            Map<String, String> operationsInputLoadClasses, Map<String, String> operationsOutputLoadClasses,
+            Map<String, String> operationsIsDynamic, Map<File, String> stamps) {
+        this.connectorName = connector.getConnectorName();
+        this.connectorType = connector.getConnectorType();
+        this.authenticationInfo = connector.getAuthenticationInfo();
+        this.operationFileNames = Collections.unmodifiableMap(operationFileNames);
+        this.operations = Collections.unmodifiableMap(operations);
+        this.operationsConnectorComponentName = Collections.unmodifiableMap(operationsConnectorComponentName);
+        this.operationsInputLoadClasses = Collections.unmodifiableMap(operationsInputLoadClasses);
+        this.operationsOutputLoadClasses = Collections.unmodifiableMap(operationsOutputLoadClasses);
+        this.operationsIsDynamic = Collections.unmodifiableMap(operationsIsDynamic);
+        this.stamps = Collections.unmodifiableMap(stamps);
+    }
+
+    /**
+     * Reads the metadata of the connector extracted to the given directory.
+     *
+     * @param connectorDirectory connector directory
+     * @return metadata of the connector
+     * @throws Exception if the connector.xml or a component.xml cannot be read
+     */
+    static CloudConnectorMetadata load(File connectorDirectory) throws Exception {
+        Map<File, String> stamps = new LinkedHashMap<>();
+        File connectorFile = new File(connectorDirectory, connectorFileName);
+        stamps.put(connectorFile, getStamp(connectorFile));
+        Connector connector = new Connector();
+        connector.deserialize(parse(connectorFile));
+
+        Map<String, String> operationFileNames = new HashMap<>();
+        Map<String, String> operations = new HashMap<>();
+        Map<String, String> operationsConnectorComponentName = new HashMap<>();
+        Map<String, String> operationsInputLoadClasses = new HashMap<>();
+        Map<String, String> operationsOutputLoadClasses = new HashMap<>();
+        Map<String, String> operationsIsDynamic = new HashMap<>();
+        for (Dependency dependency : connector.getComponentDependencies()) {
+            File componentFile = new File(new File(connectorDirectory, dependency.getComponent()), componentFileName);
+            stamps.put(componentFile, getStamp(componentFile));
+            OMElement componentElement = parse(componentFile);
+
+            Component component = new Component();
+            component.deserialize(componentElement);
+            for (SubComponents subComponents : component.getSubComponents()) {
+                operationFileNames.put(subComponents.getFileName(), dependency.getComponent());
+                if (subComponents.getHidden().equals("false")) {
+                    operations.put(subComponents.getName(), subComponents.getFileName());
+                }
+                operationsConnectorComponentName.put(subComponents.getName(), connector.getConnectorName());
+            }
+
+            ComponentLoadClassInput componentLoadClassInput = new ComponentLoadClassInput();
+            componentLoadClassInput.deserialize(componentElement);
+            for (SubComponents subComponents : componentLoadClassInput.getSubComponents()) {
+                operationsInputLoadClasses.put(subComponents.getName(), subComponents.getFileName());
+            }
+
+            ComponentLoadClassOutput componentLoadClassOutput = new ComponentLoadClassOutput();
+            componentLoadClassOutput.deserialize(componentElement);
+            for (SubComponents subComponents : componentLoadClassOutput.getSubComponents()) {
+                operationsOutputLoadClasses.put(subComponents.getName(), subComponents.getFileName());
+            }
+
+            ComponentIsDynamic componentIsDynamic = new ComponentIsDynamic();
+            componentIsDynamic.deserialize(componentElement);
+            for (SubComponents subComponents : componentIsDynamic.getSubComponents()) {
+                operationsIsDynamic.put(subComponents.getName(), subComponents.getFileName());
+            }
+        }
+        return new CloudConnectorMetadata(connector, operationFileNames, operations, operationsConnectorComponentName,
+                operationsInputLoadClasses, operationsOutputLoadClasses, operationsIsDynamic, stamps);
+    }
+
+    private static OMElement parse(File file) throws Exception {
+        String content = FileUtils.getContentAsString(file);
+        XMLStreamReader parser = XMLInputFactory.newInstance()
+                .createXMLStreamReader(new ByteArrayInputStream(content.getBytes()));
+        OMElement documentElement = new StAXOMBuilder(parser).getDocumentElement();
+        documentElement.build();
+        return documentElement;
+    }
+
+    private static String getStamp(File file) {
+        return file.lastModified() + ":" + file.length();
+    }
+
+    /**
+     * @return whether none of the files the metadata was read from changed since
+     */
+    boolean isUpToDate() {
+        for (Map.Entry<File, String> stamp : stamps.entrySet()) {
+            if (!getStamp(stamp.getKey()).equals(stamp.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public String getConnectorName() {
+        return connectorName;
+    }
+
+    public String getConnectorType() {
+        return connectorType;
+    }
+
+    public String getAuthenticationInfo() {
+        return authenticationInfo;
+    }
+
+    /**
+     * @return operation file names mapped to the names of the components containing them
+     */
+    public Map<String, String> getOperationFileNames() {
+        return operationFileNames;
+    }
+
+    /**
+     * @return names of the visible operations mapped to their file names
+     */
+    public Map<String, String> getOperations() {
+        return operations;
+    }
+
+    /**
+     * @return names of the operations mapped to the connector name
+     */
+    public Map<String, String> getOperationsConnectorComponentName() {
+        return operationsConnectorComponentName;
+    }
+
+    /**
+     * @return names of the operations mapped to the class generating their input schema
+     */
+    public Map<String, String> getOperationsInputLoadClasses() {
+        return operationsInputLoadClasses;
+    }
+
+    /**
+     * @return names of the operations mapped to the class generating their output schema
+     */
+    public Map<String, String> getOperationsOutputLoadClasses() {
+        return operationsOutputLoadClasses;
+    }
+
+    /**
+     * @return names of the operations mapped to whether they are dynamic
+     */
+    public Map<String, String> getOperationsIsDynamic() {
+        return operationsIsDynamic;
+    }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright WSO2, Inc. (http://wso2.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.integrationstudio.gmf.esb.diagram.custom.cloudconnector;
+
+import java.io.File;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Shared registry of the metadata of extracted connectors, keyed by connector directory.
+ *
+ * The metadata of a connector is parsed on first use and reused by the palette, the editors and the property views
+ * until one of the files it was read from changes on disk, or the connector is invalidated.
+ */
+public final class CloudConnectorMetadataRegistry {
+
+    private static final ConcurrentMap<String, CloudConnectorMetadata> connectors = new ConcurrentHashMap<>();
+
+    private CloudConnectorMetadataRegistry() {
+    }
+
+    /**
+     * Returns the metadata of the connector extracted to the given directory.
+     *
+     * @param connectorDirectory connector directory
+     * @return metadata of the connector
+     * @throws Exception if the metadata of the connector cannot be read
+     */
+    public static CloudConnectorMetadata getConnectorMetadata(String connectorDirectory) throws Exception {
+        String key = new File(connectorDirectory).getAbsolutePath();
+        CloudConnectorMetadata metadata = connectors.get(key);
+        if (metadata == null || !metadata.isUpToDate()) {
+            metadata = CloudConnectorMetadata.load(new File(key));
+            connectors.put(key, metadata);
+        }
+        return metadata;
+    }
+
+    /**
+     * Discards the metadata of the connector extracted to the given directory.
+     *
+     * @param connectorDirectory connector directory
+     */
+    public static void invalidate(String connectorDirectory) {
+        connectors.remove(new File(connectorDirectory).getAbsolutePath());
+    }
+
+}
@@ -8,7 +8,6 @@ import org.eclipse.gmf.runtime.diagram.ui.editparts.IGraphicalEditPart;
 import org.eclipse.gmf.runtime.diagram.ui.editpolicies.NonResizableEditPolicyEx;
 import org.eclipse.gmf.runtime.gef.ui.figures.NodeFigure;
 import org.eclipse.gmf.runtime.notation.View;
-import org.eclipse.swt.widgets.Display;
 import org.wso2.integrationstudio.gmf.esb.diagram.custom.layout.XYRepossition;
 import org.wso2.integrationstudio.gmf.esb.diagram.edit.parts.HighlightOnSelectionEditPolicy;
 
@@ -60,17 +59,7 @@ public class complexFiguredAbstractMediator extends AbstractMediator {
 
                 if (width != container.getBounds().width) {
                     width = container.getBounds().width;
-                    Display.getCurrent().asyncExec(new Runnable() {
-                        @Override
-                        public void run() {
-                            XYRepossition.resizeContainers((IGraphicalEditPart) getParent());
-                            XYRepossition.reArrange((IGraphicalEditPart) getParent());
-                            // XYRepossition.resizeContainers((IGraphicalEditPart)
-                            // ((IGraphicalEditPart)getChildren().get(4)).getChildren().get(0));
-                            // XYRepossition.reArrange((IGraphicalEditPart)
-                            // ((IGraphicalEditPart)getChildren().get(4)).getChildren().get(0));
-                        }
-                    });
+                    XYRepossition.relayout((IGraphicalEditPart) getParent());
                 }
 
             }
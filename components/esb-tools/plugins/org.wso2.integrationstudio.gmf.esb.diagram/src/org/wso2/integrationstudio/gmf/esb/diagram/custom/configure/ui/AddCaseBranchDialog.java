@@ -20,7 +20,6 @@ import org.eclipse.swt.layout.FormData;
 import org.eclipse.swt.layout.FormLayout;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
-import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Shell;
 import org.eclipse.swt.widgets.TableItem;
@@ -163,12 +162,6 @@ public class AddCaseBranchDialog extends Dialog {
      * Rearrange Switch mediator on add or remove of case branches.
      */
     private void reArrange() {
-        Display.getCurrent().asyncExec(new Runnable() {
-            @Override
-            public void run() {
-                XYRepossition.resizeContainers((IGraphicalEditPart) editpart);
-                XYRepossition.reArrange((IGraphicalEditPart) editpart);
-            }
-        });
+        XYRepossition.relayout((IGraphicalEditPart) editpart);
     }
 }
@@ -15,7 +15,6 @@ import org.eclipse.swt.layout.FormData;
 import org.eclipse.swt.layout.FormLayout;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
-import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Shell;
 import org.eclipse.swt.widgets.Text;
@@ -184,13 +183,7 @@ public class AddTargetBranchDialog extends Dialog {
      * Rearrange Clone mediator on add or remove of targets.
      */
     private void reArrange() {
-        Display.getCurrent().asyncExec(new Runnable() {
-            @Override
-            public void run() {
-                XYRepossition.resizeContainers((IGraphicalEditPart) editpart);
-                XYRepossition.reArrange((IGraphicalEditPart) editpart);
-            }
-        });
+        XYRepossition.relayout((IGraphicalEditPart) editpart);
     }
 
 }
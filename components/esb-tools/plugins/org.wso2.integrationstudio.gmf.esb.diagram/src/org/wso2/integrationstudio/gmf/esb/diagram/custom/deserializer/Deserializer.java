@@ -16,9 +16,6 @@
 
 package org.wso2.integrationstudio.gmf.esb.diagram.custom.deserializer;
 
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileWriter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
@@ -30,11 +27,11 @@ import java.util.Properties;
 import org.apache.axiom.om.OMAbstractFactory;
 import org.apache.axiom.om.OMAttribute;
 import org.apache.axiom.om.OMElement;
-import org.apache.axiom.om.util.AXIOMUtil;
 import org.apache.commons.collections.IteratorUtils;
 import org.apache.synapse.config.Entry;
+import org.apache.synapse.config.SynapseConfigUtils;
 import org.apache.synapse.config.SynapseConfiguration;
-import org.apache.synapse.config.SynapseConfigurationBuilder;
+import org.apache.synapse.config.xml.ConfigurationFactoryAndSerializerFinder;
 import org.apache.synapse.config.xml.ProxyServiceFactory;
 import org.apache.synapse.config.xml.SequenceMediatorFactory;
 import org.apache.synapse.config.xml.TemplateMediatorFactory;
@@ -215,8 +212,17 @@ public class Deserializer {
      * @throws Exception
      */
     public ArtifactType getArtifactType(String source) throws Exception {
+        return getArtifactType(SynapseSourceTree.of(source).getDocumentElement());
+    }
+
+    /**
+     * Return the relevant ArtifactType for an already parsed ESB configuration. The given element is only read.
+     * 
+     * @param element document element of the configuration
+     * @throws Exception
+     */
+    public ArtifactType getArtifactType(OMElement element) throws Exception {
         ArtifactType artifactType = null;
-        OMElement element = AXIOMUtil.stringToOM(source);
         String localName = element.getLocalName();
         switch (localName) {
 		case "definitions":
@@ -313,22 +319,26 @@ public class Deserializer {
     }
 
     private Map<String, Object> getArtifacts(String source, boolean withSynapse) throws Exception {
-        Map<String, Object> artifacts = new LinkedHashMap<String, Object>();
+        SynapseSourceTree sourceTree = SynapseSourceTree.of(source);
+        ArtifactType artifactType = getArtifactType(sourceTree.getDocumentElement());
+        if (SynapseSourceTree.isStatisticsEnabled()) {
+            log.info("Parsed " + artifactType + " source of " + source.length() + " characters in "
+                    + (sourceTree.getParseTime() / 1000000.0) + " ms, allocated "
+                    + (sourceTree.getAllocatedBytes() / 1024) + " KB");
+        }
+        return getArtifacts(sourceTree.getWorkingCopy(), artifactType, withSynapse);
+    }
 
-        ArtifactType artifactType = getArtifactType(source);
-        OMElement element = AXIOMUtil.stringToOM(source);
+    private Map<String, Object> getArtifacts(OMElement element, ArtifactType artifactType, boolean withSynapse)
+            throws Exception {
+        Map<String, Object> artifacts = new LinkedHashMap<String, Object>();
 
         Properties properties = new Properties();
         properties.put(WSDLEndpointFactory.SKIP_WSDL_PARSING, "true");
 
         switch (artifactType) {
         case SYNAPSE_CONFIG:
-            File tempfile = File.createTempFile("file", ".tmp");
-            BufferedWriter outfile = new BufferedWriter(new FileWriter(tempfile));
-            outfile.write(source);
-            outfile.close();
-            SynapseConfiguration synapseCofig = SynapseConfigurationBuilder.getConfiguration(tempfile.getAbsolutePath(),
-                    null);
+            SynapseConfiguration synapseCofig = createSynapseConfiguration(element);
             Collection<ProxyService> proxyServices = synapseCofig.getProxyServices();
             for (ProxyService proxy : proxyServices) {
                 artifacts.put(proxy.getName(), proxy);
@@ -481,6 +491,22 @@ public class Deserializer {
         return artifacts;
     }
 
+    /**
+     * Builds the synapse configuration from an already parsed definitions element, equivalent to
+     * SynapseConfigurationBuilder#getConfiguration without writing the source to a file to be parsed again.
+     */
+    private SynapseConfiguration createSynapseConfiguration(OMElement definitions) {
+        SynapseConfiguration synapseConfig = ConfigurationFactoryAndSerializerFinder.getInstance()
+                .getConfiguration(definitions, null);
+        if (synapseConfig.getMainSequence() == null) {
+            SynapseConfigUtils.setDefaultMainSequence(synapseConfig);
+        }
+        if (synapseConfig.getFaultSequence() == null) {
+            SynapseConfigUtils.setDefaultFaultSequence(synapseConfig);
+        }
+        return synapseConfig;
+    }
+
     private void createEndpointTemplate(OMElement element, Properties properties, Map<String, Object> artifacts,
             boolean withSynapse) {
         Template template;
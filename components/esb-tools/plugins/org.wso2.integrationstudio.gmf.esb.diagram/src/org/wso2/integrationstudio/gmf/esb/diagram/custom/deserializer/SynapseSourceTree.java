@@ -0,0 +1,150 @@
+/*
+ * Copyright 2012 WSO2, Inc. (http://wso2.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.integrationstudio.gmf.esb.diagram.custom.deserializer;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.util.AXIOMUtil;
+
+/**
+ * Parsed form of a synapse source document. The source is parsed exactly once into an OM tree which is then shared
+ * by artifact type detection and the synapse/dummy factories.
+ *
+ * The shared tree is never handed out for modification. Factories detach nodes while building the synapse model
+ * (descriptions of local entries, indentations of payload formats etc.), hence they must work on
+ * {@link #getWorkingCopy()}, which copies the already built tree without tokenizing the source again.
+ */
+public final class SynapseSourceTree {
+
+    /**
+     * System property to enable parse time and allocation statistics of the source to design pipeline.
+     */
+    public static final String STATISTICS_PROPERTY = "integrationstudio.esb.deserializer.statistics";
+
+    /**
+     * Last parsed source. Validation and design generation of the same source reuse this instance.
+     */
+    private static volatile SynapseSourceTree lastParsed;
+
+    private final String source;
+    private final OMElement documentElement;
+    private final long parseTime;
+    private final long allocatedBytes;
+
+    private SynapseSourceTree(String source, OMElement documentElement, long parseTime, long allocatedBytes) {
+        this.source = source;
+        this.documentElement = documentElement;
+        this.parseTime = parseTime;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    /**
+     * Returns the parsed tree of the given source. The tree of the last parsed source is reused if the source has not
+     * changed since.
+     *
+     * @param source synapse configuration
+     * @return parsed source tree
+     * @throws XMLStreamException if the source is not well formed
+     */
+    public static SynapseSourceTree of(String source) throws XMLStreamException {
+        SynapseSourceTree cached = lastParsed;
+        if (cached != null && cached.source.equals(source)) {
+            return cached;
+        }
+        SynapseSourceTree parsed = parse(source);
+        lastParsed = parsed;
+        return parsed;
+    }
+
+    private static SynapseSourceTree parse(String source) throws XMLStreamException {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        long allocatedBefore = getAllocatedBytes(threadMXBean);
+        long startTime = System.nanoTime();
+
+        OMElement element = AXIOMUtil.stringToOM(source);
+        element.build();
+
+        long parseTime = System.nanoTime() - startTime;
+        long allocatedBytes = getAllocatedBytes(threadMXBean) - allocatedBefore;
+        return new SynapseSourceTree(source, element, parseTime, allocatedBytes);
+    }
+
+    private static long getAllocatedBytes(ThreadMXBean threadMXBean) {
+        if (!isStatisticsEnabled()) {
+            return 0;
+        }
+        // com.sun.management is not visible to the bundle class loader, hence resolved through the system loader
+        try {
+            Class<?> hotspotThreadMXBean = ClassLoader.getSystemClassLoader()
+                    .loadClass("com.sun.management.ThreadMXBean");
+            if (hotspotThreadMXBean.isInstance(threadMXBean)) {
+                Method method = hotspotThreadMXBean.getMethod("getThreadAllocatedBytes", long.class);
+                return (Long) method.invoke(threadMXBean, Thread.currentThread().getId());
+            }
+        } catch (ReflectiveOperationException e) {
+            // allocation measurement is not supported by this JVM
+        }
+        return 0;
+    }
+
+    /**
+     * @return whether parse statistics should be reported
+     */
+    public static boolean isStatisticsEnabled() {
+        return Boolean.getBoolean(STATISTICS_PROPERTY);
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the shared document element. Callers must not modify the returned tree.
+     *
+     * @return shared document element
+     */
+    public OMElement getDocumentElement() {
+        return documentElement;
+    }
+
+    /**
+     * @return a private copy of the document element which can be consumed by the factories
+     */
+    public OMElement getWorkingCopy() {
+        return documentElement.cloneOMElement();
+    }
+
+    /**
+     * @return time taken to parse the source in nanoseconds
+     */
+    public long getParseTime() {
+        return parseTime;
+    }
+
+    /**
+     * @return bytes allocated while parsing the source, or 0 if the JVM does not support allocation measurement
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+}
@@ -17,11 +17,18 @@
 package org.wso2.integrationstudio.gmf.esb.diagram.custom.layout;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import javax.print.attribute.standard.MediaSize.Other;
 
 import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.LayoutManager;
 import org.eclipse.draw2d.PositionConstants;
 import org.eclipse.draw2d.geometry.Dimension;
 import org.eclipse.draw2d.geometry.Rectangle;
@@ -38,6 +45,7 @@ import org.eclipse.jface.text.rules.EndOfLineRule;
 import org.eclipse.swt.widgets.Display;
 import org.wso2.integrationstudio.gmf.esb.APIResourceInSequenceInputConnector;
 import org.wso2.integrationstudio.gmf.esb.InputConnector;
+import org.wso2.integrationstudio.gmf.esb.diagram.Activator;
 import org.wso2.integrationstudio.gmf.esb.diagram.custom.AbstractBaseFigureEditPart;
 import org.wso2.integrationstudio.gmf.esb.diagram.custom.AbstractBaseFigureInputConnectorEditPart;
 import org.wso2.integrationstudio.gmf.esb.diagram.custom.AbstractComplexEndpointCompartmentEditPart;
@@ -116,9 +124,13 @@ import org.wso2.integrationstudio.gmf.esb.diagram.edit.parts.ThrottleMediatorEdi
 import org.wso2.integrationstudio.gmf.esb.diagram.edit.parts.ThrottleOnAcceptContainerEditPart;
 import org.wso2.integrationstudio.gmf.esb.diagram.edit.parts.ThrottleOnRejectContainerEditPart;
 import org.eclipse.gmf.runtime.diagram.ui.editparts.ShapeCompartmentEditPart;
+import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
+import org.wso2.integrationstudio.logging.core.Logger;
 
 public class XYRepossition {
 
+    private static IIntegrationStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
+
     private static final int ARRWO_LENGTH = 40;
     private static final int CONNECTOR_LENGTH = 5;
     private static final int COMPLEX_MEDIATOR_COMPARTMENT_GAP = 5;
@@ -132,6 +144,14 @@ public class XYRepossition {
     
     private static EditPart mediatorFlowMediatorFlowCompartmentEditPart = null;
 
+    // Layout passes taking longer than this are logged.
+    private static final long SLOW_LAYOUT_MILLISECONDS = 100;
+
+    // Edit parts changed since the last layout pass, laid out together in the next pass.
+    private static final Set<IGraphicalEditPart> dirtyEditParts = new LinkedHashSet<IGraphicalEditPart>();
+    private static boolean layoutScheduled = false;
+    private static int changedConstraints = 0;
+
     public static void resizeContainers(IGraphicalEditPart editPart) {
         IGraphicalEditPart parent = editPart;
 
@@ -145,6 +165,95 @@ public class XYRepossition {
         }
     }
 
+    /**
+     * Marks an edit part as changed, so that the containers it is in are resized and their children rearranged. The
+     * edit parts marked while handling a UI event are laid out together in one pass after the event, which resizes and
+     * rearranges each of their containers once, from the innermost to the outermost. Containers which are not an
+     * ancestor of a changed edit part keep their layout, and mediators whose bounds do not change are left untouched.
+     * Must be called from the UI thread.
+     * 
+     * @param editPart changed edit part
+     */
+    public static void relayout(IGraphicalEditPart editPart) {
+        dirtyEditParts.add(editPart);
+        if (!layoutScheduled) {
+            layoutScheduled = true;
+            Display.getCurrent().asyncExec(new Runnable() {
+                @Override
+                public void run() {
+                    layoutDirtyEditParts();
+                }
+            });
+        }
+    }
+
+    private static void layoutDirtyEditParts() {
+        long startTime = System.currentTimeMillis();
+        // The pass is taken over before walking the edit parts, so that a failing pass does not leave the next
+        // changes unscheduled. Edit parts changed while laying out are laid out in another pass.
+        List<IGraphicalEditPart> changedEditParts = new ArrayList<IGraphicalEditPart>(dirtyEditParts);
+        dirtyEditParts.clear();
+        layoutScheduled = false;
+        changedConstraints = 0;
+        List<IGraphicalEditPart> containers = getDirtyContainers(changedEditParts);
+
+        for (IGraphicalEditPart container : containers) {
+            resizeEditpart(container);
+        }
+
+        final List<IGraphicalEditPart> sequenceCompartments = new ArrayList<IGraphicalEditPart>();
+        for (IGraphicalEditPart container : containers) {
+            rearrangeChildren(container);
+            if (container instanceof MediatorFlowMediatorFlowCompartmentEditPart) {
+                sequenceCompartments.add(container);
+            }
+        }
+
+        if (!sequenceCompartments.isEmpty()) {
+            Display.getCurrent().asyncExec(new Runnable() {
+                @Override
+                public void run() {
+                    for (IGraphicalEditPart sequenceCompartment : sequenceCompartments) {
+                        arrangeInSequenceInputConnectors(sequenceCompartment);
+                    }
+                }
+            });
+        }
+
+        long layoutTime = System.currentTimeMillis() - startTime;
+        if (layoutTime > SLOW_LAYOUT_MILLISECONDS) {
+            log.info("Laid out " + containers.size() + " containers and moved " + changedConstraints
+                    + " mediators in " + layoutTime + " ms");
+        }
+    }
+
+    /**
+     * Returns the given changed edit parts and their ancestors, each once, innermost first.
+     */
+    private static List<IGraphicalEditPart> getDirtyContainers(List<IGraphicalEditPart> changedEditParts) {
+        final Map<IGraphicalEditPart, Integer> depths = new LinkedHashMap<IGraphicalEditPart, Integer>();
+        for (IGraphicalEditPart editPart : changedEditParts) {
+            List<IGraphicalEditPart> ancestors = new ArrayList<IGraphicalEditPart>();
+            IGraphicalEditPart parent = editPart;
+            while (parent != null && !(parent instanceof EsbServerEditPart)) {
+                ancestors.add(parent);
+                parent = (IGraphicalEditPart) parent.getParent();
+            }
+            for (int i = 0; i < ancestors.size(); ++i) {
+                depths.put(ancestors.get(i), ancestors.size() - i);
+            }
+        }
+
+        List<IGraphicalEditPart> containers = new ArrayList<IGraphicalEditPart>(depths.keySet());
+        Collections.sort(containers, new Comparator<IGraphicalEditPart>() {
+            @Override
+            public int compare(IGraphicalEditPart first, IGraphicalEditPart second) {
+                return depths.get(second).compareTo(depths.get(first));
+            }
+        });
+        return containers;
+    }
+
     private static void resizeEditpart(IGraphicalEditPart parent) {
         if (parent instanceof AbstractMediatorFlowCompartmentEditPart) {
             if (parent instanceof MediatorFlowMediatorFlowCompartment5EditPart) {
@@ -770,8 +879,7 @@ public class XYRepossition {
                     }
 
                     GraphicalEditPart nodeParent = (GraphicalEditPart) ((GraphicalEditPart) node).getParent();
-                    node.getFigure().setBounds(constraints);
-                    nodeParent.setLayoutConstraint(node, nodeFigure, constraints);
+                    setNodeBounds(nodeParent, node, nodeFigure, constraints);
                 }
 
                 AbstractOutputConnectorEditPart nodeOPconector = null;
@@ -861,6 +969,22 @@ public class XYRepossition {
         }
     }
 
+    /**
+     * Moves a mediator, unless it is already at the given bounds.
+     */
+    private static void setNodeBounds(GraphicalEditPart nodeParent, EditPart node, IFigure nodeFigure,
+            Rectangle constraints) {
+        IFigure container = nodeFigure.getParent();
+        LayoutManager layoutManager = container != null ? container.getLayoutManager() : null;
+        if (nodeFigure.getBounds().equals(constraints) && layoutManager != null
+                && constraints.equals(layoutManager.getConstraint(nodeFigure))) {
+            return;
+        }
+        nodeFigure.setBounds(constraints);
+        nodeParent.setLayoutConstraint(node, nodeFigure, constraints);
+        changedConstraints++;
+    }
+
     private static ShapeNodeEditPart getLeftMostNodeFromEditPart(IGraphicalEditPart parent) {
         ShapeNodeEditPart first = null;
         if (parent instanceof MediatorFlowMediatorFlowCompartmentEditPart
@@ -37,7 +37,7 @@ import org.eclipse.jface.window.Window;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 import org.wso2.integrationstudio.esb.project.artifact.ESBArtifact;
-import org.wso2.integrationstudio.esb.project.artifact.ESBProjectArtifact;
+import org.wso2.integrationstudio.esb.project.artifact.ESBArtifactIndex;
 import org.wso2.integrationstudio.gmf.esb.EndPoint;
 import org.wso2.integrationstudio.gmf.esb.EsbPackage;
 import org.wso2.integrationstudio.gmf.esb.LocalEntry;
@@ -203,15 +203,12 @@ public class RegistryKeyPropertyEditor extends CustomDialogCellEditor {
                 String fileString = URI.decode(uri.path());
                 IFile file = ResourcesPlugin.getWorkspace().getRoot().getFile(new Path(fileString));
                 IProject project = file.getProject();
-                ESBProjectArtifact esbProjectArtifact = new ESBProjectArtifact();
 
                 try {
-                    esbProjectArtifact.fromFile(project.getFile("artifact.xml").getLocation().toFile());
-                    List<ESBArtifact> allArtifacts = esbProjectArtifact.getAllESBArtifacts();
-                    for (ESBArtifact artifact : allArtifacts) {
-                        if (artifact.getType().equals("synapse/local-entry")) {
-                            result.add(new NamedEntityDescriptor(artifact.getName(), NamedEntityType.LOCAL_ENTRY));
-                        }
+                    List<ESBArtifact> localEntries = ESBArtifactIndex.getInstance().getArtifacts(project,
+                            "synapse/local-entry");
+                    for (ESBArtifact artifact : localEntries) {
+                        result.add(new NamedEntityDescriptor(artifact.getName(), NamedEntityType.LOCAL_ENTRY));
                     }
                 } catch (Exception e) {
                     log.error(e);
@@ -15,9 +15,8 @@
  */
 package org.wso2.integrationstudio.gmf.esb.diagram.debugger;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.nio.channels.SocketChannel;
 
 import org.wso2.integrationstudio.gmf.esb.diagram.debugger.channel.dispatcher.ChannelEventDispatcher;
 import org.wso2.integrationstudio.gmf.esb.diagram.debugger.channel.dispatcher.ChannelResponseDispatcher;
@@ -34,8 +33,8 @@ import org.wso2.integrationstudio.gmf.esb.diagram.debugger.messages.util.Abstrac
 public interface IESBDebuggerInterface {
 
     /**
-     * This method sets {@link Socket} to communicate with ESB Server Debugger
-     * Command channel
+     * This method connects the {@link SocketChannel} to communicate with ESB
+     * Server Debugger Command channel
      * 
      * @param commandPort
      * @param hostName
@@ -45,24 +44,8 @@ public interface IESBDebuggerInterface {
     public void setRequestSocket(int commandPort, String hostName) throws IOException, InterruptedException;
 
     /**
-     * This method sets {@link PrintWriter} to send messages to ESB Server
-     * Debugger through Command channel
-     * 
-     * @throws IOException
-     */
-    public void setRequestWriter() throws IOException;
-
-    /**
-     * This method sets {@link BufferedReader} to read messages to ESB Server
-     * Debugger through Command channel
-     * 
-     * @throws IOException
-     */
-    public void setRequestReader() throws IOException;
-
-    /**
-     * This method sets {@link Socket} to communicate with ESB Server Debugger
-     * Event channel
+     * This method connects the {@link SocketChannel} to communicate with ESB
+     * Server Debugger Event channel
      * 
      * @param eventPort
      * @param hostName
@@ -71,14 +54,6 @@ public interface IESBDebuggerInterface {
      */
     public void setEventSocket(int eventPort, String hostName) throws IOException, InterruptedException;
 
-    /**
-     * This method sets {@link BufferedReader} to read messages to ESB Server
-     * Debugger through Event channel
-     * 
-     * @throws IOException
-     */
-    public void setEventReader() throws IOException;
-
     /**
      * This method set Response Dispatcher in {@link IESBDebuggerInterface} to
      * get response messages from ESB Server Debugger
@@ -140,11 +115,9 @@ public interface IESBDebuggerInterface {
      */
     public void sendChangePropertyCommand(PropertyChangeCommand propertyChangeCommand);
 
-    public PrintWriter getRequestWriter();
-
-    public BufferedReader getRequestReader();
+    public SocketChannel getRequestChannel();
 
-    public BufferedReader getEventReader();
+    public SocketChannel getEventChannel();
 
     public ChannelEventDispatcher getEventDispatcher();
 
@@ -0,0 +1,327 @@
+/*
+ * Copyright (c) 2015, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.integrationstudio.gmf.esb.diagram.debugger.channel;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import org.wso2.integrationstudio.gmf.esb.diagram.Activator;
+import org.wso2.integrationstudio.gmf.esb.diagram.debugger.channel.dispatcher.ChannelDispatcher;
+import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
+import org.wso2.integrationstudio.logging.core.Logger;
+
+/**
+ * This class reads the command and event channels of the ESB Server Debugger with non-blocking socket channels.
+ * <p>
+ * Both channels are read by a single thread through a {@link Selector}. Messages are framed by line ends as in the
+ * ESB Server Debugger protocol; each frame is decoded once it is complete, converted by the {@link ChannelDispatcher}
+ * of its channel on the reader thread and queued for dispatching. When the queue of a dispatcher is full, its channel
+ * is not read until the dispatcher resumes it, which leaves the pending data to the TCP flow control.
+ */
+public class DebuggerChannel implements Runnable {
+
+    private static final int CONNECT_TIMEOUT = 60000;
+    private static final int CONNECT_RETRY_INTERVAL = 100;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_FRAME_SIZE = 64 * 1024 * 1024;
+
+    private final SocketChannel commandChannel;
+    private final SocketChannel eventChannel;
+    private final Selector selector;
+
+    private final Object writeLock = new Object();
+    private Selector writeSelector;
+
+    private volatile Thread readerThread;
+    private int openChannels;
+
+    private static IIntegrationStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
+
+    public DebuggerChannel(SocketChannel commandChannel, ChannelDispatcher responseDispatcher,
+            SocketChannel eventChannel, ChannelDispatcher eventDispatcher) throws IOException {
+        this.commandChannel = commandChannel;
+        this.eventChannel = eventChannel;
+        this.selector = Selector.open();
+        register(commandChannel, responseDispatcher);
+        register(eventChannel, eventDispatcher);
+    }
+
+    /**
+     * This method connects to a channel of the ESB Server Debugger, retrying until the ESB Server opens the port.
+     *
+     * @param host
+     * @param port
+     * @return the connected channel
+     * @throws IOException if the port is not opened within the connect timeout
+     * @throws InterruptedException
+     */
+    public static SocketChannel connect(String host, int port) throws IOException, InterruptedException {
+        InetSocketAddress address = new InetSocketAddress(host, port);
+        long deadline = System.currentTimeMillis() + CONNECT_TIMEOUT;
+        while (true) {
+            try {
+                SocketChannel channel = SocketChannel.open(address);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                return channel;
+            } catch (IOException e) {
+                if (System.currentTimeMillis() >= deadline) {
+                    throw e;
+                }
+                // the ESB Server has not opened the port yet
+            }
+            Thread.sleep(CONNECT_RETRY_INTERVAL);
+        }
+    }
+
+    private void register(SocketChannel channel, ChannelDispatcher dispatcher) throws IOException {
+        channel.configureBlocking(false);
+        channel.register(selector, SelectionKey.OP_READ, new FrameReader(channel, dispatcher));
+        dispatcher.setChannel(this);
+        openChannels++;
+    }
+
+    /**
+     * This method sends a message to the ESB Server Debugger through the command channel.
+     *
+     * @param message message without the line end
+     * @throws IOException
+     */
+    public void send(String message) throws IOException {
+        ByteBuffer buffer = StandardCharsets.UTF_8.encode(message + "\n");
+        synchronized (writeLock) {
+            while (buffer.hasRemaining()) {
+                if (commandChannel.write(buffer) == 0) {
+                    if (writeSelector == null) {
+                        writeSelector = Selector.open();
+                        commandChannel.register(writeSelector, SelectionKey.OP_WRITE);
+                    }
+                    writeSelector.select();
+                    writeSelector.selectedKeys().clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * This method wakes up the reader to continue reading the channels of which the dispatchers have space again.
+     */
+    public void resume() {
+        selector.wakeup();
+    }
+
+    @Override
+    public void run() {
+        Thread currentThread = Thread.currentThread();
+        try {
+            while (currentThread == readerThread && openChannels > 0) {
+                selector.select();
+                for (SelectionKey key : selector.keys()) {
+                    FrameReader reader = (FrameReader) key.attachment();
+                    if (key.isValid() && reader.suspended) {
+                        reader.resume(key);
+                    }
+                }
+                Iterator<SelectionKey> selectedKeys = selector.selectedKeys().iterator();
+                while (selectedKeys.hasNext()) {
+                    SelectionKey key = selectedKeys.next();
+                    selectedKeys.remove();
+                    if (key.isValid() && key.isReadable()) {
+                        ((FrameReader) key.attachment()).read(key);
+                    }
+                }
+            }
+        } catch (ClosedSelectorException e) {
+            // closed while waiting for messages
+        } catch (IOException e) {
+            if (currentThread == readerThread) {
+                log.error("Error occured during reading message sent from ESB Server Debugger", e);
+            }
+        }
+    }
+
+    public void start() {
+        readerThread = new Thread(this, "ESB Debugger Channel Reader");
+        readerThread.setDaemon(true);
+        readerThread.start();
+    }
+
+    public void close() throws IOException {
+        readerThread = null;
+        selector.close();
+        synchronized (writeLock) {
+            if (writeSelector != null) {
+                writeSelector.close();
+            }
+        }
+        commandChannel.close();
+        eventChannel.close();
+    }
+
+    /**
+     * Splits the data read from a channel into frames and hands them over to the dispatcher of the channel.
+     */
+    private class FrameReader {
+
+        private final SocketChannel channel;
+        private final ChannelDispatcher dispatcher;
+
+        /**
+         * Data read from the channel. Between reads the buffer is ready for writing, while the reader is suspended it
+         * holds the data not yet framed ready for reading.
+         */
+        private final ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+
+        private byte[] frame = new byte[READ_BUFFER_SIZE];
+        private int frameLength;
+        private boolean discardFrame;
+
+        private Object pendingMessage;
+        private boolean endOfStream;
+        private boolean suspended;
+
+        FrameReader(SocketChannel channel, ChannelDispatcher dispatcher) {
+            this.channel = channel;
+            this.dispatcher = dispatcher;
+        }
+
+        void read(SelectionKey key) throws IOException {
+            try {
+                if (channel.read(buffer) == -1) {
+                    endOfStream = true;
+                }
+            } catch (IOException e) {
+                log.error("Error occured during reading message sent from ESB Server Debugger", e);
+                endOfStream = true;
+            }
+            buffer.flip();
+            deliver(key);
+        }
+
+        void resume(SelectionKey key) throws IOException {
+            suspended = false;
+            deliver(key);
+        }
+
+        private void deliver(SelectionKey key) throws IOException {
+            if (!deliverFrames()) {
+                suspended = true;
+                key.interestOps(0);
+                return;
+            }
+            buffer.clear();
+            if (endOfStream) {
+                key.cancel();
+                channel.close();
+                openChannels--;
+            } else {
+                key.interestOps(SelectionKey.OP_READ);
+            }
+        }
+
+        /**
+         * @return false if the dispatcher has no space for all the frames in the buffer
+         */
+        private boolean deliverFrames() {
+            if (pendingMessage != null) {
+                if (!dispatcher.offer(pendingMessage)) {
+                    return false;
+                }
+                pendingMessage = null;
+            }
+            byte[] data = buffer.array();
+            while (buffer.hasRemaining()) {
+                int start = buffer.position();
+                int end = start;
+                while (end < buffer.limit() && data[end] != '\n') {
+                    end++;
+                }
+                appendToFrame(data, start, end - start);
+                if (end == buffer.limit()) {
+                    buffer.position(end);
+                    break;
+                }
+                buffer.position(end + 1);
+                if (!deliverFrame()) {
+                    return false;
+                }
+            }
+            if (endOfStream) {
+                if (frameLength > 0 && !deliverFrame()) {
+                    return false;
+                }
+                return dispatcher.offerEndOfStream();
+            }
+            return true;
+        }
+
+        private boolean deliverFrame() {
+            String message = takeFrame();
+            if (message == null || message.isEmpty()) {
+                return true;
+            }
+            Object parsedMessage = dispatcher.parse(message);
+            if (parsedMessage != null && !dispatcher.offer(parsedMessage)) {
+                pendingMessage = parsedMessage;
+                return false;
+            }
+            return true;
+        }
+
+        private void appendToFrame(byte[] data, int offset, int length) {
+            if (discardFrame) {
+                return;
+            }
+            if (frameLength + length > MAX_FRAME_SIZE) {
+                log.warn("Discarding a message from ESB Server Debugger larger than " + MAX_FRAME_SIZE + " bytes");
+                discardFrame = true;
+                return;
+            }
+            if (frameLength + length > frame.length) {
+                frame = Arrays.copyOf(frame, Math.min(MAX_FRAME_SIZE, Math.max(frame.length * 2, frameLength + length)));
+            }
+            System.arraycopy(data, offset, frame, frameLength, length);
+            frameLength += length;
+        }
+
+        private String takeFrame() {
+            String message = null;
+            if (!discardFrame) {
+                int length = frameLength;
+                if (length > 0 && frame[length - 1] == '\r') {
+                    length--;
+                }
+                message = new String(frame, 0, length, StandardCharsets.UTF_8);
+            }
+            frameLength = 0;
+            discardFrame = false;
+            if (frame.length > READ_BUFFER_SIZE) {
+                // do not hold on to the buffer of a large wire log
+                frame = new byte[READ_BUFFER_SIZE];
+            }
+            return message;
+        }
+    }
+
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2015, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.integrationstudio.gmf.esb.diagram.debugger.channel.dispatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.wso2.integrationstudio.gmf.esb.diagram.Activator;
+import org.wso2.integrationstudio.gmf.esb.diagram.debugger.channel.DebuggerChannel;
+import org.wso2.integrationstudio.gmf.esb.diagram.debugger.impl.ESBDebuggerInterface;
+import org.wso2.integrationstudio.gmf.esb.diagram.debugger.messages.event.GeneralEventMessage;
+import org.wso2.integrationstudio.gmf.esb.diagram.debugger.messages.response.PropertyRespondMessage;
+import org.wso2.integrationstudio.gmf.esb.diagram.debugger.utils.EventMessageType;
+import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
+import org.wso2.integrationstudio.logging.core.Logger;
+
+/**
+ * This class dispatches the messages read from a {@link DebuggerChannel} to {@link ESBDebuggerInterface} in batches.
+ * <p>
+ * Messages are parsed by the channel reader and queued in a bounded queue. When the queue is full the channel stops
+ * reading from the socket until the dispatcher catches up, so a flood of messages from the ESB Server is throttled by
+ * the TCP flow control instead of being buffered in the IDE. Consecutive messages of a batch which would replace each
+ * other in the views are coalesced into the last one before they are dispatched.
+ */
+public abstract class ChannelDispatcher implements Runnable {
+
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final int MAX_BATCH_SIZE = 128;
+
+    private static final Object END_OF_STREAM = new Object();
+
+    protected final ESBDebuggerInterface esbDebuggerInterface;
+
+    private final BlockingQueue<Object> messages = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final String name;
+    private volatile DebuggerChannel channel;
+    private volatile boolean full;
+    private volatile Thread dispatcherThread;
+
+    private static IIntegrationStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
+
+    protected ChannelDispatcher(String name, ESBDebuggerInterface esbDebuggerInterface) {
+        this.name = name;
+        this.esbDebuggerInterface = esbDebuggerInterface;
+    }
+
+    /**
+     * This method converts a message read from the channel. It is called on the channel reader thread.
+     *
+     * @param message message read from the channel
+     * @return the converted message, or null if the message is invalid
+     */
+    public abstract Object parse(String message);
+
+    /**
+     * This method notifies {@link ESBDebuggerInterface} about a message converted by {@link #parse(String)}.
+     *
+     * @param message
+     */
+    protected abstract void dispatch(Object message);
+
+    /**
+     * This method notifies {@link ESBDebuggerInterface} that the ESB Server closed the channel.
+     */
+    protected abstract void dispatchEndOfStream();
+
+    /**
+     * Attach the channel to resume when the queue has space again.
+     *
+     * @param channel
+     */
+    public void setChannel(DebuggerChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Queue a message for dispatching, without blocking.
+     *
+     * @param message message converted by {@link #parse(String)}
+     * @return false if the queue is full, in which case the channel is resumed once there is space
+     */
+    public boolean offer(Object message) {
+        if (messages.offer(message)) {
+            return true;
+        }
+        full = true;
+        // the dispatcher may have drained the queue before it could see the flag
+        if (messages.offer(message)) {
+            full = false;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Queue the end of the channel for dispatching, without blocking.
+     *
+     * @return false if the queue is full, in which case the channel is resumed once there is space
+     */
+    public boolean offerEndOfStream() {
+        return offer(END_OF_STREAM);
+    }
+
+    @Override
+    public void run() {
+        Thread currentThread = Thread.currentThread();
+        List<Object> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        try {
+            while (currentThread == dispatcherThread) {
+                batch.add(messages.take());
+                messages.drainTo(batch, MAX_BATCH_SIZE - 1);
+                if (full) {
+                    full = false;
+                    DebuggerChannel currentChannel = channel;
+                    if (currentChannel != null) {
+                        currentChannel.resume();
+                    }
+                }
+                for (Object message : coalesce(batch)) {
+                    if (currentThread != dispatcherThread) {
+                        break;
+                    }
+                    if (message == END_OF_STREAM) {
+                        dispatchEndOfStream();
+                    } else {
+                        try {
+                            dispatch(message);
+                        } catch (RuntimeException e) {
+                            log.error("Error while dispatching message sent from ESB Server Debugger", e);
+                        }
+                    }
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            // stopped while waiting for messages
+        }
+    }
+
+    /**
+     * Drop the messages of a batch which are immediately followed by a message replacing them.
+     *
+     * @param batch messages in the order they were read
+     * @return messages to dispatch, in the same order
+     */
+    private static List<Object> coalesce(List<Object> batch) {
+        List<Object> coalesced = new ArrayList<>(batch.size());
+        for (Object message : batch) {
+            int last = coalesced.size() - 1;
+            if (last >= 0 && supersedes(message, coalesced.get(last))) {
+                coalesced.set(last, message);
+            } else {
+                coalesced.add(message);
+            }
+        }
+        return coalesced;
+    }
+
+    /**
+     * Wire log notifications only trigger a request for the wire logs, which is the same for all of them, and property
+     * responses replace all the properties of their scope.
+     */
+    private static boolean supersedes(Object message, Object previous) {
+        if (message instanceof GeneralEventMessage && previous instanceof GeneralEventMessage) {
+            return ((GeneralEventMessage) message).getEvent() == EventMessageType.WIRE_LOG
+                    && ((GeneralEventMessage) previous).getEvent() == EventMessageType.WIRE_LOG;
+        }
+        if (message instanceof PropertyRespondMessage && previous instanceof PropertyRespondMessage) {
+            String scope = ((PropertyRespondMessage) message).getScope();
+            return scope != null && scope.equals(((PropertyRespondMessage) previous).getScope());
+        }
+        return false;
+    }
+
+    public void start() {
+        dispatcherThread = new Thread(this, name);
+        dispatcherThread.setDaemon(true);
+        dispatcherThread.start();
+    }
+
+    public void stop() {
+        Thread currentThread = dispatcherThread;
+        dispatcherThread = null;
+        if (currentThread != null) {
+            currentThread.interrupt();
+        }
+        messages.clear();
+    }
+
+}
@@ -15,56 +15,37 @@
  */
 package org.wso2.integrationstudio.gmf.esb.diagram.debugger.channel.dispatcher;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-
-import org.wso2.integrationstudio.gmf.esb.diagram.Activator;
 import org.wso2.integrationstudio.gmf.esb.diagram.debugger.impl.ESBDebuggerInterface;
-import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
-import org.wso2.integrationstudio.logging.core.Logger;
+import org.wso2.integrationstudio.gmf.esb.diagram.debugger.messages.IEventMessage;
+import org.wso2.integrationstudio.gmf.esb.diagram.debugger.messages.IResponseMessage;
 
 /**
  * This class manages the event communication between {@link ESBDebugger} and {@link ESBDebuggerInterface}
  *
  */
-public class ChannelEventDispatcher implements Runnable {
-
-    private BufferedReader eventReader;
-    private ESBDebuggerInterface esbDebuggerInterface;
-    private volatile Thread eventDispatcherThread;
-    private static IIntegrationStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
+public class ChannelEventDispatcher extends ChannelDispatcher {
 
-    public ChannelEventDispatcher(BufferedReader eventReader, ESBDebuggerInterface esbDebuggerInterface) {
-        this.eventReader = eventReader;
-        this.esbDebuggerInterface = esbDebuggerInterface;
+    public ChannelEventDispatcher(ESBDebuggerInterface esbDebuggerInterface) {
+        super("ESB Debugger Event Dispatcher", esbDebuggerInterface);
     }
 
     @Override
-    public void run() {
-        Thread currentThread = Thread.currentThread();
-        try {
-            while (currentThread == eventDispatcherThread) {
-                String buffer = null;
-                synchronized (eventReader) {
-                    buffer = eventReader.readLine();
-                }
-                esbDebuggerInterface.notifyEvent(buffer);
-            }
-        } catch (IOException ex) {
-            log.error("Error occured during reading event message sent from ESB Server Debugger", ex);
-        }
+    public Object parse(String message) {
+        return esbDebuggerInterface.parseEvent(message);
     }
 
-    public void start() {
-        eventDispatcherThread = new Thread(this);
-        eventDispatcherThread.start();
+    @Override
+    protected void dispatch(Object message) {
+        if (message instanceof IResponseMessage) {
+            esbDebuggerInterface.notifyResponse((IResponseMessage) message);
+        } else {
+            esbDebuggerInterface.notifyEvent((IEventMessage) message);
+        }
     }
 
-    public void stop() {
-        eventDispatcherThread = null;
-        synchronized (this) {
-            notifyAll();
-        }
+    @Override
+    protected void dispatchEndOfStream() {
+        esbDebuggerInterface.notifyEndOfStream("ChannelEventDispatcher");
     }
 
 }
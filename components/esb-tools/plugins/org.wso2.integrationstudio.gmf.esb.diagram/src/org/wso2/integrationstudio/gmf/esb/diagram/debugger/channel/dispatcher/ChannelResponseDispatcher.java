@@ -15,56 +15,32 @@
  */
 package org.wso2.integrationstudio.gmf.esb.diagram.debugger.channel.dispatcher;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-
-import org.wso2.integrationstudio.gmf.esb.diagram.Activator;
 import org.wso2.integrationstudio.gmf.esb.diagram.debugger.impl.ESBDebuggerInterface;
-import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
-import org.wso2.integrationstudio.logging.core.Logger;
+import org.wso2.integrationstudio.gmf.esb.diagram.debugger.messages.IResponseMessage;
 
 /**
  * This class manages the responses communication between {@link ESBDebugger} and {@link ESBDebuggerInterface}
  *
  */
-public class ChannelResponseDispatcher implements Runnable {
-
-    private BufferedReader requestReader;
-    private ESBDebuggerInterface esbDebuggerInterface;
-    private volatile Thread responseDispatcherThread;
-
-    private static IIntegrationStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
+public class ChannelResponseDispatcher extends ChannelDispatcher {
 
-    public ChannelResponseDispatcher(BufferedReader requestReader, ESBDebuggerInterface esbDebuggerInterface) {
-        this.requestReader = requestReader;
-        this.esbDebuggerInterface = esbDebuggerInterface;
+    public ChannelResponseDispatcher(ESBDebuggerInterface esbDebuggerInterface) {
+        super("ESB Debugger Response Dispatcher", esbDebuggerInterface);
     }
 
     @Override
-    public void run() {
-        Thread currentThread = Thread.currentThread();
-        try {
-            while (currentThread == responseDispatcherThread) {
-                String buffer = null;
-                synchronized (requestReader) {
-                    buffer = requestReader.readLine();
-                }
-                esbDebuggerInterface.notifyResponce(buffer);
-            }
-        } catch (IOException ex) {
-            log.error("Error occured during reading response message sent from ESB Server Debugger", ex);
-        }
+    public Object parse(String message) {
+        return esbDebuggerInterface.parseResponse(message);
     }
 
-    public void start() {
-        responseDispatcherThread = new Thread(this);
-        responseDispatcherThread.start();
+    @Override
+    protected void dispatch(Object message) {
+        esbDebuggerInterface.notifyResponse((IResponseMessage) message);
     }
 
-    public void stop() {
-        responseDispatcherThread = null;
-        synchronized (this) {
-            notifyAll();
-        }
+    @Override
+    protected void dispatchEndOfStream() {
+        esbDebuggerInterface.notifyEndOfStream("ChannelResponseDispatcher");
     }
+
 }
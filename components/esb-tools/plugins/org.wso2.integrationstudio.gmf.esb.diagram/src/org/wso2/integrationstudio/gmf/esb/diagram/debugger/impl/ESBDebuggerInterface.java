@@ -15,20 +15,19 @@
  */
 package org.wso2.integrationstudio.gmf.esb.diagram.debugger.impl;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.PrintWriter;
-import java.net.Socket;
-import java.net.UnknownHostException;
+import java.nio.channels.SocketChannel;
 
 import org.wso2.integrationstudio.gmf.esb.diagram.Activator;
 import org.wso2.integrationstudio.gmf.esb.diagram.debugger.IESBDebugger;
 import org.wso2.integrationstudio.gmf.esb.diagram.debugger.IESBDebuggerInterface;
+import org.wso2.integrationstudio.gmf.esb.diagram.debugger.channel.DebuggerChannel;
 import org.wso2.integrationstudio.gmf.esb.diagram.debugger.channel.dispatcher.ChannelEventDispatcher;
 import org.wso2.integrationstudio.gmf.esb.diagram.debugger.channel.dispatcher.ChannelResponseDispatcher;
 import org.wso2.integrationstudio.gmf.esb.diagram.debugger.channel.messagefactory.ICommunicationMessageFactory;
 import org.wso2.integrationstudio.gmf.esb.diagram.debugger.channel.messagefactory.impl.JsonGsonMessageFactory;
+import org.wso2.integrationstudio.gmf.esb.diagram.debugger.messages.IEventMessage;
+import org.wso2.integrationstudio.gmf.esb.diagram.debugger.messages.IResponseMessage;
 import org.wso2.integrationstudio.gmf.esb.diagram.debugger.messages.command.CommandMessage;
 import org.wso2.integrationstudio.gmf.esb.diagram.debugger.messages.command.GetPropertyCommand;
 import org.wso2.integrationstudio.gmf.esb.diagram.debugger.messages.command.PropertyChangeCommand;
@@ -42,12 +41,9 @@ import org.wso2.integrationstudio.logging.core.Logger;
  */
 public class ESBDebuggerInterface implements IESBDebuggerInterface {
 
-    private Socket requestSocket;
-    private PrintWriter requestWriter;
-    private BufferedReader requestReader;
-
-    private Socket eventSocket;
-    private BufferedReader eventReader;
+    private SocketChannel requestChannel;
+    private SocketChannel eventChannel;
+    private DebuggerChannel debuggerChannel;
 
     private ChannelEventDispatcher eventDispatcher;
     private ChannelResponseDispatcher responseDispatcher;
@@ -55,6 +51,8 @@ public class ESBDebuggerInterface implements IESBDebuggerInterface {
     private ICommunicationMessageFactory messageFactory;
     private IESBDebugger esbDebugger;
 
+    private volatile boolean terminated;
+
     private static IIntegrationStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
 
     public ESBDebuggerInterface(int commandPort, int eventPort, String hostName) throws IOException, InterruptedException {
@@ -62,21 +60,20 @@ public class ESBDebuggerInterface implements IESBDebuggerInterface {
         log.info("Socket created for command channel : " + hostName + ":" + commandPort);
         setEventSocket(eventPort, hostName);
         log.info("Socket created for event channel : " + hostName + ":" + eventPort);
-        setEventReader();
-        setRequestReader();
-        setRequestWriter();
         intializeDispatchers();
     }
 
-    private void intializeDispatchers() {
-
-        eventDispatcher = new ChannelEventDispatcher(getEventReader(), this);
+    private void intializeDispatchers() throws IOException {
+        messageFactory = new JsonGsonMessageFactory();
+        eventDispatcher = new ChannelEventDispatcher(this);
+        responseDispatcher = new ChannelResponseDispatcher(this);
+        debuggerChannel = new DebuggerChannel(getRequestChannel(), responseDispatcher, getEventChannel(),
+                eventDispatcher);
         eventDispatcher.start();
         log.info("Event Dispatcher Started");
-        responseDispatcher = new ChannelResponseDispatcher(getRequestReader(), this);
         responseDispatcher.start();
         log.info("Response Dispatcher Started");
-        messageFactory = new JsonGsonMessageFactory();
+        debuggerChannel.start();
     }
 
     @Override
@@ -96,132 +93,141 @@ public class ESBDebuggerInterface implements IESBDebuggerInterface {
 
     @Override
     public void sendCommand(CommandMessage command) {
-        String commandString = messageFactory.createCommand(command);
-        requestWriter.println(commandString);
-        requestWriter.flush();
+        send(messageFactory.createCommand(command));
+    }
+
+    private void send(String message) {
+        try {
+            debuggerChannel.send(message);
+        } catch (IOException e) {
+            log.error("Error while sending command message to ESB Server Debugger : " + e.getMessage(), e);
+        }
     }
 
     /**
-     * This method notify ESB Debugger about the event message got from ESB
-     * Server
-     * 
+     * This method converts an event message got from ESB Server. Wire log
+     * messages sent through the event channel are converted as responses.
+     *
      * @param eventMessage
+     * @return {@link IEventMessage} or {@link IResponseMessage}, or null if
+     *         the message can not be converted
      */
-    public void notifyEvent(String eventMessage) {
+    public Object parseEvent(String eventMessage) {
         try {
-            if (eventMessage == null) {
-                log.info("NULL value read from ChannelResponceDispatcher.ESB Server shutting down.");
-                esbDebugger.fireTerminatedEvent();
-            } else if (messageFactory.checkForWirelogMessage(eventMessage)) {
-                esbDebugger.notifyResponse(messageFactory.convertResponseToIResponseMessage(eventMessage));
-            } else {
-                esbDebugger.notifyEvent(messageFactory.convertEventToIEventMessage(eventMessage));
+            if (messageFactory.checkForWirelogMessage(eventMessage)) {
+                return messageFactory.convertResponseToIResponseMessage(eventMessage);
             }
+            return messageFactory.convertEventToIEventMessage(eventMessage);
         } catch (Exception e) {
             log.error("Error while converting Event message from ESB Server to IEventMessage : " + e.getMessage(), e);
+            return null;
         }
     }
 
-    @Override
-    public void attachDebugger(IESBDebugger esbDebugger) {
-        this.esbDebugger = esbDebugger;
+    /**
+     * This method converts a response message got from ESB Server
+     *
+     * @param responseMessage
+     * @return {@link IResponseMessage}, or null if the message can not be
+     *         converted
+     */
+    public IResponseMessage parseResponse(String responseMessage) {
+        try {
+            return messageFactory.convertResponseToIResponseMessage(responseMessage);
+        } catch (Exception e) {
+            log.error("Error while converting Response message from ESB Server to IResponseMessage : " + e.getMessage(),
+                    e);
+            return null;
+        }
+    }
+
+    /**
+     * This method notify ESB Debugger about the event message got from ESB
+     * Server
+     *
+     * @param eventMessage
+     */
+    public void notifyEvent(IEventMessage eventMessage) {
+        esbDebugger.notifyEvent(eventMessage);
     }
 
     /**
      * This method notify ESB Debugger about the response message got from ESB
      * Server
-     * 
+     *
      * @param responseMessage
      */
-    public void notifyResponce(String responseMessage) {
+    public void notifyResponse(IResponseMessage responseMessage) {
+        esbDebugger.notifyResponse(responseMessage);
+    }
+
+    /**
+     * This method notify ESB Debugger that ESB Server closed a channel, which
+     * happens when the ESB Server is shutting down
+     *
+     * @param dispatcherName
+     */
+    public void notifyEndOfStream(String dispatcherName) {
+        if (terminated) {
+            return;
+        }
+        log.info("End of stream read from " + dispatcherName + ".ESB Server shutting down.");
         try {
-            if (responseMessage == null) {
-                log.info("NULL value read from ChannelEventDispatcher.ESB Server shutting down.");
-                esbDebugger.fireTerminatedEvent();
-            } else {
-                esbDebugger.notifyResponse(messageFactory.convertResponseToIResponseMessage(responseMessage));
-            }
+            esbDebugger.fireTerminatedEvent();
         } catch (Exception e) {
-            log.error("Error while converting Response message from ESB Server to IResponseMessage : " + e.getMessage(),
-                    e);
+            log.error("Error while terminating ESB Debugger : " + e.getMessage(), e);
         }
+    }
 
+    @Override
+    public void attachDebugger(IESBDebugger esbDebugger) {
+        this.esbDebugger = esbDebugger;
     }
 
     @Override
     public void sendGetPropertiesCommand(GetPropertyCommand getPropertyCommand) {
-        String getPropertyCommandString = messageFactory.createGetPropertiesCommand(getPropertyCommand);
-        requestWriter.println(getPropertyCommandString);
-        requestWriter.flush();
+        send(messageFactory.createGetPropertiesCommand(getPropertyCommand));
     }
 
     @Override
     public void sendBreakpointCommand(AbstractESBDebugPointMessage debugPoint) {
-        String breakpointCommandString = messageFactory.createBreakpointCommand(debugPoint);
-        requestWriter.println(breakpointCommandString);
-        requestWriter.flush();
+        send(messageFactory.createBreakpointCommand(debugPoint));
     }
 
     @Override
     public void sendChangePropertyCommand(PropertyChangeCommand propertyChangeCommand) {
-        String propertyChangeCommandString = messageFactory.createPropertyChangeCommand(propertyChangeCommand);
-        requestWriter.println(propertyChangeCommandString);
-        requestWriter.flush();
+        send(messageFactory.createPropertyChangeCommand(propertyChangeCommand));
     }
 
     @Override
     public void terminate() throws IOException {
+        terminated = true;
         eventDispatcher.stop();
         log.info("Event dispatcher stopped");
         responseDispatcher.stop();
         log.info("Response dispatcher stopped");
-        requestSocket.close();
-        log.info("Request socket closed");
-        eventSocket.close();
-        log.info("Event socket closed");
-        requestReader.close();
-        requestWriter.close();
-        eventReader.close();
+        debuggerChannel.close();
+        log.info("Request and event channels closed");
     }
 
     @Override
     public void setRequestSocket(int commandPort, String hostName) throws IOException, InterruptedException {
-        this.requestSocket = createSocketWithPolling(hostName, commandPort);
-    }
-
-    @Override
-    public void setRequestWriter() throws IOException {
-        this.requestWriter = new PrintWriter(requestSocket.getOutputStream());
-    }
-
-    @Override
-    public void setRequestReader() throws IOException {
-        this.requestReader = new BufferedReader(new InputStreamReader(requestSocket.getInputStream()));
+        this.requestChannel = DebuggerChannel.connect(hostName, commandPort);
     }
 
     @Override
     public void setEventSocket(int eventPort, String hostName) throws IOException, InterruptedException {
-        this.eventSocket = createSocketWithPolling(hostName, eventPort);
+        this.eventChannel = DebuggerChannel.connect(hostName, eventPort);
     }
 
     @Override
-    public void setEventReader() throws IOException {
-        this.eventReader = new BufferedReader(new InputStreamReader(eventSocket.getInputStream()));
+    public SocketChannel getRequestChannel() {
+        return requestChannel;
     }
 
     @Override
-    public PrintWriter getRequestWriter() {
-        return requestWriter;
-    }
-
-    @Override
-    public BufferedReader getRequestReader() {
-        return requestReader;
-    }
-
-    @Override
-    public BufferedReader getEventReader() {
-        return eventReader;
+    public SocketChannel getEventChannel() {
+        return eventChannel;
     }
 
     @Override
@@ -229,23 +235,4 @@ public class ESBDebuggerInterface implements IESBDebuggerInterface {
         return eventDispatcher;
     }
 
-	private Socket createSocketWithPolling(String host, int port)
-			throws UnknownHostException, IOException, InterruptedException {
-		int MAX_TIME = 60000;
-		int INTERVAL = 100;
-		int time = 0;
-		while (time < MAX_TIME) {
-			try {
-				Socket socket = new Socket(host, port);
-				return socket;
-			} catch (IOException ignored) {
-				// Ignoring the exception since we are polling till the port opens from the
-				// server-side
-			}
-			Thread.sleep(INTERVAL);
-			time = time + INTERVAL;
-		}
-		return new Socket(host, port);
-	}
-
 }
@@ -192,6 +192,7 @@ public class ESBStackFrame extends ESBDebugElement implements IStackFrame, Event
         String name = propertyRespondMessage.getScope();
         if (name.equalsIgnoreCase("wirelogs")) {
             wireLogs.clear();
+            WireLogStore wireLogStore = WireLogStore.getInstance();
             JsonArray wireLogsArray = propertyRespondMessage.getPropertyValues().getAsJsonArray();
             for (int i = 0; i < wireLogsArray.size(); i++) {
                 JsonObject wireLog = wireLogsArray.get(i).getAsJsonObject();
@@ -207,8 +208,8 @@ public class ESBStackFrame extends ESBDebugElement implements IStackFrame, Event
                 }
                 ESBWirelog esbWirelog = new ESBWirelog();
                 esbWirelog.setMediatorId(mediatorId);
-                esbWirelog.setRequestWireLog(requestWireLog);
-                esbWirelog.setResponseWireLog(responseWireLog);
+                esbWirelog.setRequestWireLog(wireLogStore.append(mediatorId, requestWireLog, true));
+                esbWirelog.setResponseWireLog(wireLogStore.append(mediatorId, responseWireLog, false));
                 wireLogs.put(mediatorId, esbWirelog);
             }
             return;
@@ -18,14 +18,15 @@ package org.wso2.integrationstudio.gmf.esb.diagram.debugger.model;
 import com.google.gson.JsonObject;
 
 /**
- * This class is the wire log object class witch holds wirelogs for a mediator id
+ * This class is the wire log object class witch holds wirelogs for a mediator id. The wire logs are kept in the
+ * {@link WireLogStore}
  *
  */
 public class ESBWirelog {
 
     private JsonObject mediatorId;
-    private String requestWireLog;
-    private String responseWireLog;
+    private WireLogSegment requestWireLog;
+    private WireLogSegment responseWireLog;
 
     public JsonObject getMediatorId() {
         return mediatorId;
@@ -35,19 +36,19 @@ public class ESBWirelog {
         this.mediatorId = mediatorId;
     }
 
-    public String getRequestWireLog() {
+    public WireLogSegment getRequestWireLog() {
         return requestWireLog;
     }
 
-    public void setRequestWireLog(String requestWireLog) {
+    public void setRequestWireLog(WireLogSegment requestWireLog) {
         this.requestWireLog = requestWireLog;
     }
 
-    public String getResponseWireLog() {
+    public WireLogSegment getResponseWireLog() {
         return responseWireLog;
     }
 
-    public void setResponseWireLog(String responseWireLog) {
+    public void setResponseWireLog(WireLogSegment responseWireLog) {
         this.responseWireLog = responseWireLog;
     }
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2015, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.integrationstudio.gmf.esb.diagram.debugger.model;
+
+import com.google.gson.JsonObject;
+
+/**
+ * This class refers to a request or response wire log of a mediator held in the {@link WireLogStore}. The text is
+ * read from the store on demand and is no longer available once the store has overwritten it.
+ *
+ */
+public class WireLogSegment {
+
+    private final WireLogStore store;
+    private final JsonObject mediatorId;
+    private final boolean request;
+    private final long start;
+    private final int length;
+    private final int hash;
+
+    WireLogSegment(WireLogStore store, JsonObject mediatorId, boolean request, long start, int length, int hash) {
+        this.store = store;
+        this.mediatorId = mediatorId;
+        this.request = request;
+        this.start = start;
+        this.length = length;
+        this.hash = hash;
+    }
+
+    public JsonObject getMediatorId() {
+        return mediatorId;
+    }
+
+    public boolean isRequest() {
+        return request;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    long getStart() {
+        return start;
+    }
+
+    int getHash() {
+        return hash;
+    }
+
+    public boolean isAvailable() {
+        return store.isAvailable(this);
+    }
+
+    /**
+     * Read a part of the wire log from the store
+     *
+     * @param offset offset in the wire log
+     * @param count number of characters to read
+     * @return the text, or null if the wire log has been overwritten
+     */
+    public String read(int offset, int count) {
+        return store.read(this, offset, count);
+    }
+}
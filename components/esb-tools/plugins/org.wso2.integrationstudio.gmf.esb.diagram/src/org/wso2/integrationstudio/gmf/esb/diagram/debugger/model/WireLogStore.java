@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2015, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.integrationstudio.gmf.esb.diagram.debugger.model;
+
+import static org.wso2.integrationstudio.gmf.esb.diagram.debugger.utils.ESBDebuggerConstants.WIRE_LOG_BUFFER_DEFAULT_SIZE;
+import static org.wso2.integrationstudio.gmf.esb.diagram.debugger.utils.ESBDebuggerConstants.WIRE_LOG_BUFFER_SIZE_PROPERTY;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
+import org.wso2.integrationstudio.gmf.esb.diagram.Activator;
+import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
+import org.wso2.integrationstudio.logging.core.Logger;
+
+import com.google.gson.JsonObject;
+
+/**
+ * This class holds the wire logs captured during debugging in a fixed size ring buffer outside the Java heap.
+ * <p>
+ * The buffer is a memory mapped temporary file, or a direct buffer if the file can not be mapped. Its size in MB can be
+ * set with the esb.debugger.wirelog.buffer.size system property. New wire logs overwrite the oldest ones once the
+ * buffer is full, so the {@link WireLogSegment}s referring to them become unavailable.
+ *
+ */
+public class WireLogStore {
+
+    private static final int MAX_BUFFER_SIZE = 1024;
+    private static final int SEARCH_CHUNK_SIZE = 64 * 1024;
+
+    private static WireLogStore instance;
+
+    private final CharBuffer buffer;
+    private final int capacity;
+    private long writePosition;
+
+    private final Deque<WireLogSegment> segments = new ArrayDeque<>();
+    private final Map<String, WireLogSegment> latestSegments = new HashMap<>();
+
+    private static IIntegrationStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
+
+    public static synchronized WireLogStore getInstance() {
+        if (instance == null) {
+            instance = new WireLogStore(getBufferSize());
+        }
+        return instance;
+    }
+
+    WireLogStore(int size) {
+        ByteBuffer bytes;
+        try {
+            bytes = map(size);
+        } catch (IOException e) {
+            log.warn("Could not map a file for the wire log buffer, holding wire logs in memory", e);
+            bytes = ByteBuffer.allocateDirect(size);
+        }
+        buffer = bytes.asCharBuffer();
+        capacity = buffer.capacity();
+    }
+
+    private static int getBufferSize() {
+        int size = Integer.getInteger(WIRE_LOG_BUFFER_SIZE_PROPERTY, WIRE_LOG_BUFFER_DEFAULT_SIZE);
+        if (size <= 0 || size > MAX_BUFFER_SIZE) {
+            log.warn("Invalid wire log buffer size " + size + "MB, using " + WIRE_LOG_BUFFER_DEFAULT_SIZE + "MB");
+            size = WIRE_LOG_BUFFER_DEFAULT_SIZE;
+        }
+        return size * 1024 * 1024;
+    }
+
+    private static ByteBuffer map(int size) throws IOException {
+        File file = File.createTempFile("esb-wirelogs", ".buf");
+        file.deleteOnExit();
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            // the mapping stays valid after the file is closed
+            return randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    /**
+     * Add a wire log of a mediator to the buffer. If the latest wire log of the mediator has the same content it is
+     * reused, since the ESB Server sends all the wire logs of the message on every wire log event.
+     *
+     * @param mediatorId
+     * @param wireLog
+     * @param request whether this is the request or the response wire log
+     * @return segment referring to the wire log
+     */
+    public synchronized WireLogSegment append(JsonObject mediatorId, String wireLog, boolean request) {
+        String key = (request ? "request:" : "response:") + mediatorId;
+        // keep the end of a wire log larger than the buffer
+        int offset = Math.max(0, wireLog.length() - capacity);
+        int length = wireLog.length() - offset;
+        int hash = wireLog.hashCode();
+
+        WireLogSegment latest = latestSegments.get(key);
+        if (latest != null && latest.getLength() == length && latest.getHash() == hash && isAvailable(latest)
+                && contentEquals(latest, wireLog, offset)) {
+            return latest;
+        }
+
+        long start = writePosition;
+        CharBuffer target = buffer.duplicate();
+        int position = (int) (start % capacity);
+        int first = Math.min(length, capacity - position);
+        target.position(position);
+        target.put(wireLog, offset, offset + first);
+        if (first < length) {
+            target.position(0);
+            target.put(wireLog, offset + first, offset + length);
+        }
+        writePosition += length;
+
+        WireLogSegment segment = new WireLogSegment(this, mediatorId, request, start, length, hash);
+        segments.addLast(segment);
+        latestSegments.put(key, segment);
+        while (!segments.isEmpty() && !isAvailable(segments.peekFirst())) {
+            WireLogSegment evicted = segments.removeFirst();
+            latestSegments.values().remove(evicted);
+        }
+        return segment;
+    }
+
+    /**
+     * Compare the content of an available segment with a wire log, starting at the given offset of the wire log
+     */
+    private boolean contentEquals(WireLogSegment segment, String wireLog, int offset) {
+        CharBuffer source = buffer.duplicate();
+        int position = (int) (segment.getStart() % capacity);
+        source.position(position);
+        for (int i = 0; i < segment.getLength(); i++) {
+            if (!source.hasRemaining()) {
+                source.position(0);
+            }
+            if (source.get() != wireLog.charAt(offset + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    synchronized boolean isAvailable(WireLogSegment segment) {
+        return segment.getStart() >= writePosition - capacity;
+    }
+
+    synchronized String read(WireLogSegment segment, int offset, int count) {
+        if (!isAvailable(segment)) {
+            return null;
+        }
+        char[] chars = new char[count];
+        CharBuffer source = buffer.duplicate();
+        int position = (int) ((segment.getStart() + offset) % capacity);
+        int first = Math.min(count, capacity - position);
+        source.position(position);
+        source.get(chars, 0, first);
+        if (first < count) {
+            source.position(0);
+            source.get(chars, first, count - first);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * @return the wire logs still held in the buffer, oldest first
+     */
+    public synchronized List<WireLogSegment> getSegments() {
+        return new ArrayList<>(segments);
+    }
+
+    /**
+     * Search the wire logs held in the buffer. The buffer is read in chunks so that wire logs can be captured while
+     * searching; matches in wire logs overwritten during the search are dropped.
+     *
+     * @param text text to search for
+     * @param monitor
+     * @return matches in the order the wire logs were captured
+     */
+    public List<Match> search(String text, IProgressMonitor monitor) {
+        if (text.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<WireLogSegment> history = getSegments();
+        SubMonitor progress = SubMonitor.convert(monitor, history.size());
+        List<Match> matches = new ArrayList<>();
+        for (WireLogSegment segment : history) {
+            if (progress.isCanceled()) {
+                break;
+            }
+            List<Match> segmentMatches = new ArrayList<>();
+            for (int offset = 0; offset < segment.getLength(); offset += SEARCH_CHUNK_SIZE) {
+                // overlap the chunks so that matches across chunk borders are found
+                int count = Math.min(SEARCH_CHUNK_SIZE + text.length() - 1, segment.getLength() - offset);
+                String chunk = read(segment, offset, count);
+                if (chunk == null) {
+                    segmentMatches.clear();
+                    break;
+                }
+                int index = chunk.indexOf(text);
+                while (index >= 0 && index < SEARCH_CHUNK_SIZE) {
+                    segmentMatches.add(new Match(segment, offset + index));
+                    index = chunk.indexOf(text, index + 1);
+                }
+            }
+            matches.addAll(segmentMatches);
+            progress.worked(1);
+        }
+        return matches;
+    }
+
+    /**
+     * A match found by {@link WireLogStore#search(String, IProgressMonitor)}
+     */
+    public static class Match {
+
+        private final WireLogSegment segment;
+        private final int offset;
+
+        Match(WireLogSegment segment, int offset) {
+            this.segment = segment;
+            this.offset = offset;
+        }
+
+        public WireLogSegment getSegment() {
+            return segment;
+        }
+
+        public int getOffset() {
+            return offset;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2015, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.integrationstudio.gmf.esb.diagram.debugger.ui.views;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.custom.StyledTextContent;
+import org.eclipse.swt.custom.TextChangeListener;
+import org.wso2.integrationstudio.gmf.esb.diagram.debugger.model.WireLogSegment;
+
+/**
+ * This class is a read only {@link StyledTextContent} which reads a wire log from the wire log store only for the
+ * lines the {@link StyledText} renders. Only the line offsets are kept on the heap.
+ *
+ */
+public class WireLogContent implements StyledTextContent {
+
+    private static final String LINE_DELIMITER = "\n";
+    private static final int SCAN_CHUNK_SIZE = 64 * 1024;
+
+    private final WireLogSegment segment;
+    private final String text;
+    private final int charCount;
+    private int[] lineOffsets;
+    private int lineCount;
+
+    private final List<TextChangeListener> listeners = new ArrayList<>();
+
+    /**
+     * @param segment wire log to show
+     * @param unavailableText text to show if the wire log is no longer held in the store
+     */
+    public WireLogContent(WireLogSegment segment, String unavailableText) {
+        if (segment != null && segment.isAvailable()) {
+            this.segment = segment;
+            this.text = null;
+            this.charCount = segment.getLength();
+        } else {
+            this.segment = null;
+            this.text = segment == null ? "" : unavailableText;
+            this.charCount = text.length();
+        }
+        indexLines();
+    }
+
+    public WireLogSegment getSegment() {
+        return segment;
+    }
+
+    private void indexLines() {
+        lineOffsets = new int[16];
+        lineCount = 1;
+        boolean carriageReturn = false;
+        for (int offset = 0; offset < charCount; offset += SCAN_CHUNK_SIZE) {
+            String chunk = read(offset, Math.min(SCAN_CHUNK_SIZE, charCount - offset));
+            for (int i = 0; i < chunk.length(); i++) {
+                char c = chunk.charAt(i);
+                if (c == '\n') {
+                    addLine(offset + i + 1);
+                } else if (carriageReturn) {
+                    // a lone carriage return ends the line before this character
+                    addLine(offset + i);
+                }
+                carriageReturn = c == '\r';
+            }
+        }
+        if (carriageReturn) {
+            addLine(charCount);
+        }
+    }
+
+    private void addLine(int offset) {
+        if (lineCount == lineOffsets.length) {
+            lineOffsets = Arrays.copyOf(lineOffsets, lineCount * 2);
+        }
+        lineOffsets[lineCount++] = offset;
+    }
+
+    /**
+     * Read from the wire log, filling with blanks if the store has overwritten it since it was shown
+     */
+    private String read(int start, int length) {
+        if (segment == null) {
+            return text.substring(start, start + length);
+        }
+        String range = segment.read(start, length);
+        if (range == null) {
+            char[] blank = new char[length];
+            Arrays.fill(blank, ' ');
+            return new String(blank);
+        }
+        return range;
+    }
+
+    @Override
+    public void addTextChangeListener(TextChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeTextChangeListener(TextChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public int getCharCount() {
+        return charCount;
+    }
+
+    @Override
+    public String getLine(int lineIndex) {
+        int start = lineOffsets[lineIndex];
+        int end = lineIndex + 1 < lineCount ? lineOffsets[lineIndex + 1] : charCount;
+        String line = read(start, end - start);
+        int length = line.length();
+        if (length > 0 && line.charAt(length - 1) == '\n') {
+            length--;
+        }
+        if (length > 0 && line.charAt(length - 1) == '\r') {
+            length--;
+        }
+        return line.substring(0, length);
+    }
+
+    @Override
+    public int getLineAtOffset(int offset) {
+        int index = Arrays.binarySearch(lineOffsets, 0, lineCount, offset);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    @Override
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    @Override
+    public String getLineDelimiter() {
+        return LINE_DELIMITER;
+    }
+
+    @Override
+    public int getOffsetAtLine(int lineIndex) {
+        return lineOffsets[lineIndex];
+    }
+
+    @Override
+    public String getTextRange(int start, int length) {
+        return read(start, length);
+    }
+
+    @Override
+    public void replaceTextRange(int start, int replaceLength, String text) {
+        // wire logs are read only
+    }
+
+    @Override
+    public void setText(String text) {
+        // wire logs are read only
+    }
+}
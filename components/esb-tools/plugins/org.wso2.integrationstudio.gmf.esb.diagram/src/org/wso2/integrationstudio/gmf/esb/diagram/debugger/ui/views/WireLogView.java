@@ -15,20 +15,36 @@
  */
 package org.wso2.integrationstudio.gmf.esb.diagram.debugger.ui.views;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.events.SelectionAdapter;
+import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.layout.GridLayout;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Text;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.part.ViewPart;
 import org.wso2.integrationstudio.gmf.esb.diagram.debugger.model.ESBWirelog;
+import org.wso2.integrationstudio.gmf.esb.diagram.debugger.model.WireLogSegment;
+import org.wso2.integrationstudio.gmf.esb.diagram.debugger.model.WireLogStore;
+
+import com.google.gson.JsonObject;
 
 /**
- * This class is the wirelog viewpart class
+ * This class is the wirelog viewpart class. The wire logs are rendered through {@link WireLogContent}, so only the
+ * visible lines are read from the {@link WireLogStore}.
  *
  */
 public class WireLogView extends ViewPart implements ContentAcceptHandler {
@@ -36,6 +52,11 @@ public class WireLogView extends ViewPart implements ContentAcceptHandler {
     private StyledText requestWireLogText;
     private StyledText responseWireLogText;
     private Color tableEvenIndexColor;
+    private Text searchText;
+    private Label searchResultLabel;
+    private final WireLogSearchJob searchJob = new WireLogSearchJob();
+
+    private static final String UNAVAILABLE_WIRE_LOG = "Wire log is no longer available, increase the wire log buffer size to keep more wire logs";
 
     @Override
     public void createPartControl(Composite parent) {
@@ -48,6 +69,30 @@ public class WireLogView extends ViewPart implements ContentAcceptHandler {
         data.horizontalSpan = 2;
         wireLogArea.setLayoutData(data);
 
+        // search the wire logs captured during the debug session
+        Composite compositeSearch = new Composite(wireLogArea, SWT.NONE);
+        GridData gridDataSearch = new GridData(SWT.FILL, SWT.TOP, true, false);
+        gridDataSearch.horizontalSpan = 2;
+        compositeSearch.setLayoutData(gridDataSearch);
+        compositeSearch.setLayout(new GridLayout(3, false));
+
+        Label searchLabel = new Label(compositeSearch, SWT.NONE);
+        searchLabel.setText("Search Wire Logs");
+
+        searchText = new Text(compositeSearch, SWT.BORDER | SWT.SEARCH | SWT.ICON_SEARCH);
+        searchText.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false));
+        searchText.addSelectionListener(new SelectionAdapter() {
+            @Override
+            public void widgetDefaultSelected(SelectionEvent e) {
+                searchJob.cancel();
+                searchJob.setSearchText(searchText.getText());
+                searchJob.schedule();
+            }
+        });
+
+        searchResultLabel = new Label(compositeSearch, SWT.NONE);
+        searchResultLabel.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false));
+
         // create a composite which holds request wire log label and request wirelogs
         Composite compositeRequet = new Composite(wireLogArea, SWT.BORDER);
         GridData gridDataReq = new GridData(SWT.FILL, SWT.FILL, true, true);
@@ -63,6 +108,7 @@ public class WireLogView extends ViewPart implements ContentAcceptHandler {
                 SWT.BORDER | SWT.H_SCROLL | SWT.V_SCROLL | SWT.MULTI | SWT.READ_ONLY);
         requestWireLogText.setLayoutData(gridDataReq);
         requestWireLogText.setBackground(tableEvenIndexColor);
+        requestWireLogText.setContent(new WireLogContent(null, null));
 
         // composite which holds response wirelog label and response wire logs
         Composite compositeResponse = new Composite(wireLogArea, SWT.BORDER);
@@ -79,6 +125,7 @@ public class WireLogView extends ViewPart implements ContentAcceptHandler {
                 SWT.BORDER | SWT.H_SCROLL | SWT.V_SCROLL | SWT.MULTI | SWT.READ_ONLY);
         responseWireLogText.setLayoutData(gridDataRes);
         responseWireLogText.setBackground(tableEvenIndexColor);
+        responseWireLogText.setContent(new WireLogContent(null, null));
     }
 
     @Override
@@ -87,6 +134,8 @@ public class WireLogView extends ViewPart implements ContentAcceptHandler {
 
     @Override
     public void dispose() {
+        searchJob.cancel();
+        super.dispose();
     }
 
     @Override
@@ -100,22 +149,80 @@ public class WireLogView extends ViewPart implements ContentAcceptHandler {
      * @param content
      */
     private void setRequestResponseWireLogs(Object content) {
-        this.requestWireLogText.setText("");
-        this.requestWireLogText.update();
-        this.responseWireLogText.setText("");
-        this.responseWireLogText.update();
-        if (content == null) {
+        WireLogSegment requestWireLog = null;
+        WireLogSegment responseWireLog = null;
+        if (content instanceof ESBWirelog) {
+            ESBWirelog esbWireLog = (ESBWirelog) content;
+            requestWireLog = esbWireLog.getRequestWireLog();
+            responseWireLog = esbWireLog.getResponseWireLog();
+        }
+        this.requestWireLogText.setContent(new WireLogContent(requestWireLog, UNAVAILABLE_WIRE_LOG));
+        this.responseWireLogText.setContent(new WireLogContent(responseWireLog, UNAVAILABLE_WIRE_LOG));
+    }
+
+    /**
+     * Helper method to show the result of a wire log search and select the first match in the shown wire logs
+     * 
+     * @param text
+     * @param matches
+     */
+    private void showSearchResult(String text, List<WireLogStore.Match> matches) {
+        if (searchResultLabel.isDisposed()) {
             return;
         }
+        Set<JsonObject> mediators = new HashSet<>();
+        for (WireLogStore.Match match : matches) {
+            mediators.add(match.getSegment().getMediatorId());
+        }
+        searchResultLabel.setText(matches.size() + " matches in wire logs of " + mediators.size() + " mediators");
+        searchResultLabel.getParent().layout();
+        for (WireLogStore.Match match : matches) {
+            if (selectMatch(requestWireLogText, match, text) || selectMatch(responseWireLogText, match, text)) {
+                break;
+            }
+        }
+    }
 
-        if (content instanceof ESBWirelog) {
-            ESBWirelog esbWireLog = (ESBWirelog) content;
-            this.requestWireLogText.setText(esbWireLog.getRequestWireLog());
-            this.requestWireLogText.update();
+    private boolean selectMatch(StyledText wireLogText, WireLogStore.Match match, String text) {
+        WireLogSegment shownWireLog = ((WireLogContent) wireLogText.getContent()).getSegment();
+        if (shownWireLog != match.getSegment()) {
+            return false;
+        }
+        wireLogText.setSelectionRange(match.getOffset(), text.length());
+        wireLogText.showSelection();
+        return true;
+    }
+
+    /**
+     * This job searches the wire log store in the background and shows the result in the view
+     */
+    private class WireLogSearchJob extends Job {
+
+        private volatile String searchText;
 
-            this.responseWireLogText.setText(esbWireLog.getResponseWireLog());
-            this.responseWireLogText.update();
+        WireLogSearchJob() {
+            super("Searching wire logs");
+            setSystem(true);
         }
 
+        void setSearchText(String searchText) {
+            this.searchText = searchText;
+        }
+
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+            final String text = searchText;
+            final List<WireLogStore.Match> matches = WireLogStore.getInstance().search(text, monitor);
+            if (monitor.isCanceled()) {
+                return Status.CANCEL_STATUS;
+            }
+            PlatformUI.getWorkbench().getDisplay().asyncExec(new Runnable() {
+                @Override
+                public void run() {
+                    showSearchResult(text, matches);
+                }
+            });
+            return Status.OK_STATUS;
+        }
     }
 }
@@ -205,6 +205,9 @@ public class ESBDebuggerConstants {
     public static final String MESSAGE_ENVELOPE_VIEW_SECONDARY_ID = "org.wso2.integrationstudio.gmf.esb.diagram.debugger.envelope.view.secondary";
     public static final String WIRE_LOG_VIEW_PRIMARY_ID = "org.wso2.integrationstudio.gmf.esb.diagram.debugger.wirelog.view";
     public static final String WIRE_LOG_VIEW_SECONDARY_ID = "org.wso2.integrationstudio.gmf.esb.diagram.debugger.wirelog.secondary";
+    /** System property to override the size in MB of the buffer holding captured wire logs */
+    public static final String WIRE_LOG_BUFFER_SIZE_PROPERTY = "esb.debugger.wirelog.buffer.size";
+    public static final int WIRE_LOG_BUFFER_DEFAULT_SIZE = 64;
 
 	public static final String DEBUG_PROFILE_INTERNAL_RUNNING_MODE = "Internal";
 	public static final String DEBUG_PROFILE_REMOTE_RUNNING_MODE = "Remote";
@@ -134,6 +134,7 @@ import org.wso2.integrationstudio.gmf.esb.diagram.debugger.utils.ESBDebuggerUtil
 import org.wso2.integrationstudio.gmf.esb.diagram.edit.parts.SequenceEditPart;
 import org.wso2.integrationstudio.gmf.esb.diagram.swagger.EsbSwaggerEditor;
 import org.wso2.integrationstudio.gmf.esb.diagram.validator.ProcessSourceView;
+import org.wso2.integrationstudio.gmf.esb.diagram.validator.SourceValidationJob;
 import org.wso2.integrationstudio.gmf.esb.diagram.validator.SourceError;
 import org.wso2.integrationstudio.gmf.esb.diagram.validator.ValidationException;
 import org.wso2.integrationstudio.gmf.esb.persistence.EsbModelTransformer;
@@ -230,8 +231,9 @@ public class EsbMultiPageEditor extends MultiPageEditorPart implements IGotoMark
     boolean isFormEditor;
 
     private IFile file;
-    private static final List<IFile> files = new ArrayList<>();
-    private static final List<IFile> artifactXMLFiles = new ArrayList<>();
+    private final List<IFile> files = new ArrayList<>();
+    private final List<IFile> artifactXMLFiles = new ArrayList<>();
+    private SourceValidationJob sourceValidationJob;
     private static String swaggerSource;
     private static int lastActivePage = 0;
 
@@ -428,8 +430,33 @@ public class EsbMultiPageEditor extends MultiPageEditorPart implements IGotoMark
                 public void documentChanged(final DocumentEvent event) {
                     sourceDirty = true;
                     firePropertyChange(PROP_DIRTY);
+                    if (getActivePage() == SOURCE_VIEW_PAGE_INDEX && isSourceValidationEnabled()) {
+                        sourceValidationJob.validate(sourceEditor.getDocument().get());
+                    }
                 }
             });
+            sourceValidationJob = new SourceValidationJob() {
+
+                @Override
+                protected void validationCompleted(final String source, final SourceError sourceError) {
+                    Display.getDefault().asyncExec(new Runnable() {
+
+                        @Override
+                        public void run() {
+                            // discard results of content which has been changed or closed in the meantime
+                            if (sourceEditor == null || sourceEditor.getDocument() == null
+                                    || !source.equals(sourceEditor.getDocument().get())) {
+                                return;
+                            }
+                            deleteSourceMarkers();
+                            if (sourceError != null) {
+                                addMarker(sourceError);
+                                sourceDirty = true;
+                            }
+                        }
+                    });
+                }
+            };
 
         } catch (Exception e) {
             log.error("Error while initializing source viewer control.", e);
@@ -788,12 +815,7 @@ public class EsbMultiPageEditor extends MultiPageEditorPart implements IGotoMark
 								deleteMarkers();
 								updateSequenceDetails();
 								handleSourceViewActivatedEvent();
-								String source = sourceEditor.getDocument().get();
-								SourceError tempError = ProcessSourceView.validateSynapseContent(source);
-								if (tempError != null) {
-									addMarker(tempError);
-									sourceDirty = true;
-								}
+								sourceValidationJob.validateNow(sourceEditor.getDocument().get());
 							}
 						} catch (NumberFormatException nfe) {
 							log.error("Cannot update source view", nfe);
@@ -1503,15 +1525,7 @@ public class EsbMultiPageEditor extends MultiPageEditorPart implements IGotoMark
     }
 
     private void deleteMarkers() {
-        // remove markers from temporary xml files
-        try {
-            for (IFile iFile : files) {
-                iFile.deleteMarkers(CONFIG_ERROR, false, 1);
-            }
-        } catch (Exception e) {
-            // ignore
-        }
-        files.clear();
+        deleteSourceMarkers();
 
         // remove markers from artifact xml iFiles
         try {
@@ -1524,6 +1538,24 @@ public class EsbMultiPageEditor extends MultiPageEditorPart implements IGotoMark
         artifactXMLFiles.clear();
     }
 
+    private void deleteSourceMarkers() {
+        // remove markers from temporary xml files
+        try {
+            for (IFile iFile : files) {
+                iFile.deleteMarkers(CONFIG_ERROR, false, 1);
+            }
+        } catch (Exception e) {
+            // ignore
+        }
+        files.clear();
+    }
+
+    private boolean isSourceValidationEnabled() {
+        return sourceValidationJob != null && !isFormEditor && currArtifactType != null
+                && !currArtifactType.toString().equals(MOCK_SERVICE)
+                && !currArtifactType.toString().equals(SYNAPSE_UNIT_TEST);
+    }
+
     private void addMarker(SourceError sourceError) {
         try {
             if (sourceError != null) {
@@ -1547,6 +1579,14 @@ public class EsbMultiPageEditor extends MultiPageEditorPart implements IGotoMark
         }
     }
 
+    @Override
+    public void dispose() {
+        if (sourceValidationJob != null) {
+            sourceValidationJob.cancel();
+        }
+        super.dispose();
+    }
+
     public boolean isDirty() {
         if (getEditor(0) instanceof EsbDiagramEditor) {
             return getEditor(0).isDirty() || sourceDirty;
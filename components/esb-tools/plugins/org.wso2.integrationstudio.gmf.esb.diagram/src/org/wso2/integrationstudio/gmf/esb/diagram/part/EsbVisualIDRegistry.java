@@ -1,7 +1,11 @@
 package org.wso2.integrationstudio.gmf.esb.diagram.part;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.emf.ecore.EAnnotation;
+import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.gmf.runtime.notation.Diagram;
 import org.eclipse.gmf.runtime.notation.View;
@@ -90,7 +94,14 @@ public class EsbVisualIDRegistry {
     }
 
     /**
-     * @generated
+     * Visual IDs of node children resolved so far, per domain element class and container visual ID.
+     * 
+     * @generated NOT
+     */
+    private static final ConcurrentMap<EClass, ConcurrentMap<Integer, Integer>> nodeVisualIDs = new ConcurrentHashMap<>();
+
+    /**
+     * @generated NOT
      */
     public static int getNodeVisualID(View containerView, EObject domainElement) {
         if (domainElement == null) {
@@ -112,6 +123,38 @@ public class EsbVisualIDRegistry {
                 return -1;
             }
         }
+        return getNodeVisualID(containerVisualID, domainElement);
+    }
+
+    /**
+     * Returns the visual ID of the node created for the given domain element inside a container of the given visual
+     * ID. The type checks below only depend on the class of the domain element, hence the resolved visual ID is
+     * cached per (class, container visual ID) and the checks are run once per pair.
+     * 
+     * @generated NOT
+     */
+    private static int getNodeVisualID(int containerVisualID, EObject domainElement) {
+        EClass eClass = domainElement.eClass();
+        ConcurrentMap<Integer, Integer> visualIDs = nodeVisualIDs.get(eClass);
+        if (visualIDs == null) {
+            ConcurrentMap<Integer, Integer> newVisualIDs = new ConcurrentHashMap<>();
+            visualIDs = nodeVisualIDs.putIfAbsent(eClass, newVisualIDs);
+            if (visualIDs == null) {
+                visualIDs = newVisualIDs;
+            }
+        }
+        Integer visualID = visualIDs.get(containerVisualID);
+        if (visualID == null) {
+            visualID = resolveNodeVisualID(containerVisualID, domainElement);
+            visualIDs.put(containerVisualID, visualID);
+        }
+        return visualID;
+    }
+
+    /**
+     * @generated
+     */
+    private static int resolveNodeVisualID(int containerVisualID, EObject domainElement) {
         switch (containerVisualID) {
         case EsbDiagramEditPart.VISUAL_ID:
             if (EsbPackage.eINSTANCE.getEsbServer().isSuperTypeOf(domainElement.eClass())) {
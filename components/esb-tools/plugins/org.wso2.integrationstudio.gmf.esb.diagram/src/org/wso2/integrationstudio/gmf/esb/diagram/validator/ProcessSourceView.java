@@ -47,6 +47,8 @@ import org.apache.synapse.config.xml.SequenceMediatorFactory;
 import org.apache.synapse.config.xml.TemplateMediatorFactory;
 import org.apache.synapse.config.xml.endpoints.EndpointFactory;
 import org.apache.synapse.task.SynapseTaskException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.wso2.carbon.mediator.service.MediatorException;
 import org.wso2.integrationstudio.gmf.esb.diagram.custom.deserializer.DummyAPIFactory;
 import org.wso2.integrationstudio.gmf.esb.diagram.custom.deserializer.DummyInboundEndpointFactory;
@@ -80,9 +82,6 @@ public class ProcessSourceView {
     private static final String START_COMMENT = "<!--";
     private static final String END_COMMENT = "-->";
     
-    private static SourceError sourceError = new SourceError();
-    private static Stack<XMLTag> xmlTags;
-    private static Queue<XMLTag> xmlTagsQueue = new LinkedList<>();
     private static Set<String> mediators = new HashSet<>(Arrays.asList("log", "call", "enqueue", "send", "loopback",
             "respond", "event", "drop", "enrich", "property", "filter", "call-template", "sequence", "store", "switch",
             "validate", "conditionalRouter", "bean", "class", "pojoCommand", "ejb", "script", "spring", "enrich",
@@ -118,11 +117,27 @@ public class ProcessSourceView {
     private static Set<String> dbMediatorImtermediary = new HashSet<>(Arrays.asList("driver", "url", "user", "password",
             "connection", "statement", "pool", "sql", "result"));
     
-    private static SequenceMediatorFactory sequenceMediatorFactory;
-    private static TemplateMediatorFactory templateMediatorFactory;
+    /*
+     * Validation state is kept per instance so that the background validation of one editor never observes the
+     * tags or errors of a validation running for another editor.
+     */
+    private SourceError sourceError = new SourceError();
+    private Stack<XMLTag> xmlTags;
+    private Queue<XMLTag> xmlTagsQueue = new LinkedList<>();
+    private SequenceMediatorFactory sequenceMediatorFactory;
+    private TemplateMediatorFactory templateMediatorFactory;
+    private IProgressMonitor monitor;
 
     public ProcessSourceView() {
+        this(null);
+    }
 
+    /**
+     * @param monitor
+     *            progress monitor which is checked for cancellation between the processed lines and tags, can be null
+     */
+    public ProcessSourceView(IProgressMonitor monitor) {
+        this.monitor = monitor;
     }
 
     /**
@@ -134,6 +149,19 @@ public class ProcessSourceView {
      * @return If there is an source view error
      */
     public static SourceError validateSynapseContent(String xmlContent) {
+        return new ProcessSourceView().processSynapseContent(xmlContent);
+    }
+
+    /**
+     * Validate the synapse content using the state of this instance.
+     * 
+     * @param xmlContent
+     *            xml content of the source view
+     * @return If there is an source view error
+     * @throws OperationCanceledException
+     *             if the progress monitor of this instance is canceled
+     */
+    public SourceError processSynapseContent(String xmlContent) {
 
         xmlTagsQueue.clear();
         if (!xmlContent.trim().isEmpty()) {
@@ -141,6 +169,7 @@ public class ProcessSourceView {
             int length = 0;
 
             for (int i = 0; i < lines.length; i++) {
+                checkCanceled();
                 String line = lines[i];
                 processTags(line, i, length);
                 length += (line.length() + 1);
@@ -397,6 +426,18 @@ public class ProcessSourceView {
      * @throws ValidationException
      */
     public static SourceError validateXMLContent(String xmlContent) throws ValidationException {
+        return new ProcessSourceView().processXMLContent(xmlContent);
+    }
+
+    /**
+     * Validate the xml content using the state of this instance.
+     * 
+     * @param xmlContent
+     *            source view content
+     * @return Source error
+     * @throws ValidationException
+     */
+    public SourceError processXMLContent(String xmlContent) throws ValidationException {
 
         try {
 
@@ -430,7 +471,7 @@ public class ProcessSourceView {
      *            Current content length
      * @return List of XML tags in the line
      */
-    private static List<XMLTag> processTags(String line, int index, int length) {
+    private List<XMLTag> processTags(String line, int index, int length) {
         List<XMLTag> tempTags = new ArrayList<>();
 
         XMLTag xmlTag = new XMLTag();
@@ -585,7 +626,7 @@ public class ProcessSourceView {
      * 
      * @return SourceError object if there is an error
      */
-    private static SourceError synapseValidation() {
+    private SourceError synapseValidation() {
 
         SourceError sourceError = null;
         xmlTags = new Stack<>();
@@ -602,6 +643,7 @@ public class ProcessSourceView {
         boolean insidePublishWSDL = false;
 
         while (!xmlTagsQueue.isEmpty()) {
+            checkCanceled();
             XMLTag tempTag = xmlTagsQueue.remove();
 
             if (tempTag.isStartTag()) { // 14
@@ -905,7 +947,7 @@ public class ProcessSourceView {
      * 
      * @return SourceError object if there is an error
      */
-    private static SourceError mediatorValidation() {
+    private SourceError mediatorValidation() {
 
         boolean insideTag = true;
         String firstMediatorQTag = "";
@@ -1006,7 +1048,7 @@ public class ProcessSourceView {
         return sourceError;
     }
 
-    private static String validate(String mediatorVal, String qTag) {
+    private String validate(String mediatorVal, String qTag) {
 
         String error = "";
 
@@ -1036,7 +1078,7 @@ public class ProcessSourceView {
      *            QName of the mediator
      * @return Error description
      */
-    private static String validateArtifacts(String mediator, String qTag) {
+    private String validateArtifacts(String mediator, String qTag) {
 
         try {
             OMElement omElement = AXIOMUtil.stringToOM(mediator);
@@ -1193,10 +1235,16 @@ public class ProcessSourceView {
         return length;
     }
 
+    private void checkCanceled() {
+        if (monitor != null && monitor.isCanceled()) {
+            throw new OperationCanceledException();
+        }
+    }
+
     /**
      * Set xml parser errors for the sourceError object.
      */
-    private static class MyErrorHandler extends DefaultHandler {
+    private class MyErrorHandler extends DefaultHandler {
         String errorMsg = "";
 
         public void fatalError(SAXParseException e) throws SAXException {
@@ -0,0 +1,115 @@
+/*
+*  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+
+package org.wso2.integrationstudio.gmf.esb.diagram.validator;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.wso2.integrationstudio.gmf.esb.diagram.Activator;
+import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
+import org.wso2.integrationstudio.logging.core.Logger;
+
+/**
+ * Validates the source view content of a single editor in the background.
+ *
+ * Each request to validate reschedules the job after a short quiet period, hence a burst of key strokes results in
+ * a single validation of the latest content. A validation which is still running when newer content arrives is
+ * canceled and its result is discarded, so only the result of the latest content is published.
+ */
+public abstract class SourceValidationJob extends Job {
+
+    /**
+     * Quiet period in milliseconds after the last change before the content is validated.
+     */
+    public static final long VALIDATION_DELAY = 500;
+
+    private static IIntegrationStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
+
+    private volatile String pendingSource;
+
+    public SourceValidationJob() {
+        super("Validate Synapse Source");
+        setSystem(true);
+        setPriority(Job.DECORATE);
+    }
+
+    /**
+     * Validate the given content once the source has not been changed for {@link #VALIDATION_DELAY} milliseconds.
+     *
+     * @param source
+     *            source view content
+     */
+    public void validate(String source) {
+        validate(source, VALIDATION_DELAY);
+    }
+
+    /**
+     * Validate the given content without waiting for further changes.
+     *
+     * @param source
+     *            source view content
+     */
+    public void validateNow(String source) {
+        validate(source, 0);
+    }
+
+    private void validate(String source, long delay) {
+        pendingSource = source;
+        cancel();
+        schedule(delay);
+    }
+
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+        String source = pendingSource;
+        if (source == null) {
+            return Status.OK_STATUS;
+        }
+
+        SourceError sourceError;
+        try {
+            sourceError = new ProcessSourceView(monitor).processSynapseContent(source);
+        } catch (OperationCanceledException e) {
+            return Status.CANCEL_STATUS;
+        } catch (Exception e) {
+            log.error("Error while validating the source view content", e);
+            return Status.OK_STATUS;
+        }
+
+        if (monitor.isCanceled() || source != pendingSource) {
+            return Status.CANCEL_STATUS;
+        }
+        validationCompleted(source, sourceError);
+        return Status.OK_STATUS;
+    }
+
+    /**
+     * Publish the result of a validation. Called from the job thread, implementations are responsible for switching
+     * to the UI thread before updating markers or editor state.
+     *
+     * @param source
+     *            validated content
+     * @param sourceError
+     *            error found in the content, or null if the content is valid
+     */
+    protected abstract void validationCompleted(String source, SourceError sourceError);
+
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing,
+ *
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integrationstudio.gmf.esb.presentation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.wso2.integrationstudio.gmf.esb.persistence.Activator;
+import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
+import org.wso2.integrationstudio.logging.core.Logger;
+
+/**
+ * Connection local entries of each local entries folder, by connection type.
+ * <p>
+ * The local entries of a folder are read the first time its connections are asked for. After that, the catalog is kept
+ * up to date from resource deltas: an added or changed local entry is read again, with a single streaming pass over
+ * the file, the next time the connections of its folder are asked for, and a removed local entry is dropped.
+ */
+public class ConnectionLocalEntryCatalog implements IResourceChangeListener {
+
+    private static final String XML_EXTENSION = "xml";
+    private static final String CONNECTION_NAME_ELEMENT = "name";
+    private static final String CONNECTION_TYPE_ELEMENT = "connectionType";
+
+    private static IIntegrationStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
+
+    private static final XMLInputFactory inputFactory = createInputFactory();
+
+    private static volatile ConnectionLocalEntryCatalog instance;
+
+    private final Map<IPath, FolderCatalog> folderCatalogs = new HashMap<IPath, FolderCatalog>();
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+        return factory;
+    }
+
+    public static ConnectionLocalEntryCatalog getInstance() {
+        if (instance != null) {
+            return instance;
+        }
+
+        synchronized (ConnectionLocalEntryCatalog.class) {
+            if (instance == null) {
+                ConnectionLocalEntryCatalog catalog = new ConnectionLocalEntryCatalog();
+                ResourcesPlugin.getWorkspace().addResourceChangeListener(catalog,
+                        IResourceChangeEvent.POST_CHANGE);
+                instance = catalog;
+            }
+        }
+
+        return instance;
+    }
+
+    private ConnectionLocalEntryCatalog() {
+    }
+
+    /**
+     * Returns the names of the connection local entries of a folder which are of any of the given types
+     *
+     * @param localEntriesDir local entries folder
+     * @param allowedTypes connection types
+     * @return names of the connections, in the order of their files
+     * @throws CoreException if the folder can not be listed
+     */
+    public synchronized ArrayList<String> getConnections(IFolder localEntriesDir, List<String> allowedTypes)
+            throws CoreException {
+        FolderCatalog folderCatalog = folderCatalogs.get(localEntriesDir.getFullPath());
+        if (folderCatalog == null) {
+            folderCatalog = new FolderCatalog();
+            for (IResource resource : localEntriesDir.members()) {
+                if (isLocalEntry(resource)) {
+                    folderCatalog.staleFiles.add((IFile) resource);
+                }
+            }
+            folderCatalogs.put(localEntriesDir.getFullPath(), folderCatalog);
+        }
+        folderCatalog.readStaleFiles();
+
+        List<ConnectionEntry> entries = new ArrayList<ConnectionEntry>();
+        for (String type : new HashSet<String>(allowedTypes)) {
+            List<ConnectionEntry> typeEntries = folderCatalog.getEntriesByType().get(type);
+            if (typeEntries != null) {
+                entries.addAll(typeEntries);
+            }
+        }
+        if (allowedTypes.size() > 1) {
+            Collections.sort(entries, ConnectionEntry.FILE_ORDER);
+        }
+        ArrayList<String> connections = new ArrayList<String>(entries.size());
+        for (ConnectionEntry entry : entries) {
+            connections.add(entry.name);
+        }
+        return connections;
+    }
+
+    public void resourceChanged(IResourceChangeEvent event) {
+        IResourceDelta delta = event.getDelta();
+        if (delta == null) {
+            return;
+        }
+        synchronized (this) {
+            if (folderCatalogs.isEmpty()) {
+                return;
+            }
+            try {
+                delta.accept(new IResourceDeltaVisitor() {
+                    public boolean visit(IResourceDelta delta) throws CoreException {
+                        return updateFromDelta(delta);
+                    }
+                });
+            } catch (CoreException e) {
+                log.error("Could not update the connection local entries, reading them again", e);
+                folderCatalogs.clear();
+            }
+        }
+    }
+
+    private boolean updateFromDelta(IResourceDelta delta) {
+        IResource resource = delta.getResource();
+        if (resource.getType() == IResource.FILE) {
+            FolderCatalog folderCatalog = folderCatalogs.get(resource.getParent().getFullPath());
+            if (folderCatalog != null && isLocalEntry(resource)) {
+                if (delta.getKind() == IResourceDelta.REMOVED) {
+                    folderCatalog.remove((IFile) resource);
+                } else if (delta.getKind() == IResourceDelta.ADDED
+                        || (delta.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED)) != 0) {
+                    folderCatalog.staleFiles.add((IFile) resource);
+                }
+            }
+            return false;
+        }
+        if (delta.getKind() == IResourceDelta.REMOVED || (delta.getFlags() & IResourceDelta.OPEN) != 0) {
+            // a removed, closed or reopened project or folder is read again when it is next used
+            IPath path = resource.getFullPath();
+            for (IPath folderPath : new ArrayList<IPath>(folderCatalogs.keySet())) {
+                if (path.isPrefixOf(folderPath)) {
+                    folderCatalogs.remove(folderPath);
+                }
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean isLocalEntry(IResource resource) {
+        return resource instanceof IFile && XML_EXTENSION.equals(resource.getFileExtension());
+    }
+
+    /**
+     * Reads the name and the connection type of a local entry, stopping as soon as both are found
+     *
+     * @param file local entry file
+     * @return the connection, or null if the local entry is not a connection
+     */
+    private static ConnectionEntry readConnection(IFile file) {
+        InputStream input = null;
+        XMLStreamReader reader = null;
+        try {
+            input = file.getContents(true);
+            synchronized (inputFactory) {
+                reader = inputFactory.createXMLStreamReader(input);
+            }
+            String name = null;
+            String type = null;
+            String element = null;
+            while ((name == null || type == null) && reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    element = reader.getLocalName();
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    element = null;
+                } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                    // the first text of the first element with the name, as the connection XPaths select it
+                    if (name == null && CONNECTION_NAME_ELEMENT.equals(element)) {
+                        name = reader.getText();
+                    } else if (type == null && CONNECTION_TYPE_ELEMENT.equals(element)) {
+                        type = reader.getText();
+                    }
+                }
+            }
+            if (name == null || name.isEmpty() || type == null) {
+                return null;
+            }
+            return new ConnectionEntry(file.getName(), name, type);
+        } catch (XMLStreamException e) {
+            log.error("Cannot parse Connection Local Entry file " + file.getName(), e);
+        } catch (CoreException e) {
+            log.error("Cannot read Connection Local Entry file " + file.getName(), e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    // the input stream is closed below
+                }
+            }
+            if (input != null) {
+                try {
+                    input.close();
+                } catch (IOException e) {
+                    log.warn("Could not close " + file.getName(), e);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Connection local entries of a local entries folder
+     */
+    private static class FolderCatalog {
+        // connections by file name, in the order of the files in the folder
+        private final Map<String, ConnectionEntry> entries = new TreeMap<String, ConnectionEntry>();
+        private final Set<IFile> staleFiles = new HashSet<IFile>();
+        private Map<String, List<ConnectionEntry>> entriesByType;
+
+        private void readStaleFiles() {
+            if (staleFiles.isEmpty()) {
+                return;
+            }
+            for (IFile file : staleFiles) {
+                ConnectionEntry entry = file.exists() ? readConnection(file) : null;
+                if (entry != null) {
+                    entries.put(file.getName(), entry);
+                } else {
+                    entries.remove(file.getName());
+                }
+            }
+            staleFiles.clear();
+            entriesByType = null;
+        }
+
+        private void remove(IFile file) {
+            staleFiles.remove(file);
+            if (entries.remove(file.getName()) != null) {
+                entriesByType = null;
+            }
+        }
+
+        private Map<String, List<ConnectionEntry>> getEntriesByType() {
+            if (entriesByType == null) {
+                entriesByType = new HashMap<String, List<ConnectionEntry>>();
+                for (ConnectionEntry entry : entries.values()) {
+                    List<ConnectionEntry> typeEntries = entriesByType.get(entry.type);
+                    if (typeEntries == null) {
+                        typeEntries = new ArrayList<ConnectionEntry>();
+                        entriesByType.put(entry.type, typeEntries);
+                    }
+                    typeEntries.add(entry);
+                }
+            }
+            return entriesByType;
+        }
+    }
+
+    /**
+     * Name and connection type of a connection local entry
+     */
+    private static class ConnectionEntry {
+        private static final Comparator<ConnectionEntry> FILE_ORDER = new Comparator<ConnectionEntry>() {
+            public int compare(ConnectionEntry entry1, ConnectionEntry entry2) {
+                return entry1.fileName.compareTo(entry2.fileName);
+            }
+        };
+
+        private final String fileName;
+        private final String name;
+        private final String type;
+
+        ConnectionEntry(String fileName, String name, String type) {
+            this.fileName = fileName;
+            this.name = name;
+            this.type = type;
+        }
+    }
+}
@@ -184,15 +184,15 @@ public class ConnectorParameterRenderer extends PropertyParameterRenderer {
             descriptionText.setText(descriptionValue);
         }
 
+        // Index the parameters by name, so that each control is bound to its parameter with a single lookup
+        HashMap<String, CallTemplateParameter> parameters = new HashMap<String, CallTemplateParameter>();
+        for (CallTemplateParameter parameter : parameterList) {
+            parameters.put(parameter.getParameterName(), parameter);
+        }
+
         // Iterate through controlList and fill data
         for (String key : controlList.keySet()) {
-            CallTemplateParameter ctp = null;
-            for (Object parameter : parameterList) {
-                CallTemplateParameter ctpi = (CallTemplateParameter) parameter;
-                if (((String) key).equals(ctpi.getParameterName())) {
-                    ctp = ctpi;
-                }
-            }
+            CallTemplateParameter ctp = parameters.get(key);
             if (ctp != null) {
                 String value = ctp.getParameterValue();
                 if (ctp.getTemplateParameterType().equals(RuleOptionType.EXPRESSION)) {
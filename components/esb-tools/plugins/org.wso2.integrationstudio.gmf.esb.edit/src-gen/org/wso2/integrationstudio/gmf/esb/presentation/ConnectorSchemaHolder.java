@@ -1,57 +1,218 @@
 package org.wso2.integrationstudio.gmf.esb.presentation;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
 
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
 import org.wso2.integrationstudio.gmf.esb.presentation.desc.parser.ConnectorConnectionRoot;
+import org.wso2.integrationstudio.gmf.esb.presentation.desc.parser.ConnectorDescriptorParser;
 import org.wso2.integrationstudio.gmf.esb.presentation.desc.parser.ConnectorOperationRoot;
+import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
+import org.wso2.integrationstudio.logging.core.Logger;
 
+/**
+ * Connector UI schemas by schema name, which is the connector name and the operation or connection name joined with a
+ * '-'. The schema files of the installed connectors are only listed up front; a schema file is parsed the first time a
+ * schema it may define is asked for, starting with the files named after the operation or connection, and is not
+ * parsed again unless its content changes.
+ */
 public class ConnectorSchemaHolder {
 
-    private static HashMap<String, ConnectorConnectionRoot> connectorConnectionSchemaMap;
-    private static HashMap<String, ConnectorOperationRoot> connectorOperationSchemaMap;
-    private static ConnectorSchemaHolder holder;
-    
+    private static final String JSON_EXTENSION = ".json";
+
+    private static IIntegrationStudioLog log = Logger.getLog(EEFPropertyViewUtil.PLUGIN_ID);
+
+    private static volatile ConnectorSchemaHolder holder;
+
+    private final HashMap<String, ConnectorConnectionRoot> connectorConnectionSchemaMap =
+            new HashMap<String, ConnectorConnectionRoot>();
+    private final HashMap<String, ConnectorOperationRoot> connectorOperationSchemaMap =
+            new HashMap<String, ConnectorOperationRoot>();
+    // schema files of the installed connectors which have not been parsed yet
+    private final Set<File> pendingSchemaFiles = new LinkedHashSet<File>();
+    // parsed schema files
+    private final Map<File, SchemaFile> schemaFiles = new HashMap<File, SchemaFile>();
+
     public static ConnectorSchemaHolder getInstance() {
-        if(holder == null) {
-            holder = new ConnectorSchemaHolder();
-            connectorConnectionSchemaMap = new HashMap<String, ConnectorConnectionRoot>();
-            connectorOperationSchemaMap = new HashMap<String, ConnectorOperationRoot>();
+        if (holder != null) {
+            return holder;
+        }
+
+        synchronized (ConnectorSchemaHolder.class) {
+            if (holder == null) {
+                holder = new ConnectorSchemaHolder();
+            }
         }
+
         return holder;
     }
-    
+
     private ConnectorSchemaHolder(){}
-    
-    public HashMap<String, ConnectorConnectionRoot> getConnectorConnectionSchemaMap() {
+
+    /**
+     * Sets the schema files of the installed connectors. Schemas of files which are no longer there, or which have
+     * changed, are dropped, and the new and changed files are parsed when their schemas are asked for.
+     *
+     * @param files schema files
+     */
+    public synchronized void setSchemaFiles(List<File> files) {
+        Set<File> currentFiles = new LinkedHashSet<File>(files);
+        for (Iterator<Map.Entry<File, SchemaFile>> iterator = schemaFiles.entrySet().iterator(); iterator.hasNext();) {
+            Map.Entry<File, SchemaFile> schemaFile = iterator.next();
+            if (!currentFiles.contains(schemaFile.getKey()) || schemaFile.getValue().isModified(schemaFile.getKey())) {
+                schemaFile.getValue().remove(this);
+                iterator.remove();
+            }
+        }
+        pendingSchemaFiles.clear();
+        for (File file : currentFiles) {
+            if (!schemaFiles.containsKey(file)) {
+                pendingSchemaFiles.add(file);
+            }
+        }
+    }
+
+    public synchronized HashMap<String, ConnectorConnectionRoot> getConnectorConnectionSchemaMap() {
+        loadAllSchemas();
         return connectorConnectionSchemaMap;
     }
 
-    public void putConnectorConnectionSchema(String key, ConnectorConnectionRoot value) {
+    public synchronized void putConnectorConnectionSchema(String key, ConnectorConnectionRoot value) {
         connectorConnectionSchemaMap.put(key, value);
     }
-    
-    public ConnectorConnectionRoot getConnectorConnectionSchema(String key) {
+
+    public synchronized ConnectorConnectionRoot getConnectorConnectionSchema(String key) {
+        if (!connectorConnectionSchemaMap.containsKey(key)) {
+            loadSchema(key, connectorConnectionSchemaMap);
+        }
         return connectorConnectionSchemaMap.get(key);
     }
-    
-    public boolean hasConnectorConnectionSchema(String key) {
-        return connectorConnectionSchemaMap.containsKey(key);
+
+    public synchronized boolean hasConnectorConnectionSchema(String key) {
+        return getConnectorConnectionSchema(key) != null;
     }
-    
-    public HashMap<String, ConnectorOperationRoot> getConnectorOperationSchemaMap() {
+
+    public synchronized HashMap<String, ConnectorOperationRoot> getConnectorOperationSchemaMap() {
+        loadAllSchemas();
         return connectorOperationSchemaMap;
     }
 
-    public void putConnectorOperationSchema(String key, ConnectorOperationRoot value) {
+    public synchronized void putConnectorOperationSchema(String key, ConnectorOperationRoot value) {
         connectorOperationSchemaMap.put(key, value);
     }
-    
-    public ConnectorOperationRoot getConnectorOperationSchema(String key) {
+
+    public synchronized ConnectorOperationRoot getConnectorOperationSchema(String key) {
+        if (!connectorOperationSchemaMap.containsKey(key)) {
+            loadSchema(key, connectorOperationSchemaMap);
+        }
         return connectorOperationSchemaMap.get(key);
     }
-    
-    public boolean hasConnectorOperationSchema(String key) {
-        return connectorOperationSchemaMap.containsKey(key);
+
+    public synchronized boolean hasConnectorOperationSchema(String key) {
+        return getConnectorOperationSchema(key) != null;
+    }
+
+    /**
+     * Parses pending schema files until the schema with the given name is found. The files named after the operation
+     * or connection are parsed first, e.g. uischema/query.json for salesforce-query.
+     */
+    private void loadSchema(String key, Map<String, ?> schemas) {
+        if (pendingSchemaFiles.isEmpty()) {
+            return;
+        }
+        for (File file : new ArrayList<File>(pendingSchemaFiles)) {
+            String fileName = file.getName();
+            String name = fileName.substring(0, fileName.length() - JSON_EXTENSION.length());
+            if (key.endsWith("-" + name)) {
+                parseSchemaFile(file);
+                if (schemas.containsKey(key)) {
+                    return;
+                }
+            }
+        }
+        while (!pendingSchemaFiles.isEmpty() && !schemas.containsKey(key)) {
+            parseSchemaFile(pendingSchemaFiles.iterator().next());
+        }
+    }
+
+    private void loadAllSchemas() {
+        while (!pendingSchemaFiles.isEmpty()) {
+            parseSchemaFile(pendingSchemaFiles.iterator().next());
+        }
+    }
+
+    private void parseSchemaFile(File file) {
+        pendingSchemaFiles.remove(file);
+        SchemaFile schemaFile = new SchemaFile();
+        schemaFiles.put(file, schemaFile);
+        try {
+            byte[] content = Files.readAllBytes(file.toPath());
+            schemaFile.checksum = checksum(content);
+            // the JSON is parsed once, into the object the descriptor parser reads the schema from
+            JSONObject rootObject = new JSONObject(new String(content));
+            if (ConnectorDescriptorParser.isConnectorConnection(rootObject)) {
+                ConnectorConnectionRoot connectorConnectionRoot = ConnectorDescriptorParser
+                        .parseConnectionRoot(rootObject);
+                schemaFile.connectionSchemaName = connectorConnectionRoot.getConnectorName() + '-'
+                        + connectorConnectionRoot.getConnectionName();
+                connectorConnectionSchemaMap.put(schemaFile.connectionSchemaName, connectorConnectionRoot);
+            } else {
+                ConnectorOperationRoot connectorOperationRoot = ConnectorDescriptorParser
+                        .parseOperationRoot(rootObject);
+                schemaFile.operationSchemaName = connectorOperationRoot.getConnectorName() + '-'
+                        + connectorOperationRoot.getOperationName();
+                connectorOperationSchemaMap.put(schemaFile.operationSchemaName, connectorOperationRoot);
+            }
+        } catch (IOException | JSONException e) {
+            log.error("Unable to parse the Connector UI descriptor file", e);
+        }
+    }
+
+    private static long checksum(byte[] content) {
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        return crc.getValue();
+    }
+
+    /**
+     * A parsed schema file, with the checksum of the content it was parsed from and the schema it defines
+     */
+    private static class SchemaFile {
+        // not a valid checksum, until the file has been read
+        private long checksum = -1;
+        private String connectionSchemaName;
+        private String operationSchemaName;
+
+        /**
+         * Compares the content of the file with the content it was parsed from. The modified time is not used, since a
+         * re-extracted connector may keep the times and sizes of its schema files.
+         */
+        private boolean isModified(File file) {
+            try {
+                return checksum(Files.readAllBytes(file.toPath())) != checksum;
+            } catch (IOException e) {
+                return true;
+            }
+        }
+
+        private void remove(ConnectorSchemaHolder holder) {
+            if (connectionSchemaName != null) {
+                holder.connectorConnectionSchemaMap.remove(connectionSchemaName);
+            }
+            if (operationSchemaName != null) {
+                holder.connectorOperationSchemaMap.remove(operationSchemaName);
+            }
+        }
     }
 
 }
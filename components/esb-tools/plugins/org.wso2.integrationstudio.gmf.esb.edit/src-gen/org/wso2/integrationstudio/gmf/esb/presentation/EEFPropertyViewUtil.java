@@ -25,16 +25,12 @@ import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Properties;
 import java.util.Scanner;
 
-import org.codehaus.jettison.json.JSONException;
-
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
@@ -93,9 +89,6 @@ import org.wso2.integrationstudio.gmf.esb.NamespacedProperty;
 import org.wso2.integrationstudio.gmf.esb.impl.CloudConnectorOperationImpl;
 import org.wso2.integrationstudio.gmf.esb.impl.EsbFactoryImpl;
 import org.wso2.integrationstudio.gmf.esb.persistence.Activator;
-import org.wso2.integrationstudio.gmf.esb.presentation.desc.parser.ConnectorConnectionRoot;
-import org.wso2.integrationstudio.gmf.esb.presentation.desc.parser.ConnectorDescriptorParser;
-import org.wso2.integrationstudio.gmf.esb.presentation.desc.parser.ConnectorOperationRoot;
 import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
 import org.wso2.integrationstudio.logging.core.Logger;
 import org.wso2.integrationstudio.maven.util.MavenUtils;
@@ -415,15 +408,14 @@ public class EEFPropertyViewUtil {
     }
 
     /**
-     * This method removes connector palettes from editor if the connector is not in the workspace.
-     * 
-     * @param editorPart editor from which palettes should be removed
-     * @param esbPaletteFactory PaletteFactory of the editor
+     * Lists the UI schema files of the connectors in the workspace. The schemas are parsed by
+     * {@link ConnectorSchemaHolder} when they are first used.
      */
     public static void loadConnectorSchemas() {
         String connectorDirectory = ResourcesPlugin.getWorkspace().getRoot().getLocation().toString() + File.separator
                 + ".metadata" + File.separator + ".Connectors";
         File directory = new File(connectorDirectory);
+        List<File> schemaFiles = new ArrayList<File>();
         if (directory.isDirectory()) {
             File[] children = directory.listFiles();
             for (int childIndex = 0; childIndex < children.length; ++childIndex) {
@@ -435,38 +427,16 @@ public class EEFPropertyViewUtil {
                         for (int jsonSchemaIndex = 0; jsonSchemaIndex < jsonSchemaChildren.length; ++jsonSchemaIndex) {
                             String jsonSchemaName = jsonSchemaChildren[jsonSchemaIndex].getName();
                             if (jsonSchemaName.endsWith(".json")) {
-                                addConnectorRoot(jsonSchemaChildren[jsonSchemaIndex]);
+                                schemaFiles.add(jsonSchemaChildren[jsonSchemaIndex]);
                             }
                         }
                     }
                 }
             }
         }
+        ConnectorSchemaHolder.getInstance().setSchemaFiles(schemaFiles);
     }
 
-    private static void addConnectorRoot(File jsonSchemafile) {
-        String content = "";
-        ConnectorSchemaHolder schemaHolder = ConnectorSchemaHolder.getInstance();
-
-        try {
-            content = new String(Files.readAllBytes(Paths.get(jsonSchemafile.getAbsolutePath())));
-
-            if (ConnectorDescriptorParser.isConnectorConnection(content)) {
-                ConnectorConnectionRoot connectorConnectionRoot = ConnectorDescriptorParser
-                        .parseConnectionRoot(content);
-                String schemaName = connectorConnectionRoot.getConnectorName() + '-'
-                        + connectorConnectionRoot.getConnectionName();
-                schemaHolder.putConnectorConnectionSchema(schemaName, connectorConnectionRoot);
-            } else {
-                ConnectorOperationRoot connectorOperationRoot = ConnectorDescriptorParser.parseOperationRoot(content);
-                String schemaName = connectorOperationRoot.getConnectorName() + '-'
-                        + connectorOperationRoot.getOperationName();
-                schemaHolder.putConnectorOperationSchema(schemaName, connectorOperationRoot);
-            }
-        } catch (IOException | JSONException e) {
-            log.error("Unable to parse the Connector UI descriptor file", e);
-        }
-    }
     public static String generateSchemaName(IPropertiesEditionComponent propertiesEditionComponent) {
         CloudConnectorOperationImpl connectorObject = (CloudConnectorOperationImpl)propertiesEditionComponent.getEditingContext().getEObject();
         String schemaName = connectorObject.getConnectorName().split("connector")[0] + "-" + connectorObject.getOperationName();
@@ -474,26 +444,7 @@ public class EEFPropertyViewUtil {
     }
 
     public static ArrayList<String> getAvailableConnectionEntriesList(List<String> allowedConnectionTypes) throws CoreException {
-        ArrayList<String> definedTemplates = new ArrayList<String>();
-        IFolder localEntriesDir = getLocalEntriesDir();
-        for(IResource resource:localEntriesDir.members()) {
-            if (resource instanceof IFile && ((IFile)resource).getFileExtension().equals("xml")) {
-                try {
-                    String connectionName = getNameParameter((IFile)resource);
-                    if(isAllowedConnection(((IFile)resource), allowedConnectionTypes)
-                            && (!connectionName.isEmpty())) {
-                        definedTemplates.add(connectionName);
-                    }
-                } catch (XPathExpressionException e) {
-                    log.error("Connection Local Entry file is not well structured", e);
-                } catch (SAXException | ParserConfigurationException e) {
-                    log.error("Cannot parse Connection Local Entry file", e);
-                } catch (IOException e) {
-                    log.error("Cannot read Connection Local Entry file", e);
-                }
-            }
-        }
-        return definedTemplates;
+        return ConnectionLocalEntryCatalog.getInstance().getConnections(getLocalEntriesDir(), allowedConnectionTypes);
     }
 
     public static boolean isAllowedConnection(IFile file, List<String> allowedTypes) throws SAXException, IOException, ParserConfigurationException, XPathExpressionException, CoreException {
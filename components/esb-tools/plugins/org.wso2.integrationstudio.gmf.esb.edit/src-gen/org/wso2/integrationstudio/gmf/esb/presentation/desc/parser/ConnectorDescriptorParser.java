@@ -34,27 +34,39 @@ public class ConnectorDescriptorParser {
 
     public static ConnectorConnectionRoot parseConnectionRoot(String jsonString) throws JSONException {
 
+        return parseConnectionRoot(new JSONObject(jsonString));
+    }
+
+    public static ConnectorConnectionRoot parseConnectionRoot(JSONObject rootObject) throws JSONException {
+
         ConnectorConnectionRoot root = new ConnectorConnectionRoot();
-        JSONObject rootObject = new JSONObject(jsonString);
         String connectionName = rootObject.getString(DescriptorConstants.CONNECTION_NAME);
         root.setConnectionName(connectionName);
-        createConnectorRoot(root, jsonString);
+        createConnectorRoot(root, rootObject);
         return root;
     }
 
     public static ConnectorOperationRoot parseOperationRoot(String jsonString) throws JSONException {
 
+        return parseOperationRoot(new JSONObject(jsonString));
+    }
+
+    public static ConnectorOperationRoot parseOperationRoot(JSONObject rootObject) throws JSONException {
+
         ConnectorOperationRoot root = new ConnectorOperationRoot();
-        JSONObject rootObject = new JSONObject(jsonString);
         String connectionName = rootObject.getString(DescriptorConstants.OPERATION_NAME);
         root.setOperationName(connectionName);
-        createConnectorRoot(root, jsonString);
+        createConnectorRoot(root, rootObject);
         return root;
     }
 
     public static void createConnectorRoot(ConnectorRoot root, String jsonString) throws JSONException {
 
-        JSONObject rootObject = new JSONObject(jsonString);
+        createConnectorRoot(root, new JSONObject(jsonString));
+    }
+
+    public static void createConnectorRoot(ConnectorRoot root, JSONObject rootObject) throws JSONException {
+
         root.setConnectorName(rootObject.getString(DescriptorConstants.CONNECTOR_NAME));
         root.setTitle(rootObject.getString(DescriptorConstants.TITLE));
         root.setHelp(rootObject.getString(DescriptorConstants.HELP));
@@ -286,6 +298,11 @@ public class ConnectorDescriptorParser {
 
     public static boolean isConnectorConnection(String jsonString) throws JSONException {
 
-        return new JSONObject(jsonString).has(DescriptorConstants.CONNECTION_NAME);
+        return isConnectorConnection(new JSONObject(jsonString));
+    }
+
+    public static boolean isConnectorConnection(JSONObject rootObject) {
+
+        return rootObject.has(DescriptorConstants.CONNECTION_NAME);
     }
 }
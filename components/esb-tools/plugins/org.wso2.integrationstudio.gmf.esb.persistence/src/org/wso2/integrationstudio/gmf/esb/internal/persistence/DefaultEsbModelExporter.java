@@ -430,7 +430,18 @@ public class DefaultEsbModelExporter implements EsbModelTransformer {
 
     }
 
+    /**
+     * Returns the source of a server model. The source is cached for the whole model until any object of it changes;
+     * on a cache miss the model is transformed, serialized and formatted again in full.
+     */
     public String designToSource(EsbServer serverModel) throws Exception {
+        DesignSourceCacheAdapter sourceCache = DesignSourceCacheAdapter.adapt(serverModel);
+        String cachedSource = sourceCache.getSource();
+        if (cachedSource != null) {
+            sourceXML = cachedSource;
+            return sourceXML;
+        }
+
         SynapseXMLConfigurationSerializer serializer = new SynapseXMLConfigurationSerializer();
         SequenceMediatorSerializer sequenceSerializer = new SequenceMediatorSerializer();
         OMElement configOM = null;
@@ -546,16 +557,16 @@ public class DefaultEsbModelExporter implements EsbModelTransformer {
             configOM = serializer.serializeConfiguration(transform(serverModel));
         }
 
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
         if (configOM != null) {
-            DefaultEsbModelExporter.prettify(configOM, baos);
             sourceXML = format(configOM.toString());
         }
 
-        // sourceXML = baos.toString("UTF-8");
         sourceXML = sourceXML.replaceAll("\\?><", "?>\n<");
         // Remove the default values added for design view validations
         sourceXML = sourceXML.replaceAll(ValidationConstansts.DEFAULT_XPATH_FOR_VALIDATION, "");
+        if (configOM != null) {
+            sourceCache.setSource(sourceXML);
+        }
         return sourceXML;
     }
 
@@ -586,6 +597,9 @@ public class DefaultEsbModelExporter implements EsbModelTransformer {
         return null;
     }
 
+    /**
+     * Pretty prints serialized XML by parsing it into a DOM and serializing that with 4-space indentation.
+     */
     public static String format(String unformattedXml) {
         try {
             final Document document = parseXmlFile(unformattedXml);
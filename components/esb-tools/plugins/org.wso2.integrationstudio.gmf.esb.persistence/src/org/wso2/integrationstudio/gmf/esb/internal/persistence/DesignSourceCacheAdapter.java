@@ -0,0 +1,79 @@
+/*
+ * Copyright 2009-2010 WSO2, Inc. (http://wso2.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.integrationstudio.gmf.esb.internal.persistence;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+import org.wso2.integrationstudio.gmf.esb.EsbServer;
+
+/**
+ * Keeps the source generated for an {@link EsbServer} visual model until any object of the model changes.
+ *
+ * The adapter is attached to the whole containment tree of the server, hence every change to the artifact (adding,
+ * removing or editing a mediator, endpoint, property etc.) invalidates the cached source. Switching between the
+ * design and source views or saving without modifying the diagram reuses the source instead of transforming and
+ * serializing the whole model again.
+ */
+public class DesignSourceCacheAdapter extends EContentAdapter {
+
+    private volatile String source;
+
+    private DesignSourceCacheAdapter() {
+    }
+
+    /**
+     * Returns the cache adapter of the given server model, attaching a new one if the model has none yet.
+     *
+     * @param serverModel {@link EsbServer} visual model.
+     * @return source cache of the server model.
+     */
+    public static DesignSourceCacheAdapter adapt(EsbServer serverModel) {
+        for (Adapter adapter : serverModel.eAdapters()) {
+            if (adapter instanceof DesignSourceCacheAdapter) {
+                return (DesignSourceCacheAdapter) adapter;
+            }
+        }
+        DesignSourceCacheAdapter adapter = new DesignSourceCacheAdapter();
+        serverModel.eAdapters().add(adapter);
+        return adapter;
+    }
+
+    @Override
+    public void notifyChanged(Notification notification) {
+        super.notifyChanged(notification);
+        if (!notification.isTouch()) {
+            source = null;
+        }
+    }
+
+    /**
+     * @return source generated for the current state of the model, or null if the model changed since.
+     */
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    @Override
+    public boolean isAdapterForType(Object type) {
+        return type == DesignSourceCacheAdapter.class;
+    }
+
+}
@@ -16,6 +16,8 @@
 package org.wso2.integrationstudio.datamapper.diagram.custom.model;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -70,10 +72,8 @@ public class DataMapperDiagramModel {
 	private static final String UNAMED = "unnamed";
 	private List<DMVariable> variablesArray = new ArrayList<>();
 	private List<Integer> inputVariablesArray = new ArrayList<>();
-	private List<Integer> outputVariablesArray = new ArrayList<>();
 	private List<DMOperation> operationsList = new ArrayList<>();
-	private List<Integer> resolvedVariableArray = new ArrayList<>();
-	private List<Integer> resolvedOutputVariableArray = new ArrayList<>();
+	private BitSet resolvedVariables = new BitSet();
 	private List<OperatorImpl> graphOperationElements = new ArrayList<>();
 
 	private List<ArrayList<Integer>> inputAdjList = new ArrayList<>();
@@ -147,7 +147,6 @@ public class DataMapperDiagramModel {
 				DMVariable addedVariable = new DMVariable(variableName, currentTreeNode.toString(),
 						DMVariableType.INPUT, variableType, index, parentVariableIndex);
 				variablesArray.add(addedVariable);
-				outputVariablesArray.add(index);
 				currentTreeNode.setIndex(index);
 				addVariableTypeToMap(addedVariable.getName(), variableType);
 				if(isUnNamed(currentTreeNode)) {
@@ -158,7 +157,7 @@ public class DataMapperDiagramModel {
 				}
 				inputVariablesArray.add(index);
 				if (isCurrentTreeNodeALeafNode(currentTreeNode)) {
-					getResolvedVariableArray().add(index);
+					resolvedVariables.set(index);
 					tempNodeArray.add(currentTreeNode);
 				}
 				if (currentTreeNode.getLevel() == parentVariableStack.size()) {
@@ -245,62 +244,105 @@ public class DataMapperDiagramModel {
 		}
 	}
 
+	/**
+	 * Orders the operations so that each operation runs after the operations
+	 * resolving its input variables. Operations are taken in passes over the
+	 * operation indices, but an operation is only visited once its last input
+	 * variable is resolved, so the sequence is built in linear time.
+	 * 
+	 * @throws DataMapperException
+	 */
 	private void updateExecutionSequence() throws DataMapperException {
-		List<Integer> unexecutedOperationList = new ArrayList<>();
-		List<Integer> tempUnexecutedOperationList = new ArrayList<>();
 		int numberOfOperations = operationsList.size();
-		for (int i = 0; i < numberOfOperations; i++) {
-			unexecutedOperationList.add(i);
-		}
-		boolean seqUpdated = false;
-		while (executionSeq.size() < numberOfOperations) {
-			seqUpdated = false;
-			for (int index = 0; unexecutedOperationList.size() > index; ++index) {
-				if (operationIsExecutable(unexecutedOperationList.get(index))) {
-					executionSeq.add(unexecutedOperationList.get(index));
-					addOutputsToResolvedVariables(unexecutedOperationList.get(index));
-					seqUpdated = true;
-				} else {
-					tempUnexecutedOperationList.add(unexecutedOperationList.get(index));
+		int numberOfVariables = variablesArray.size();
+		// number of distinct unresolved input variables of each operation
+		int[] pendingInputs = new int[numberOfOperations];
+		// operations waiting for each variable, indexed by waitingOffsets
+		int[] waitingOffsets = new int[numberOfVariables + 1];
+		int[] lastOperation = new int[numberOfVariables];
+
+		Arrays.fill(lastOperation, -1);
+		for (int operation = 0; operation < numberOfOperations; operation++) {
+			for (Integer inputVariableIndex : inputAdjList.get(operation)) {
+				if (isPendingInput(inputVariableIndex, operation, lastOperation)) {
+					pendingInputs[operation]++;
+					if (inputVariableIndex < numberOfVariables) {
+						waitingOffsets[inputVariableIndex + 1]++;
+					}
 				}
 			}
-			if (!seqUpdated && !tempUnexecutedOperationList.isEmpty()) {
-				throw new DataMapperException("Unresolvable Mapping config detected");
+		}
+		for (int variable = 0; variable < numberOfVariables; variable++) {
+			waitingOffsets[variable + 1] += waitingOffsets[variable];
+		}
+		int[] waitingOperations = new int[waitingOffsets[numberOfVariables]];
+		int[] nextWaitingOperation = Arrays.copyOf(waitingOffsets, numberOfVariables);
+		Arrays.fill(lastOperation, -1);
+		for (int operation = 0; operation < numberOfOperations; operation++) {
+			for (Integer inputVariableIndex : inputAdjList.get(operation)) {
+				if (isPendingInput(inputVariableIndex, operation, lastOperation)
+						&& inputVariableIndex < numberOfVariables) {
+					waitingOperations[nextWaitingOperation[inputVariableIndex]++] = operation;
+				}
 			}
-			unexecutedOperationList = tempUnexecutedOperationList;
-			tempUnexecutedOperationList = new ArrayList<>();
 		}
-	}
 
-	private void addOutputsToResolvedVariables(Integer index) {
-		ArrayList<Integer> outputVariables = outputAdjList.get(index);
-		for (Integer operationOutputVariable : outputVariables) {
-			if (outputVariablesArray.indexOf(operationOutputVariable) >= 0) {
-				getResolvedOutputVariableArray().add(operationOutputVariable);
-			} else {
-				getResolvedVariableArray().add(operationOutputVariable);
+		BitSet currentPass = new BitSet(numberOfOperations);
+		BitSet nextPass = new BitSet(numberOfOperations);
+		for (int operation = 0; operation < numberOfOperations; operation++) {
+			if (pendingInputs[operation] == 0) {
+				currentPass.set(operation);
+			}
+		}
+		while (executionSeq.size() < numberOfOperations) {
+			if (currentPass.isEmpty()) {
+				throw new DataMapperException("Unresolvable Mapping config detected");
 			}
+			for (int operation = currentPass.nextSetBit(0); operation >= 0; operation = currentPass
+					.nextSetBit(operation + 1)) {
+				executionSeq.add(operation);
+				for (Integer outputVariableIndex : outputAdjList.get(operation)) {
+					if (outputVariableIndex < 0 || outputVariableIndex >= numberOfVariables
+							|| resolvedVariables.get(outputVariableIndex)) {
+						continue;
+					}
+					resolvedVariables.set(outputVariableIndex);
+					for (int i = waitingOffsets[outputVariableIndex]; i < waitingOffsets[outputVariableIndex + 1]; i++) {
+						int waitingOperation = waitingOperations[i];
+						if (--pendingInputs[waitingOperation] == 0) {
+							// operations after the current one are still visited in this pass
+							if (waitingOperation > operation) {
+								currentPass.set(waitingOperation);
+							} else {
+								nextPass.set(waitingOperation);
+							}
+						}
+					}
+				}
+			}
+			BitSet executedPass = currentPass;
+			currentPass = nextPass;
+			nextPass = executedPass;
+			nextPass.clear();
 		}
 	}
 
 	/**
-	 * Checks whether all input variables for the operation in inputAdjList are
-	 * in the resolvedVariable list
-	 * 
-	 * @param index
-	 * @return
+	 * Checks whether the input variable of the operation is not resolved yet
+	 * and is not counted for the operation before
 	 */
-	private boolean operationIsExecutable(Integer index) {
-		ArrayList<Integer> inputVariables = inputAdjList.get(index);
-		for (Integer inputVariableIndex : inputVariables) {
-			if (inputVariableIndex < 0) {
-				continue;
-			}
-			if (getResolvedVariableArray().indexOf(inputVariableIndex) < 0
-					&& getResolvedOutputVariableArray().indexOf(inputVariableIndex) < 0) {
-				return false;
-			}
+	private boolean isPendingInput(int inputVariableIndex, int operation, int[] lastOperation) {
+		if (inputVariableIndex < 0) {
+			return false;
+		}
+		if (inputVariableIndex >= lastOperation.length) {
+			// never resolved by an operation
+			return true;
+		}
+		if (resolvedVariables.get(inputVariableIndex) || lastOperation[inputVariableIndex] == operation) {
+			return false;
 		}
+		lastOperation[inputVariableIndex] = operation;
 		return true;
 	}
 
@@ -981,7 +1023,6 @@ public class DataMapperDiagramModel {
 				}
 				variablesArray.add(new DMVariable(variableName, currentNode.toString(), DMVariableType.OUTPUT,
 						variableType, variableIndex, parentVariableIndex,mappedInputElementName, mappedInputRootArrayElementName));
-				outputVariablesArray.add(variableIndex);
 				currentTreeNode.setIndex(variableIndex);
 				addVariableTypeToMap(variableName, variableType);
 				if (isUnNamed(currentTreeNode)) {
@@ -1142,14 +1183,6 @@ public class DataMapperDiagramModel {
 		this.operationsList = operationsArray;
 	}
 
-	private List<Integer> getResolvedVariableArray() {
-		return resolvedVariableArray;
-	}
-
-	private List<Integer> getResolvedOutputVariableArray() {
-		return resolvedOutputVariableArray;
-	}
-
 	public List<ArrayList<Integer>> getInputAdjList() {
 		return inputAdjList;
 	}
@@ -15,6 +15,9 @@
  */
 package org.wso2.integrationstudio.datamapper.diagram.custom.persistence;
 
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.util.EContentAdapter;
 import org.wso2.integrationstudio.datamapper.DataMapperRoot;
 import org.wso2.integrationstudio.datamapper.diagram.custom.exception.DataMapperException;
 import org.wso2.integrationstudio.datamapper.diagram.custom.generator.DifferentLevelArrayMappingConfigGenerator;
@@ -42,16 +45,56 @@ public class DataMapperModelTransformer {
     }
 
     /**
-     * traverse in datamapper map model and generate DataMapperConfigurtion config
+     * traverse in datamapper map model and generate DataMapperConfigurtion config. The configuration is generated
+     * again only if the datamapper model changed since it was last generated.
      * 
      * @param rootDiagram datamapper graphical model root
      * @return complete configuration of mapping
      * @throws DataMapperException 
      */
     public String transform(DataMapperRoot rootDiagram) throws DataMapperException {
-        DataMapperDiagramModel mappingModel = new DataMapperDiagramModel(rootDiagram);
-        DifferentLevelArrayMappingConfigGenerator configGenerator = new DifferentLevelArrayMappingConfigGenerator();
-        String functionList = configGenerator.generateMappingConfig(mappingModel);
-        return functionList;
+        GeneratedConfigAdapter generatedConfig = getGeneratedConfigAdapter(rootDiagram);
+        if (generatedConfig.config != null) {
+            return generatedConfig.config;
+        }
+        generatedConfig.generating = true;
+        try {
+            DataMapperDiagramModel mappingModel = new DataMapperDiagramModel(rootDiagram);
+            DifferentLevelArrayMappingConfigGenerator configGenerator = new DifferentLevelArrayMappingConfigGenerator();
+            String functionList = configGenerator.generateMappingConfig(mappingModel);
+            generatedConfig.config = functionList;
+            return functionList;
+        } finally {
+            generatedConfig.generating = false;
+        }
+    }
+
+    private GeneratedConfigAdapter getGeneratedConfigAdapter(DataMapperRoot rootDiagram) {
+        for (Adapter adapter : rootDiagram.eAdapters()) {
+            if (adapter instanceof GeneratedConfigAdapter) {
+                return (GeneratedConfigAdapter) adapter;
+            }
+        }
+        GeneratedConfigAdapter generatedConfig = new GeneratedConfigAdapter();
+        rootDiagram.eAdapters().add(generatedConfig);
+        return generatedConfig;
+    }
+
+    /**
+     * Holds the configuration last generated for a datamapper model and drops it when any element of the model
+     * changes. Changes made while generating only update traversal state of the model and are ignored.
+     */
+    private static class GeneratedConfigAdapter extends EContentAdapter {
+
+        private String config;
+        private boolean generating;
+
+        @Override
+        public void notifyChanged(Notification notification) {
+            super.notifyChanged(notification);
+            if (!generating && !notification.isTouch()) {
+                config = null;
+            }
+        }
     }
 }
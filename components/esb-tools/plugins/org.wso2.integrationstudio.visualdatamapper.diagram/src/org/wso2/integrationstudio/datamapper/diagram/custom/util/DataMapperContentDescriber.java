@@ -2,18 +2,31 @@ package org.wso2.integrationstudio.datamapper.diagram.custom.util;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 
-import org.apache.commons.io.IOUtils;
 import org.eclipse.core.runtime.QualifiedName;
 import org.eclipse.core.runtime.content.IContentDescriber;
 import org.eclipse.core.runtime.content.IContentDescription;
 
 public class DataMapperContentDescriber implements IContentDescriber {
 
+	private static final String DATA_MAPPER_CONFIG = "/* WSO2 Data Mapper Config */";
+
+	/**
+	 * A data mapper configuration file contains only the marker, so no more of the file than one character past the
+	 * marker is read.
+	 */
 	@Override
 	public int describe(InputStream arg0, IContentDescription arg1) throws IOException {
-		String myString = IOUtils.toString(arg0, "UTF-8");
-		if ("/* WSO2 Data Mapper Config */".equals(myString)) {
+		Reader reader = new InputStreamReader(arg0, "UTF-8");
+		char[] content = new char[DATA_MAPPER_CONFIG.length() + 1];
+		int length = 0;
+		int read;
+		while (length < content.length && (read = reader.read(content, length, content.length - length)) != -1) {
+			length += read;
+		}
+		if (DATA_MAPPER_CONFIG.equals(new String(content, 0, length))) {
 			return VALID;
 		} else {
 			return INVALID;
@@ -72,7 +72,17 @@ public class SchemaBuilder {
 	}
 
 	public String createSchema(String jsonString, FileType type) {
-		JsonParser jsonParser = new JsonParser();
+		return createSchema(new JsonParser().parse(jsonString), type);
+	}
+
+	/**
+	 * Create the schema of a JSON element already read from the sample
+	 * 
+	 * @param jsonElement
+	 * @param type
+	 * @return
+	 */
+	public String createSchema(JsonElement jsonElement, FileType type) {
 		JsonObject firstObject = null;
 		String title = ROOT_TITLE;
 		JsonObject jsonObject = null;
@@ -82,9 +92,8 @@ public class SchemaBuilder {
 		root.setDolarSchema(HTTP_JSON_SCHEMA_ORG_DRAFT_04_SCHEMA);
 		root.setId(HTTP_WSO2JSONSCHEMA_ORG);
 
-		if (jsonParser.parse(jsonString) instanceof JsonObject) {
-			// TODO handle parsing exception
-			jsonObject = (JsonObject) jsonParser.parse(jsonString); 
+		if (jsonElement instanceof JsonObject) {
+			jsonObject = (JsonObject) jsonElement;
 			Set<Entry<String, JsonElement>> entrySet = jsonObject.entrySet();
 			if(type.toString().toLowerCase().equals(XML)){
 				//If type is xml, then check if it has a root element
@@ -112,7 +121,7 @@ public class SchemaBuilder {
 			createSchemaForObject(firstObject, root);
 
 		} else {
-			jsonArray = (JsonArray) jsonParser.parse(jsonString);
+			jsonArray = (JsonArray) jsonElement;
 			root.setType(ARRAY);
 			createSchemaForArrayRoot(jsonArray, root);
 		}
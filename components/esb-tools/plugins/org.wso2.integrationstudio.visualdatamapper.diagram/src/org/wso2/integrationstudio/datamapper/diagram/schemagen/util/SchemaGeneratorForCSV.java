@@ -18,64 +18,34 @@ package org.wso2.integrationstudio.datamapper.diagram.schemagen.util;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.List;
-import java.util.Map;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.Charset;
 
 import org.apache.commons.io.FileUtils;
 
-import com.fasterxml.jackson.databind.MappingIterator;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.csv.CsvMapper;
-import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.google.gson.JsonArray;
 
 public class SchemaGeneratorForCSV extends AbstractSchemaGenerator implements ISchemaGenerator {
 
 	@Override
 	public String getSchemaResourcePath(String filePath, FileType type, String delimiter) throws IOException {
-		String entireFileText = FileUtils.readFileToString(new File(filePath));
-		return getSchemaContent(entireFileText, type, delimiter);
+		try (Reader reader = new InputStreamReader(FileUtils.openInputStream(new File(filePath)),
+				Charset.defaultCharset())) {
+			return createSchema(reader, type, delimiter);
+		}
 	}
 
 	@Override
 	public String getSchemaContent(String fileText, FileType type, String delimiter) throws IOException {
-		List<Map<String, String>> data = readObjectsFromCsv(fileText, delimiter);
-		String value = writeAsJson(data);
-		SchemaBuilderWithNamepaces sb = new SchemaBuilderWithNamepaces();
-		String jsonSchema = sb.createSchema(value, type);
-		return jsonSchema;
-	}
-
-	/**
-	 * Read objects from CSV
-	 * 
-	 * @param content
-	 * @return
-	 * @throws IOException
-	 */
-	public List<Map<String, String>> readObjectsFromCsv(String content, String delimiter) throws IOException {
-		CsvMapper mapper = new CsvMapper();
-		char delimiterChar =',';
-		if (!delimiter.isEmpty()) {
-			delimiterChar = delimiter.charAt(0);
-		}
-		CsvSchema schema = CsvSchema.emptySchema().withHeader().withColumnSeparator(delimiterChar);
-		MappingIterator<Map<String, String>> it = mapper.readerFor(Map.class).with(schema).readValues(content);
-		return it.readAll();
+		return createSchema(new StringReader(fileText), type, delimiter);
 	}
 
-	/**
-	 * get the json string
-	 * @param data
-	 * @return
-	 * @throws IOException
-	 */
-	public String writeAsJson(List<Map<String, String>> data) throws IOException {
-		String value = null;
-		ObjectMapper mapper = new ObjectMapper();
-		if(data != null){
-		value = mapper.writeValueAsString(data);
-		}
-		return value;
-
+	private String createSchema(Reader reader, FileType type, String delimiter) throws IOException {
+		JsonArray rows = new SchemaSampleReader().readCsv(reader, delimiter);
+		SchemaBuilderWithNamepaces sb = new SchemaBuilderWithNamepaces();
+		String jsonSchema = sb.createSchema(rows, type);
+		return jsonSchema;
 	}
 }
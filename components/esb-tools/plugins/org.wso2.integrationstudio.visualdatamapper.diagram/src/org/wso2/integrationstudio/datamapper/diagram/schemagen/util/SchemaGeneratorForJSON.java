@@ -18,21 +18,34 @@ package org.wso2.integrationstudio.datamapper.diagram.schemagen.util;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.Charset;
 
 import org.apache.commons.io.FileUtils;
 
+import com.google.gson.JsonElement;
+
 public class SchemaGeneratorForJSON extends AbstractSchemaGenerator implements ISchemaGenerator {
 
 	@Override
 	public String getSchemaResourcePath(String filePath, FileType type, String delimiter) throws IOException {
-		String entireFileText = FileUtils.readFileToString(new File(filePath));
-		return  getSchemaContent(entireFileText, type, null);
+		try (Reader reader = new InputStreamReader(FileUtils.openInputStream(new File(filePath)),
+				Charset.defaultCharset())) {
+			return createSchema(reader, type);
+		}
 	}
 
 	@Override
 	public String getSchemaContent(String fileText, FileType type, String delimiter) throws IOException {
+		return createSchema(new StringReader(fileText), type);
+	}
+
+	private String createSchema(Reader reader, FileType type) throws IOException {
+		JsonElement jsonElement = new SchemaSampleReader().readJson(reader);
 		SchemaBuilderWithNamepaces sb = new SchemaBuilderWithNamepaces();
-		String jsonSchema = sb.createSchema(fileText, type);
+		String jsonSchema = sb.createSchema(jsonElement, type);
 		return  jsonSchema;
 	}
 
@@ -18,6 +18,7 @@ package org.wso2.integrationstudio.datamapper.diagram.schemagen.util;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -89,7 +90,11 @@ public class SchemaGeneratorForXML extends SchemaGeneratorForJSON implements ISc
 
 	@Override
 	public String getSchemaResourcePath(String filePath, FileType type, String delimiter) throws IOException {
-		String entireFileText = FileUtils.readFileToString(new File(filePath));
+		String entireFileText;
+		try (InputStream inputStream = FileUtils.openInputStream(new File(filePath))) {
+			// sample before the attributes are replaced, the replaced element names are not valid XML names
+			entireFileText = new SchemaSampleReader().readXml(inputStream);
+		}
 		entireFileText = replaceAttributesWithElements(entireFileText);
 		return getSchemaContent(entireFileText, type, null);
 	}
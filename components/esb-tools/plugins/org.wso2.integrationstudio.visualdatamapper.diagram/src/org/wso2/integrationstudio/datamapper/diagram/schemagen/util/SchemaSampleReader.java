@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.integrationstudio.datamapper.diagram.schemagen.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.wso2.integrationstudio.datamapper.diagram.Activator;
+import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
+import org.wso2.integrationstudio.logging.core.Logger;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+/**
+ * This class reads sample CSV, JSON and XML content as a token stream and keeps only a sample of it for schema
+ * generation, so that the memory used depends on the size of the schema rather than the size of the sample file.
+ * <p>
+ * At most the configured number of CSV rows, JSON array elements and XML elements of the same name under a parent
+ * are read. The number can be set with the datamapper.schemagen.sample.size system property.
+ *
+ */
+public class SchemaSampleReader {
+
+	public static final String SAMPLE_SIZE_PROPERTY = "datamapper.schemagen.sample.size";
+	public static final int DEFAULT_SAMPLE_SIZE = 1000;
+	private static final char DEFAULT_DELIMITER = ',';
+
+	private static IIntegrationStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
+
+	private final int sampleSize;
+
+	public SchemaSampleReader() {
+		this(getConfiguredSampleSize());
+	}
+
+	public SchemaSampleReader(int sampleSize) {
+		this.sampleSize = sampleSize;
+	}
+
+	private static int getConfiguredSampleSize() {
+		int size = Integer.getInteger(SAMPLE_SIZE_PROPERTY, DEFAULT_SAMPLE_SIZE);
+		if (size <= 0) {
+			log.warn("Invalid schema generation sample size " + size + ", using " + DEFAULT_SAMPLE_SIZE);
+			size = DEFAULT_SAMPLE_SIZE;
+		}
+		return size;
+	}
+
+	/**
+	 * Read the sampled rows of a CSV with a header into a JSON array holding a single row. The row has every column
+	 * found in the sampled rows, with the first value read for it.
+	 *
+	 * @param reader
+	 * @param delimiter
+	 * @return
+	 * @throws IOException
+	 */
+	public JsonArray readCsv(Reader reader, String delimiter) throws IOException {
+		char delimiterChar = DEFAULT_DELIMITER;
+		if (delimiter != null && !delimiter.isEmpty()) {
+			delimiterChar = delimiter.charAt(0);
+		}
+		CsvSchema schema = CsvSchema.emptySchema().withHeader().withColumnSeparator(delimiterChar);
+		Map<String, String> columns = new LinkedHashMap<>();
+		try (MappingIterator<Map<String, String>> rows = new CsvMapper().readerFor(Map.class).with(schema)
+				.readValues(reader)) {
+			for (int count = 0; count < sampleSize && rows.hasNextValue(); count++) {
+				for (Entry<String, String> column : rows.nextValue().entrySet()) {
+					if (columns.get(column.getKey()) == null) {
+						columns.put(column.getKey(), column.getValue());
+					}
+				}
+			}
+		}
+
+		JsonArray jsonArray = new JsonArray();
+		if (!columns.isEmpty()) {
+			JsonObject row = new JsonObject();
+			for (Entry<String, String> column : columns.entrySet()) {
+				row.add(column.getKey(), toPrimitive(column.getValue()));
+			}
+			jsonArray.add(row);
+		}
+		return jsonArray;
+	}
+
+	private static JsonElement toPrimitive(String value) {
+		return value == null ? JsonNull.INSTANCE : new JsonPrimitive(value);
+	}
+
+	/**
+	 * Read JSON content keeping only the sampled elements of each array
+	 *
+	 * @param reader
+	 * @return
+	 * @throws IOException
+	 */
+	public JsonElement readJson(Reader reader) throws IOException {
+		JsonFactory factory = new JsonFactory();
+		// accept what the Gson parser used before accepted
+		factory.enable(JsonParser.Feature.ALLOW_COMMENTS);
+		factory.enable(JsonParser.Feature.ALLOW_SINGLE_QUOTES);
+		factory.enable(JsonParser.Feature.ALLOW_UNQUOTED_FIELD_NAMES);
+		factory.enable(JsonParser.Feature.ALLOW_NON_NUMERIC_NUMBERS);
+		try (JsonParser parser = factory.createParser(reader)) {
+			if (parser.nextToken() == null) {
+				return JsonNull.INSTANCE;
+			}
+			return readValue(parser);
+		}
+	}
+
+	private JsonElement readValue(JsonParser parser) throws IOException {
+		JsonToken token = parser.getCurrentToken();
+		switch (token) {
+		case START_OBJECT:
+			JsonObject jsonObject = new JsonObject();
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String name = parser.getCurrentName();
+				parser.nextToken();
+				jsonObject.add(name, readValue(parser));
+			}
+			return jsonObject;
+		case START_ARRAY:
+			JsonArray jsonArray = new JsonArray();
+			int count = 0;
+			while (parser.nextToken() != JsonToken.END_ARRAY) {
+				if (count++ < sampleSize) {
+					jsonArray.add(readValue(parser));
+				} else {
+					parser.skipChildren();
+				}
+			}
+			return jsonArray;
+		case VALUE_STRING:
+			return new JsonPrimitive(parser.getText());
+		case VALUE_NUMBER_INT:
+		case VALUE_NUMBER_FLOAT:
+			// keep the number as written, without the precision loss of a double
+			String number = parser.getText();
+			try {
+				return new JsonPrimitive(new BigDecimal(number));
+			} catch (NumberFormatException e) {
+				// NaN and Infinity, which have no decimal value but are still numbers
+				return new JsonPrimitive(parser.getDoubleValue());
+			}
+		case VALUE_TRUE:
+		case VALUE_FALSE:
+			return new JsonPrimitive(parser.getBooleanValue());
+		case VALUE_NULL:
+			return JsonNull.INSTANCE;
+		default:
+			throw new IOException("Unexpected JSON token " + token + " at " + parser.getCurrentLocation());
+		}
+	}
+
+	/**
+	 * Read XML content keeping only the sampled elements of each name under a parent. Comments, processing
+	 * instructions and the document type declaration are dropped.
+	 *
+	 * @param inputStream
+	 * @return the sampled XML
+	 * @throws IOException
+	 */
+	public String readXml(InputStream inputStream) throws IOException {
+		XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+		inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		StringWriter sample = new StringWriter();
+		XMLStreamReader reader = null;
+		XMLStreamWriter writer = null;
+		try {
+			reader = inputFactory.createXMLStreamReader(inputStream);
+			writer = XMLOutputFactory.newInstance().createXMLStreamWriter(sample);
+			copySample(reader, writer);
+			writer.flush();
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		} finally {
+			close(reader, writer);
+		}
+		return sample.toString();
+	}
+
+	private void copySample(XMLStreamReader reader, XMLStreamWriter writer) throws XMLStreamException {
+		// counts of the child elements read so far, by name, for each open element
+		Deque<Map<String, Integer>> childCounts = new ArrayDeque<>();
+		childCounts.push(new HashMap<String, Integer>());
+		while (reader.hasNext()) {
+			switch (reader.next()) {
+			case XMLStreamConstants.START_ELEMENT:
+				String prefix = reader.getPrefix() == null ? "" : reader.getPrefix();
+				String name = prefix.isEmpty() ? reader.getLocalName() : prefix + ":" + reader.getLocalName();
+				Map<String, Integer> siblings = childCounts.peek();
+				Integer count = siblings.get(name);
+				count = count == null ? 1 : count + 1;
+				siblings.put(name, count);
+				if (count > sampleSize) {
+					skipElement(reader);
+				} else {
+					writeStartElement(reader, writer, prefix);
+					childCounts.push(new HashMap<String, Integer>());
+				}
+				break;
+			case XMLStreamConstants.END_ELEMENT:
+				writer.writeEndElement();
+				childCounts.pop();
+				break;
+			case XMLStreamConstants.CHARACTERS:
+			case XMLStreamConstants.SPACE:
+				writer.writeCharacters(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+				break;
+			case XMLStreamConstants.CDATA:
+				writer.writeCData(reader.getText());
+				break;
+			case XMLStreamConstants.ENTITY_REFERENCE:
+				writer.writeEntityRef(reader.getLocalName());
+				break;
+			default:
+				break;
+			}
+		}
+	}
+
+	private static void writeStartElement(XMLStreamReader reader, XMLStreamWriter writer, String prefix)
+			throws XMLStreamException {
+		String namespaceURI = reader.getNamespaceURI() == null ? "" : reader.getNamespaceURI();
+		writer.writeStartElement(prefix, reader.getLocalName(), namespaceURI);
+		for (int i = 0; i < reader.getNamespaceCount(); i++) {
+			String namespacePrefix = reader.getNamespacePrefix(i);
+			if (namespacePrefix == null || namespacePrefix.isEmpty()) {
+				writer.writeDefaultNamespace(reader.getNamespaceURI(i));
+			} else {
+				writer.writeNamespace(namespacePrefix, reader.getNamespaceURI(i));
+			}
+		}
+		for (int i = 0; i < reader.getAttributeCount(); i++) {
+			String attributePrefix = reader.getAttributePrefix(i);
+			if (attributePrefix == null || attributePrefix.isEmpty()) {
+				writer.writeAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+			} else {
+				writer.writeAttribute(attributePrefix, reader.getAttributeNamespace(i),
+						reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+			}
+		}
+	}
+
+	private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+		int depth = 1;
+		while (depth > 0) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				depth++;
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				depth--;
+			}
+		}
+	}
+
+	private static void close(XMLStreamReader reader, XMLStreamWriter writer) {
+		try {
+			if (writer != null) {
+				writer.close();
+			}
+			if (reader != null) {
+				reader.close();
+			}
+		} catch (XMLStreamException e) {
+			log.warn("Error while closing the XML sample streams", e);
+		}
+	}
+}
@@ -145,6 +145,15 @@ public class CarbonServerBehavior44microei41 extends CarbonServerBehaviour {
         return null;
     }
 
+    protected File getDeploymentWatchDirectory() {
+        String carbonHome = carbonServer44eiUtils.resolveProperties(getServer(), ServerConstants.PROP_CARBON_HOME);
+        if (carbonHome == null) {
+            return null;
+        }
+        // the server extracts each CApp it deploys into this directory
+        return new File(carbonHome, "tmp" + File.separator + "carbonapps");
+    }
+
     protected List getStartClasspath() {
         List startClasspath = super.getStartClasspath();
         GenericServerRuntime runtime = getRuntimeDelegate();
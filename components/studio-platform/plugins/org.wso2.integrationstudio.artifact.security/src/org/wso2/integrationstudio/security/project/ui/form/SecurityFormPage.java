@@ -114,6 +114,7 @@ public class SecurityFormPage extends FormPage {
     private static final int NUM_OF_COLUMNS_GRID_LAYOUT_MAIN_PAGE = 6;
     private static final String TIP_MESSAGE = "Description not available";
     private static final String PLUGIN_NAME = "org.wso2.integrationstudio.artifact.security";
+    private static volatile JAXBContext policyContext;
 
     private boolean pageDirty = false;
 
@@ -1058,11 +1059,27 @@ public class SecurityFormPage extends FormPage {
      * @throws JAXBException
      */
     private Unmarshaller getUnmarshaller() throws JAXBException {
-        JAXBContext jaxbContext = JAXBContext.newInstance(Policy2.class);
-        Unmarshaller uUnmarshaller = jaxbContext.createUnmarshaller();
+        Unmarshaller uUnmarshaller = getPolicyContext().createUnmarshaller();
         return uUnmarshaller;
     }
 
+    /**
+     * Gets the JAXB context of policies, which is created once and shared as it is thread safe and costly to create
+     *
+     * @return JAXB context of {@link Policy2}
+     * @throws JAXBException
+     */
+    private static JAXBContext getPolicyContext() throws JAXBException {
+        if (policyContext == null) {
+            synchronized (SecurityFormPage.class) {
+                if (policyContext == null) {
+                    policyContext = JAXBContext.newInstance(Policy2.class);
+                }
+            }
+        }
+        return policyContext;
+    }
+
     /**
      * Saves the final configurations to the file
      *
@@ -17,34 +17,27 @@
 
 package org.wso2.integrationstudio.security.project.utils;
 
-import java.io.IOException;
-import java.io.InputStream;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
-import jakarta.xml.bind.JAXBContext;
-import jakarta.xml.bind.Unmarshaller;
-
-import org.eclipse.core.runtime.content.IContentDescription;
-import org.eclipse.core.runtime.content.XMLContentDescriber;
-import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
-import org.wso2.integrationstudio.logging.core.Logger;
-import org.wso2.integrationstudio.security.Activator;
+import org.wso2.integrationstudio.platform.core.utils.XMLStreamContentDescriber;
 import org.wso2.integrationstudio.security.project.model.ServiceGroup;
 
-public class SecurityContentDescriber extends XMLContentDescriber {
+/**
+ * Recognizes service meta files from their root element, which is the root element of {@link ServiceGroup}
+ */
+public class SecurityContentDescriber extends XMLStreamContentDescriber {
+
+	private static final String SERVICE_GROUP = "serviceGroup";
 
-	private static IIntegrationStudioLog log=Logger.getLog(Activator.PLUGIN_ID);
 	@Override
-	public int describe(InputStream input, IContentDescription description)throws IOException {
-		try {
-			JAXBContext jaxbContext = JAXBContext.newInstance(ServiceGroup.class);
-			Unmarshaller uUnmarshaller = jaxbContext.createUnmarshaller();
-		    ServiceGroup group	=(ServiceGroup) uUnmarshaller.unmarshal(input);
-		
-		    return VALID;
-		} catch (Exception e) {
-			//log.warn("invalid target file");
-			return INVALID;
+	protected int describe(XMLStreamReader reader) throws XMLStreamException {
+		if (moveToRootElement(reader) && SERVICE_GROUP.equals(reader.getLocalName())) {
+			String namespace = reader.getNamespaceURI();
+			if (namespace == null || namespace.isEmpty()) {
+				return VALID;
+			}
 		}
-		
+		return INVALID;
 	}
 }
@@ -17,53 +17,92 @@
 package org.wso2.integrationstudio.carbon.server.model.util;
 
 import java.io.File;
-import java.util.ArrayList;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.eclipse.swt.widgets.Display;
 
+/**
+ * Notifies listeners when a file is created, changed or deleted. The file is watched by the shared
+ * {@link FileMonitorService} while monitoring is started.
+ */
 public abstract class FileMonitorCommon implements Runnable {
 	String path;
 	long lastModified = 0;
 	boolean existed;
 	boolean stop = true;
 	private long pollMilliseconds = 5000;
-	List<IFileStatusListener> fileStatusListeners = new ArrayList<IFileStatusListener>();
+	private Display display;
+	List<IFileStatusListener> fileStatusListeners = new CopyOnWriteArrayList<IFileStatusListener>();
 
 	public FileMonitorCommon(String path) {
 		this.path = path;
 	}
 
+	/**
+	 * Checks the file once and notifies the listeners of any change since the last check
+	 */
 	public void run() {
+		checkFile();
+	}
+
+	Path getFilePath() {
+		return Paths.get(path);
+	}
+
+	synchronized void initState() {
 		File file = new File(path);
 		existed = file.exists();
-		if (file.exists()) {
+		if (existed) {
 			lastModified = file.lastModified();
 		}
-		while (true) {
-			file = new File(path);
-			if (file.exists()) {
-				if (!existed) {
-					existed = true;
-					triggerFileCreateEvents(file, file.lastModified());
+	}
+
+	synchronized boolean hasFileChanged() {
+		File file = new File(path);
+		return file.exists() != existed || (existed && file.lastModified() != lastModified);
+	}
+
+	void checkFile() {
+		final File file = new File(path);
+		final long previousModified;
+		final long newModified;
+		final boolean created;
+		final boolean deleted;
+		synchronized (this) {
+			previousModified = lastModified;
+			boolean exists = file.exists();
+			created = exists && !existed;
+			deleted = !exists && existed;
+			existed = exists;
+			newModified = exists ? file.lastModified() : lastModified;
+			lastModified = newModified;
+		}
+		final boolean changed = !deleted && previousModified != newModified;
+		if (!created && !deleted && !changed) {
+			return;
+		}
+		// listeners are called outside the lock, so they can stop the monitor
+		Runnable notifier = new Runnable() {
+			public void run() {
+				if (created) {
+					triggerFileCreateEvents(file, newModified);
 				}
-				if (lastModified != file.lastModified()) {
-					long newModified = file.lastModified();
-					triggerFileChangeEvents(file, lastModified, newModified);
-					lastModified = newModified;
+				if (changed) {
+					triggerFileChangeEvents(file, previousModified, newModified);
 				}
-			} else {
-				if (existed) {
-					existed = false;
-					triggerFileDeleteEvents(file, lastModified);
+				if (deleted) {
+					triggerFileDeleteEvents(file, previousModified);
 				}
 			}
-			try {
-				Thread.sleep(pollMilliseconds);
-			} catch (InterruptedException e) {
-			}
-			if (stop)
-				break;
+		};
+		Display notifierDisplay = display;
+		if (notifierDisplay != null && !notifierDisplay.isDisposed()) {
+			notifierDisplay.asyncExec(notifier);
+		} else {
+			notifier.run();
 		}
 	}
 
@@ -107,20 +146,28 @@ public abstract class FileMonitorCommon implements Runnable {
 		startMonitoring(null);
 	}
 
+	/**
+	 * Starts monitoring the file, notifying the listeners in the UI thread of the display if one is given
+	 */
 	public void startMonitoring(Display display) {
 		if (stop) {
 			stop = false;
-			if (display == null)
-				new Thread(this).start();
-			else
-				display.asyncExec(this);
+			this.display = display;
+			FileMonitorService.getInstance().register(this);
 		}
 	}
 
 	public void stopMonitoring() {
-		stop = true;
+		if (!stop) {
+			stop = true;
+			FileMonitorService.getInstance().unregister(this);
+		}
 	}
 
+	/**
+	 * Sets the longest interval between checks of the file when it is polled, which is only where the file system
+	 * can not notify changes
+	 */
 	public void setPollMilliseconds(long pollMilliseconds) {
 		this.pollMilliseconds = pollMilliseconds;
 	}
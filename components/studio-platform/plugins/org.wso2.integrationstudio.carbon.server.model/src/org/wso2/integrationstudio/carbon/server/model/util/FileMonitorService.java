@@ -0,0 +1,273 @@
+/*
+* Copyright (c) 2015, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package org.wso2.integrationstudio.carbon.server.model.util;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.wso2.integrationstudio.carbon.server.model.Activator;
+import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
+import org.wso2.integrationstudio.logging.core.Logger;
+
+/**
+ * Watches the files of all the started {@link FileMonitorCommon} monitors from a single thread.
+ * <p>
+ * The parent directory of each file is registered with a {@link WatchService}, and a burst of events for a file is
+ * checked once after it settles for {@link #DEBOUNCE_MILLISECONDS}. Files in directories which can not be watched
+ * natively, including all files when the file system only offers a polling watch service, are polled instead. The poll
+ * interval starts at {@link #MIN_POLL_MILLISECONDS} and backs off to the poll interval of the monitor while the file
+ * does not change.
+ */
+public class FileMonitorService implements Runnable {
+
+	static final long DEBOUNCE_MILLISECONDS = 200;
+	static final long MIN_POLL_MILLISECONDS = 500;
+	// the longest the thread waits for events, so that newly polled monitors are picked up
+	private static final long MAX_WAIT_MILLISECONDS = 1000;
+
+	private static IIntegrationStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
+
+	private static volatile FileMonitorService instance;
+
+	private final WatchService watchService;
+	private final Map<Path, WatchKey> watchKeys = new HashMap<Path, WatchKey>();
+	private final Map<Path, List<FileMonitorCommon>> watchedMonitors = new HashMap<Path, List<FileMonitorCommon>>();
+	private final List<PolledMonitor> polledMonitors = new ArrayList<PolledMonitor>();
+	// monitors with pending events, by the time they are checked
+	private final Map<FileMonitorCommon, Long> pendingChecks = new LinkedHashMap<FileMonitorCommon, Long>();
+	private Thread thread;
+
+	public static FileMonitorService getInstance() {
+		if (instance != null) {
+			return instance;
+		}
+
+		synchronized (FileMonitorService.class) {
+			if (instance == null) {
+				instance = new FileMonitorService();
+			}
+		}
+
+		return instance;
+	}
+
+	private FileMonitorService() {
+		WatchService service = null;
+		try {
+			service = FileSystems.getDefault().newWatchService();
+			// the JDK falls back to a slow polling implementation where the OS has no file notifications
+			if (service.getClass().getName().contains("Polling")) {
+				service.close();
+				service = null;
+			}
+		} catch (IOException | UnsupportedOperationException e) {
+			log.warn("File system watch service is not available, polling files for changes", e);
+		}
+		watchService = service;
+	}
+
+	/**
+	 * Starts watching the file of a monitor. The current state of the file is taken as the initial state.
+	 */
+	public synchronized void register(FileMonitorCommon monitor) {
+		monitor.initState();
+		Path directory = monitor.getFilePath().toAbsolutePath().getParent();
+		if (!watch(directory, monitor)) {
+			polledMonitors.add(new PolledMonitor(monitor));
+		}
+		if (thread == null) {
+			thread = new Thread(this, "File monitor");
+			thread.setDaemon(true);
+			thread.start();
+		}
+	}
+
+	/**
+	 * Stops watching the file of a monitor
+	 */
+	public synchronized void unregister(FileMonitorCommon monitor) {
+		pendingChecks.remove(monitor);
+		for (int i = polledMonitors.size() - 1; i >= 0; i--) {
+			if (polledMonitors.get(i).monitor == monitor) {
+				polledMonitors.remove(i);
+			}
+		}
+		Path directory = monitor.getFilePath().toAbsolutePath().getParent();
+		List<FileMonitorCommon> monitors = watchedMonitors.get(directory);
+		if (monitors != null && monitors.remove(monitor) && monitors.isEmpty()) {
+			watchedMonitors.remove(directory);
+			WatchKey key = watchKeys.remove(directory);
+			if (key != null) {
+				key.cancel();
+			}
+		}
+	}
+
+	private boolean watch(Path directory, FileMonitorCommon monitor) {
+		if (watchService == null || directory == null || !Files.isDirectory(directory)) {
+			return false;
+		}
+		if (!watchKeys.containsKey(directory)) {
+			try {
+				watchKeys.put(directory, directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+						StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY));
+			} catch (IOException | UnsupportedOperationException e) {
+				log.warn("Could not watch " + directory + ", polling it for changes", e);
+				return false;
+			}
+			watchedMonitors.put(directory, new ArrayList<FileMonitorCommon>());
+		}
+		watchedMonitors.get(directory).add(monitor);
+		return true;
+	}
+
+	public void run() {
+		while (true) {
+			long wait;
+			synchronized (this) {
+				if (watchKeys.isEmpty() && polledMonitors.isEmpty() && pendingChecks.isEmpty()) {
+					thread = null;
+					return;
+				}
+				wait = getWaitMilliseconds(System.currentTimeMillis());
+			}
+			try {
+				WatchKey key = waitForEvents(wait);
+				if (key != null) {
+					handleEvents(key);
+				}
+			} catch (InterruptedException | ClosedWatchServiceException e) {
+				synchronized (this) {
+					thread = null;
+				}
+				return;
+			}
+			for (FileMonitorCommon monitor : takeDueMonitors(System.currentTimeMillis())) {
+				try {
+					monitor.checkFile();
+				} catch (RuntimeException e) {
+					log.error("Error while notifying the listeners of " + monitor.getFilePath(), e);
+				}
+			}
+		}
+	}
+
+	private WatchKey waitForEvents(long wait) throws InterruptedException {
+		if (watchService == null) {
+			Thread.sleep(wait);
+			return null;
+		}
+		return watchService.poll(wait, TimeUnit.MILLISECONDS);
+	}
+
+	private long getWaitMilliseconds(long now) {
+		long next = now + MAX_WAIT_MILLISECONDS;
+		for (Long checkTime : pendingChecks.values()) {
+			next = Math.min(next, checkTime);
+		}
+		for (PolledMonitor polledMonitor : polledMonitors) {
+			next = Math.min(next, polledMonitor.nextPoll);
+		}
+		return Math.max(1, next - now);
+	}
+
+	private synchronized void handleEvents(WatchKey key) {
+		Path directory = (Path) key.watchable();
+		List<FileMonitorCommon> monitors = watchedMonitors.get(directory);
+		long checkTime = System.currentTimeMillis() + DEBOUNCE_MILLISECONDS;
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (monitors == null) {
+				continue;
+			}
+			for (FileMonitorCommon monitor : monitors) {
+				if (event.kind() == StandardWatchEventKinds.OVERFLOW
+						|| monitor.getFilePath().getFileName().equals(event.context())) {
+					// a later event in the burst pushes the check back
+					pendingChecks.remove(monitor);
+					pendingChecks.put(monitor, checkTime);
+				}
+			}
+		}
+		if (!key.reset() && monitors != null) {
+			// the directory is gone, poll its files until it is created again
+			watchKeys.remove(directory);
+			watchedMonitors.remove(directory);
+			for (FileMonitorCommon monitor : monitors) {
+				pendingChecks.put(monitor, System.currentTimeMillis());
+				polledMonitors.add(new PolledMonitor(monitor));
+			}
+		}
+	}
+
+	private synchronized List<FileMonitorCommon> takeDueMonitors(long now) {
+		List<FileMonitorCommon> due = new ArrayList<FileMonitorCommon>();
+		for (Map.Entry<FileMonitorCommon, Long> pendingCheck : new ArrayList<Map.Entry<FileMonitorCommon, Long>>(
+				pendingChecks.entrySet())) {
+			if (pendingCheck.getValue() <= now) {
+				pendingChecks.remove(pendingCheck.getKey());
+				due.add(pendingCheck.getKey());
+			}
+		}
+		for (int i = polledMonitors.size() - 1; i >= 0; i--) {
+			PolledMonitor polledMonitor = polledMonitors.get(i);
+			if (polledMonitor.nextPoll > now) {
+				continue;
+			}
+			FileMonitorCommon monitor = polledMonitor.monitor;
+			// move to native watching once the directory exists
+			if (watch(monitor.getFilePath().toAbsolutePath().getParent(), monitor)) {
+				polledMonitors.remove(i);
+			} else if (monitor.hasFileChanged()) {
+				polledMonitor.interval = MIN_POLL_MILLISECONDS;
+			} else {
+				polledMonitor.interval = Math.min(polledMonitor.interval * 2,
+						Math.max(MIN_POLL_MILLISECONDS, monitor.getPollMilliseconds()));
+			}
+			polledMonitor.nextPoll = now + polledMonitor.interval;
+			if (!due.contains(monitor)) {
+				due.add(monitor);
+			}
+		}
+		return due;
+	}
+
+	/**
+	 * A monitor whose file is polled, with its current poll interval
+	 */
+	private static class PolledMonitor {
+		private final FileMonitorCommon monitor;
+		private long interval = MIN_POLL_MILLISECONDS;
+		private long nextPoll = System.currentTimeMillis() + MIN_POLL_MILLISECONDS;
+
+		PolledMonitor(FileMonitorCommon monitor) {
+			this.monitor = monitor;
+		}
+	}
+}
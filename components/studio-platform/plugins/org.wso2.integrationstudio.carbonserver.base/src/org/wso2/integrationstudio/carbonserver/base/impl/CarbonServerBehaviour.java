@@ -110,6 +110,15 @@ public abstract class CarbonServerBehaviour extends GenericServerBehaviour imple
 
 	protected abstract String[] getPingURLList();
 
+	/**
+	 * Returns the directory the server deploys applications into while starting. A deployment makes the server be
+	 * pinged right away, with the ping backoff reset, but does not mark it as ready. Returns null when deployments are
+	 * not watched.
+	 */
+	protected File getDeploymentWatchDirectory() {
+		return null;
+	}
+
 	protected void startPingThread() {
 		try {
 			setServerisStillStarting(true);
@@ -119,7 +128,7 @@ public abstract class CarbonServerBehaviour extends GenericServerBehaviour imple
 				Trace.trace(Trace.SEVERE, "Can't ping for server startup.");
 				return;
 			}
-			ping = new CarbonPingThread(getServer(), urls, this);
+			ping = new CarbonPingThread(getServer(), urls, this, getDeploymentWatchDirectory());
 		} catch (Exception e) {
 			Trace.trace(Trace.SEVERE, "Can't ping for server startup.");
 		}
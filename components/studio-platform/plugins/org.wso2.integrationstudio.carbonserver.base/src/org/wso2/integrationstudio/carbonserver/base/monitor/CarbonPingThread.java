@@ -16,11 +16,26 @@
 
 package org.wso2.integrationstudio.carbonserver.base.monitor;
 
-import java.io.FileNotFoundException;
+import java.io.File;
+import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.net.URL;
-import java.net.URLConnection;
+import java.nio.file.FileSystems;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
 
+import org.eclipse.debug.core.ILaunch;
+import org.eclipse.debug.core.IStreamListener;
+import org.eclipse.debug.core.model.IProcess;
+import org.eclipse.debug.core.model.IStreamMonitor;
+import org.eclipse.debug.core.model.IStreamsProxy;
 import org.eclipse.jst.server.generic.core.internal.GenericServerBehaviour;
 import org.eclipse.jst.server.generic.core.internal.PingThread;
 import org.eclipse.jst.server.generic.core.internal.Trace;
@@ -32,29 +47,74 @@ import org.wso2.integrationstudio.carbonserver.base.impl.CarbonServerBehaviour;
 import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
 import org.wso2.integrationstudio.logging.core.Logger;
 
+/**
+ * Detects when a starting server is ready, from whichever of these happens first:
+ * <ul>
+ * <li>the server logs its started line on the console</li>
+ * <li>a ping URL of the server responds, pinged with an exponential backoff</li>
+ * </ul>
+ * Applications are deployed into the deployment directory of the server before its transports listen, so a deployment
+ * only makes the server be pinged right away. The server is stopped if it is not ready within its start timeout.
+ * <p>
+ * A remote server is not stopped on a timeout, and is kept being pinged after it is ready, so that it is marked as
+ * started again whenever it responds.
+ */
 public class CarbonPingThread extends PingThread {
-	private static final int PING_DELAY = 1000;
 	private static IIntegrationStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
-	// delay between pings
-	private static final int PING_INTERVAL = 250;
+	// delay after the first failed ping, doubled after each failed ping up to the maximum
+	private static final long MIN_PING_INTERVAL = 250;
+	private static final long MAX_PING_INTERVAL = 4000;
+	// delay between the pings of a remote server after it is ready
+	private static final long REMOTE_PING_INTERVAL = 1000;
+	private static final int PING_TIMEOUT = 2000;
+	// e.g. "WSO2 Carbon started in 35 sec" and "WSO2 Micro Integrator started in 2.36 seconds"
+	private static final Pattern STARTED_MARKER = Pattern.compile("started in \\d+(\\.\\d+)? sec");
+	// console output kept from the previous chunk, in case the started line is split between chunks
+	private static final int CONSOLE_TAIL_LENGTH = 128;
 
-	// maximum number of pings before giving up
-	private int maxPings = 56; // total: 16 seconds + connection time
+	public static final String SIGNAL_CONSOLE = "console";
+	public static final String SIGNAL_PING = "ping";
 
-	private boolean stop;
+	private volatile boolean stop;
+	private final AtomicBoolean finished = new AtomicBoolean();
 	private String[] fUrl;
 	private IServer fServer;
 	private CarbonServerBehaviour fGenericServer;
+	private File deploymentDirectory;
+	private long startTimeout;
+	private long startTime;
+	private volatile long startupMillis = -1;
+	private volatile String readySignal;
+
+	private final List<IStreamMonitor> consoleMonitors = new ArrayList<IStreamMonitor>();
+	private final StringBuilder consoleTail = new StringBuilder();
+	private WatchService deploymentWatcher;
+
+	private final IStreamListener consoleListener = new IStreamListener() {
+		public void streamAppended(String text, IStreamMonitor monitor) {
+			checkConsole(text);
+		}
+	};
 
 	public CarbonPingThread(IServer server, String[] url, CarbonServerBehaviour genericServer) {
+		this(server, url, genericServer, null);
+	}
+
+	/**
+	 * @param deploymentDirectory directory the server deploys applications into, or null to not watch deployments
+	 */
+	public CarbonPingThread(IServer server, String[] url, CarbonServerBehaviour genericServer,
+	                        File deploymentDirectory) {
 		super(server, url[0], genericServer);
+		this.startTime = System.currentTimeMillis();
 		this.fServer = server;
 		this.fUrl = url;
-		this.maxPings = guessMaxPings(genericServer);
+		this.startTimeout = guessStartTimeout(genericServer);
 		this.fGenericServer = genericServer;
-		Thread t = new Thread() {
+		this.deploymentDirectory = deploymentDirectory;
+		Thread t = new Thread("Carbon server readiness detector") {
 			public void run() {
-				ping();
+				detect();
 			}
 		};
 		t.setDaemon(true);
@@ -62,91 +122,235 @@ public class CarbonPingThread extends PingThread {
 	}
 
 	@SuppressWarnings("restriction")
-	private int guessMaxPings(GenericServerBehaviour server) {
-		int maxpings = -1;
-		int startTimeout = ((Server) server.getServer()).getStartTimeout() * 1000;
-		if (startTimeout > 0)
-			maxpings = startTimeout / PING_INTERVAL;
-		return maxpings;
+	private long guessStartTimeout(GenericServerBehaviour server) {
+		return ((Server) server.getServer()).getStartTimeout() * 1000L;
 	}
 
 	private boolean isRemote() {
 		return (fServer.getServerType().supportsRemoteHosts() && !SocketUtil.isLocalhost(fServer.getHost()));
 	}
 
-	@SuppressWarnings("restriction")
+	/**
+	 * Readiness is detected by the thread started in the constructor. The thread started by {@link PingThread} calls
+	 * this before the fields of this class are set, so it does nothing.
+	 */
 	protected void ping() {
-		int count = 0;
+	}
+
+	@SuppressWarnings("restriction")
+	private void detect() {
+		long pingInterval = MIN_PING_INTERVAL;
+		long nextPing = startTime;
 		try {
-			Thread.sleep(PING_DELAY);
-		} catch (Exception e) {
-			log.error(e);
-		}
-		while (!stop) {
-			try {
-				if (count == maxPings && !isRemote()) {
-					try {
-						fServer.stop(false);
-					} catch (Exception e) {
-						Trace.trace(Trace.FINEST, "Ping: could not stop server"); //$NON-NLS-1$
-					}
-					stop = true;
-					break;
+			while (!stop && (!finished.get() || isRemote())) {
+				attachConsole();
+				if (watchDeploymentDirectory()) {
+					nextPing = System.currentTimeMillis();
 				}
-				if (!isRemote()) {
-					count++;
+				long now = System.currentTimeMillis();
+				if (startTimeout > 0 && now - startTime >= startTimeout && !isRemote()) {
+					timedOut();
+					break;
 				}
-
-				Trace.trace(Trace.FINEST, "Ping: pinging"); //$NON-NLS-1$
-				for (String url : fUrl) {
-					URL pingUrl = new URL(url);
-					URLConnection conn = pingUrl.openConnection();
-
-					int responseCode;
-					try {
-						responseCode = ((HttpURLConnection) conn).getResponseCode();
-					} catch (Exception e) {
-						((HttpURLConnection) conn).disconnect();
-						Thread.sleep(PING_DELAY);
-						continue;
-					}
-					if (responseCode != 200 && responseCode != 302) {
-						// throw new Exception("WSAS Server still starting up");
-						Thread.sleep(PING_DELAY);
-						continue;
-					}
-					// ping worked - server is up
-					if (!stop) {
+				if (now >= nextPing) {
+					Trace.trace(Trace.FINEST, "Ping: pinging"); //$NON-NLS-1$
+					boolean responded = pingServer();
+					if (finished.get()) {
+						// a ready remote server
+						if (responded && !stop) {
+							fGenericServer.setServerStarted();
+						}
+						nextPing = System.currentTimeMillis() + REMOTE_PING_INTERVAL;
+					} else if (responded) {
 						Trace.trace(Trace.FINEST, "Ping: success"); //$NON-NLS-1$
-						Thread.sleep(PING_DELAY);
-						fGenericServer.setServerStarted();
-					}
-					if (!isRemote()) {
-						stop = true;
+						ready(SIGNAL_PING);
+						nextPing = System.currentTimeMillis() + REMOTE_PING_INTERVAL;
+					} else {
+						nextPing = System.currentTimeMillis() + pingInterval;
+						pingInterval = Math.min(pingInterval * 2, MAX_PING_INTERVAL);
 					}
 				}
-			} catch (FileNotFoundException fe) {
-				try {
-					Thread.sleep(PING_INTERVAL);
-				} catch (Exception e) {
-					// ignore
+				if (waitForDeployment(Math.max(1, nextPing - System.currentTimeMillis()))) {
+					// ping right away, and often again while the server finishes starting
+					nextPing = System.currentTimeMillis();
+					pingInterval = MIN_PING_INTERVAL;
 				}
-				fGenericServer.setServerStarted();
-				if (!isRemote()) {
-					stop = true;
+			}
+		} catch (InterruptedException e) {
+			Trace.trace(Trace.FINEST, "Ping: interrupted"); //$NON-NLS-1$
+		} finally {
+			detach();
+		}
+	}
+
+	private boolean pingServer() {
+		for (String url : fUrl) {
+			HttpURLConnection conn = null;
+			try {
+				conn = (HttpURLConnection) new URL(url).openConnection();
+				conn.setConnectTimeout(PING_TIMEOUT);
+				conn.setReadTimeout(PING_TIMEOUT);
+				int responseCode = conn.getResponseCode();
+				if (responseCode == 200 || responseCode == 302) {
+					return true;
 				}
-			} catch (Exception e) {
+			} catch (IOException e) {
 				Trace.trace(Trace.FINEST, "Ping: failed: " + e); //$NON-NLS-1$
-				// pinging failed
-				if (!stop) {
-					try {
-						Thread.sleep(PING_INTERVAL);
-					} catch (InterruptedException e2) {
-						// ignore
-					}
+			} finally {
+				if (conn != null) {
+					conn.disconnect();
 				}
 			}
 		}
+		return false;
+	}
+
+	/**
+	 * Listens to the console of the server process, once the process is launched
+	 */
+	private void attachConsole() {
+		if (!consoleMonitors.isEmpty()) {
+			return;
+		}
+		ILaunch launch = fServer.getLaunch();
+		if (launch == null) {
+			return;
+		}
+		for (IProcess process : launch.getProcesses()) {
+			IStreamsProxy streamsProxy = process.getStreamsProxy();
+			IStreamMonitor monitor = streamsProxy == null ? null : streamsProxy.getOutputStreamMonitor();
+			if (monitor != null) {
+				monitor.addListener(consoleListener);
+				consoleMonitors.add(monitor);
+				// the line may have been logged before the listener was added
+				checkConsole(monitor.getContents());
+			}
+		}
+	}
+
+	private void checkConsole(String text) {
+		if (text == null || text.isEmpty() || finished.get()) {
+			return;
+		}
+		boolean started;
+		synchronized (consoleTail) {
+			consoleTail.append(text);
+			started = STARTED_MARKER.matcher(consoleTail).find();
+			if (consoleTail.length() > CONSOLE_TAIL_LENGTH) {
+				consoleTail.delete(0, consoleTail.length() - CONSOLE_TAIL_LENGTH);
+			}
+		}
+		if (started) {
+			ready(SIGNAL_CONSOLE);
+		}
+	}
+
+	/**
+	 * Starts watching the deployment directory once the server has created it. Applications deployed before it is
+	 * watched are found from their modified time.
+	 *
+	 * @return true if an application was deployed before the directory was watched
+	 */
+	private boolean watchDeploymentDirectory() {
+		if (deploymentWatcher != null || deploymentDirectory == null || !deploymentDirectory.isDirectory()) {
+			return false;
+		}
+		try {
+			deploymentWatcher = FileSystems.getDefault().newWatchService();
+			deploymentDirectory.toPath().register(deploymentWatcher, StandardWatchEventKinds.ENTRY_CREATE);
+		} catch (IOException | UnsupportedOperationException e) {
+			log.warn("Could not watch the deployment directory " + deploymentDirectory, e);
+			deploymentDirectory = null;
+			return false;
+		}
+		File[] deployed = deploymentDirectory.listFiles();
+		if (deployed != null) {
+			for (File application : deployed) {
+				if (application.lastModified() >= startTime) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Waits for an application to be deployed
+	 *
+	 * @param wait milliseconds to wait
+	 * @return true if an application was deployed
+	 */
+	private boolean waitForDeployment(long wait) throws InterruptedException {
+		if (deploymentWatcher == null) {
+			Thread.sleep(wait);
+			return false;
+		}
+		WatchKey key = deploymentWatcher.poll(wait, TimeUnit.MILLISECONDS);
+		if (key == null) {
+			return false;
+		}
+		boolean deployed = false;
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+				deployed = true;
+			}
+		}
+		key.reset();
+		return deployed;
+	}
+
+	private void ready(String signal) {
+		// a stopped detector does not start the server, e.g. when the server is stopped while starting
+		if (stop || !finished.compareAndSet(false, true)) {
+			return;
+		}
+		startupMillis = System.currentTimeMillis() - startTime;
+		readySignal = signal;
+		log.info(fServer.getName() + " is ready " + startupMillis + " ms after start, detected from the " + signal);
+		fGenericServer.setServerStarted();
+	}
+
+	@SuppressWarnings("restriction")
+	private void timedOut() {
+		if (!finished.compareAndSet(false, true)) {
+			return;
+		}
+		stop = true;
+		log.warn(fServer.getName() + " did not start in " + startTimeout + " ms, stopping it");
+		try {
+			fServer.stop(false);
+		} catch (Exception e) {
+			Trace.trace(Trace.FINEST, "Ping: could not stop server"); //$NON-NLS-1$
+		}
+	}
+
+	private void detach() {
+		for (IStreamMonitor monitor : consoleMonitors) {
+			monitor.removeListener(consoleListener);
+		}
+		consoleMonitors.clear();
+		if (deploymentWatcher != null) {
+			try {
+				deploymentWatcher.close();
+			} catch (IOException e) {
+				log.warn("Could not close the deployment directory watcher", e);
+			}
+		}
+	}
+
+	/**
+	 * @return milliseconds from the start of the server until it was detected as ready, or -1 if it is not ready yet
+	 */
+	public long getStartupMillis() {
+		return startupMillis;
+	}
+
+	/**
+	 * @return the signal the server was detected as ready from, {@link #SIGNAL_CONSOLE} or {@link #SIGNAL_PING}, or
+	 *         null if it is not ready yet
+	 */
+	public String getReadySignal() {
+		return readySignal;
 	}
 
 	/**
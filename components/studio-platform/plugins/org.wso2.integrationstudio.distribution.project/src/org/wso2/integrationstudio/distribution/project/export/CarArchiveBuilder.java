@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2011, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.integrationstudio.distribution.project.export;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.wso2.integrationstudio.utils.archive.ArchiveEngine;
+
+/**
+ * Builds a carbon application archive directly from the workspace files of its artifacts.
+ *
+ * Entries are compressed from their source files into the archive by the {@link ArchiveEngine}, without staging a
+ * copy of them in a temporary directory. The archive is written next to its final location and moved over it once
+ * complete, so a server watching the location never picks up a partially written archive. The inputs of the last
+ * archive written to each location are remembered by a fingerprint of the entry names and the contents of the source
+ * files and generated entries; if neither the inputs nor the contents of the archive changed since, the archive is left
+ * untouched. Contents are compared rather than modified times, which some file systems only keep to the second.
+ */
+public class CarArchiveBuilder {
+
+    // fingerprints of the archives most recently written
+    private static final int MAX_ARCHIVE_FINGERPRINTS = 64;
+
+    private static final Map<String, String> archiveFingerprints = Collections
+            .synchronizedMap(new LinkedHashMap<String, String>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                    return size() > MAX_ARCHIVE_FINGERPRINTS;
+                }
+            });
+
+    /**
+     * Entries by name. Directory entries have no value, files either a source file or generated content.
+     */
+    private final SortedMap<String, Object> entries = new TreeMap<String, Object>();
+
+    /**
+     * Adds a file to the archive.
+     *
+     * @param entryName name of the entry inside the archive, using / as separator
+     * @param file source file
+     */
+    public void addFile(String entryName, File file) {
+        addParentDirectories(entryName);
+        entries.put(entryName, file);
+    }
+
+    /**
+     * Adds the contents of a directory to the archive, recursively.
+     *
+     * @param entryName name of the directory inside the archive, using / as separator
+     * @param directory source directory
+     */
+    public void addDirectoryContents(String entryName, File directory) {
+        addDirectory(entryName);
+        File[] children = directory.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                String childEntryName = entryName + "/" + child.getName();
+                if (child.isDirectory()) {
+                    addDirectoryContents(childEntryName, child);
+                } else {
+                    addFile(childEntryName, child);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds generated content to the archive. Replaces a file added with the same name.
+     *
+     * @param entryName name of the entry inside the archive, using / as separator
+     * @param content content of the entry
+     */
+    public void addContent(String entryName, byte[] content) {
+        addParentDirectories(entryName);
+        entries.put(entryName, content);
+    }
+
+    private void addDirectory(String entryName) {
+        addParentDirectories(entryName);
+        entries.put(entryName + "/", null);
+    }
+
+    private void addParentDirectories(String entryName) {
+        int index = entryName.indexOf('/');
+        while (index != -1) {
+            entries.put(entryName.substring(0, index + 1), null);
+            index = entryName.indexOf('/', index + 1);
+        }
+    }
+
+    /**
+     * Writes the archive unless the archive at the given location was written from the same inputs and has not been
+     * modified since.
+     *
+     * @param archive location of the archive
+     * @return true if the archive was written, false if it was up to date
+     * @throws IOException if the archive cannot be written
+     */
+    public boolean writeTo(File archive) throws IOException {
+        String key = archive.getAbsolutePath();
+        String inputFingerprint = getInputFingerprint();
+        if (archive.isFile() && getArchiveFingerprint(inputFingerprint, archive).equals(archiveFingerprints.get(key))) {
+            return false;
+        }
+        archiveFingerprints.remove(key);
+
+        File parent = archive.getAbsoluteFile().getParentFile();
+        if (!parent.exists()) {
+            parent.mkdirs();
+        }
+        File partialArchive = new File(parent, archive.getName() + ".part");
+        ArchiveEngine engine = new ArchiveEngine();
+        for (Map.Entry<String, Object> entry : entries.entrySet()) {
+            String entryName = entry.getKey();
+            Object source = entry.getValue();
+            if (source instanceof File) {
+                engine.addFile(entryName, (File) source);
+            } else if (source instanceof byte[]) {
+                engine.addContent(entryName, (byte[]) source);
+            } else {
+                engine.addDirectory(entryName.substring(0, entryName.length() - 1));
+            }
+        }
+        try {
+            engine.writeTo(partialArchive);
+        } catch (IOException e) {
+            partialArchive.delete();
+            throw e;
+        }
+        Files.move(partialArchive.toPath(), archive.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+        archiveFingerprints.put(key, getArchiveFingerprint(inputFingerprint, archive));
+        return true;
+    }
+
+    private String getInputFingerprint() throws IOException {
+        MessageDigest digest = createDigest();
+        for (Map.Entry<String, Object> entry : entries.entrySet()) {
+            update(digest, entry.getKey());
+            Object source = entry.getValue();
+            if (source instanceof File) {
+                update(digest, (File) source);
+            } else if (source instanceof byte[]) {
+                digest.update((byte[]) source);
+                digest.update((byte) 0);
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    private static MessageDigest createDigest() throws IOException {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("Cannot fingerprint the carbon application archive", e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static void update(MessageDigest digest, File file) throws IOException {
+        byte[] buffer = new byte[8192];
+        try (InputStream input = Files.newInputStream(file.toPath())) {
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        digest.update((byte) 0);
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private static String getArchiveFingerprint(String inputFingerprint, File archive) throws IOException {
+        MessageDigest digest = createDigest();
+        update(digest, archive);
+        return inputFingerprint + ':' + toHex(digest.digest());
+    }
+
+}
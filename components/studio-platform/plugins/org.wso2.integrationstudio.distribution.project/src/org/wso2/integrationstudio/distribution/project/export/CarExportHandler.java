@@ -16,8 +16,8 @@
 
 package org.wso2.integrationstudio.distribution.project.export;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -49,8 +49,6 @@ import org.wso2.integrationstudio.platform.core.project.export.ProjectArtifactHa
 import org.wso2.integrationstudio.platform.core.project.export.util.ExportUtil;
 import org.wso2.integrationstudio.platform.core.utils.IntegrationStudioProviderUtils;
 import org.wso2.integrationstudio.platform.core.utils.XMLUtil;
-import org.wso2.integrationstudio.utils.archive.ArchiveManipulator;
-import org.wso2.integrationstudio.utils.file.FileUtils;
 import org.wso2.integrationstudio.utils.file.TempFileUtils;
 
 public class CarExportHandler extends ProjectArtifactHandler {
@@ -79,19 +77,19 @@ public class CarExportHandler extends ProjectArtifactHandler {
         IFile pomFileRes;
         File pomFile;
         MavenProject parentPrj;
-        ArchiveManipulator archiveManipulator = new ArchiveManipulator();
+        CarArchiveBuilder carArchiveBuilder = new CarArchiveBuilder();
 
-        clearTarget(project);
-
-        // Let's create a temp project
-        File tempProject = createTempProject();
-
-        File carResources = createTempDir(tempProject, "car_resources");
         pomFileRes = project.getFile(POM_FILE);
         if (!pomFileRes.exists()) {
             throw new Exception("not a valid carbon application project");
         }
         pomFile = pomFileRes.getLocation().toFile();
+        parentPrj = MavenUtils.getMavenProject(pomFile);
+
+        // the archive of the previous export is kept, it is only rewritten if any of its inputs changed
+        IFile carbonArchive = getTargetArchive(project, parentPrj.getVersion(), "car");
+        File carbonArchiveFile = carbonArchive.getLocation().toFile();
+        clearTarget(project, carbonArchiveFile);
 
         ProjectList projectListProvider = new ProjectList();
         List<ListData> projectListData = projectListProvider.getListData(null, null);
@@ -102,8 +100,6 @@ public class CarExportHandler extends ProjectArtifactHandler {
             projectList.put(DistProjectUtils.getArtifactInfoAsString(dependencyData.getDependency()), dependencyData);
         }
 
-        parentPrj = MavenUtils.getMavenProject(pomFile);
-
         for (Dependency dependency : (List<Dependency>) parentPrj.getDependencies()) {
             String dependencyKey = DistProjectUtils.getArtifactInfoAsString(dependency);
             serverRoleList.put(dependencyKey, DistProjectUtils.getServerRole(parentPrj, dependency));
@@ -158,41 +154,37 @@ public class CarExportHandler extends ProjectArtifactHandler {
         Collections.sort(artifactList);
 
         for (ArtifactData artifact : artifactList) {
-            File artifactDir = null;
+            String artifactDir = null;
             // Adding all the metadata inside "metadata" folder
             if (METADATA_TYPE.equals(artifact.getDependencyData().getCApptype())) {
-                File metaDir = new File(carResources, METADATA_FOLDER_NAME);
-                artifactDir = new File(metaDir, getArtifactDir(artifact.getDependencyData()));
+                artifactDir = METADATA_FOLDER_NAME + "/" + getArtifactDir(artifact.getDependencyData());
             } else {
-                artifactDir = new File(carResources, getArtifactDir(artifact.getDependencyData()));
+                artifactDir = getArtifactDir(artifact.getDependencyData());
             }
             if (artifact.getResource() instanceof IFolder) {
-                FileUtils.copyDirectory(artifact.getResource().getLocation().toFile(), artifactDir);
+                carArchiveBuilder.addDirectoryContents(artifactDir, artifact.getResource().getLocation().toFile());
             } else if (artifact.getResource() instanceof IFile) {
-                FileUtils.copy(artifact.getResource().getLocation().toFile(),
-                        new File(artifactDir, artifact.getFile()));
+                carArchiveBuilder.addFile(artifactDir + "/" + artifact.getFile(),
+                        artifact.getResource().getLocation().toFile());
             }
             if (!METADATA_TYPE.equals(artifact.getDependencyData().getCApptype())) {
             	 artifactElt.addChild(createDependencyElement(factory, artifact));
             }
             artifactEltMetadata.addChild(createDependencyElement(factory, artifact));
-            createArtifactXML(artifactDir, artifact);
+            byte[] artifactXml = createArtifactXML(artifact);
+            if (artifactXml != null) {
+                carArchiveBuilder.addContent(artifactDir + "/artifact.xml", artifactXml);
+            }
         }
 
         metadaDocRoot.addChild(artifactEltMetadata);
         artifactsDocRoot.addChild(artifactElt);
-        File artifactsXml = new File(carResources, "artifacts.xml");
-        XMLUtil.prettify(artifactsDocRoot, new FileOutputStream(artifactsXml));
-        
-        File metadataXml = new File(carResources, "metadata.xml");
-        XMLUtil.prettify(metadaDocRoot, new FileOutputStream(metadataXml));
+        carArchiveBuilder.addContent("artifacts.xml", prettify(artifactsDocRoot));
+        carArchiveBuilder.addContent("metadata.xml", prettify(metadaDocRoot));
 
-        File tmpArchive = new File(tempProject,
-                project.getName().concat("_").concat(parentPrj.getVersion()).concat(".car"));
-        archiveManipulator.archiveDir(tmpArchive.toString(), carResources.toString());
-
-        IFile carbonArchive = getTargetArchive(project, parentPrj.getVersion(), "car");
-        FileUtils.copy(tmpArchive, carbonArchive.getLocation().toFile());
+        if (!carArchiveBuilder.writeTo(carbonArchiveFile)) {
+            log.info("Carbon application archive " + carbonArchiveFile + " is up to date");
+        }
         exportResources.add((IResource) carbonArchive);
         clearTempDirInWorksapce(project.getName(), SPLIT_DIR_NAME);
         TempFileUtils.cleanUp();
@@ -233,7 +225,7 @@ public class CarExportHandler extends ProjectArtifactHandler {
         return artifactDir;
     }
 
-    private void createArtifactXML(File artifactDir, ArtifactData artifact) {
+    private byte[] createArtifactXML(ArtifactData artifact) {
         OMFactory factory = OMAbstractFactory.getOMFactory();
         OMElement artifactElt = factory.createOMElement(new QName("artifact"));
         artifactElt.addAttribute("name", artifact.getDependencyData().getDependency().getArtifactId(), null);
@@ -243,14 +235,20 @@ public class CarExportHandler extends ProjectArtifactHandler {
         OMElement fileElt = factory.createOMElement(new QName("file"));
         fileElt.setText(artifact.getFile());
         artifactElt.addChild(fileElt);
-        File artifactXml = new File(artifactDir, "artifact.xml");
         try {
-            XMLUtil.prettify(artifactElt, new FileOutputStream(artifactXml));
+            return prettify(artifactElt);
         } catch (Exception e) {
             log.error("Error creating artifact.xml", e);
+            return null;
         }
     }
 
+    private byte[] prettify(OMElement element) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        XMLUtil.prettify(element, out);
+        return out.toByteArray();
+    }
+
     private OMElement createDependencyElement(OMFactory factory, ArtifactData artifact) {
         OMElement dependencyElt = factory.createOMElement(new QName("dependency"));
         dependencyElt.addAttribute("artifact", artifact.getDependencyData().getDependency().getArtifactId(), null);
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2010, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.integrationstudio.distribution.project.publisher;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.wst.server.core.IServer;
+
+/**
+ * Remembers the contents of the CAR last deployed for each project on each server, so that a CAR is deployed again
+ * only when an artifact in it has changed, and swaps a changed CAR into the deployment folder atomically so that the
+ * server never reads a partly copied CAR.
+ */
+class CAppDeploymentTracker {
+
+    // extension the server does not deploy, used while a CAR is being copied
+    private static final String PARTIAL_EXTENSION = ".part";
+
+    // CRC of each entry of the deployed CAR, by server id and project name
+    private static final Map<String, Map<String, Long>> deployedEntries = new HashMap<>();
+
+    private CAppDeploymentTracker() {
+    }
+
+    /**
+     * Reads the CRC of each entry of a CAR
+     *
+     * @param car CAR file
+     * @return CRC by entry name
+     * @throws IOException
+     */
+    static Map<String, Long> readEntries(File car) throws IOException {
+        Map<String, Long> entries = new HashMap<>();
+        try (ZipFile zipFile = new ZipFile(car)) {
+            Enumeration<? extends ZipEntry> zipEntries = zipFile.entries();
+            while (zipEntries.hasMoreElements()) {
+                ZipEntry entry = zipEntries.nextElement();
+                if (!entry.isDirectory()) {
+                    entries.put(entry.getName(), entry.getCrc());
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Returns the artifacts of a CAR which differ from the CAR last deployed to the given location.
+     *
+     * @param server server
+     * @param project composite application project
+     * @param entries CRC by entry name of the new CAR
+     * @param deployedCar location the CAR is deployed to
+     * @return names of the changed, added and removed artifacts, or null if the deployed CAR is not known
+     */
+    static synchronized Set<String> getChangedArtifacts(IServer server, IProject project, Map<String, Long> entries,
+            File deployedCar) {
+        Map<String, Long> deployed = deployedEntries.get(getKey(server, project));
+        if (deployed == null || !deployedCar.exists()) {
+            return null;
+        }
+        Set<String> changedArtifacts = new TreeSet<>();
+        for (Map.Entry<String, Long> entry : entries.entrySet()) {
+            if (!entry.getValue().equals(deployed.get(entry.getKey()))) {
+                changedArtifacts.add(getArtifactName(entry.getKey()));
+            }
+        }
+        for (String name : deployed.keySet()) {
+            if (!entries.containsKey(name)) {
+                changedArtifacts.add(getArtifactName(name));
+            }
+        }
+        return changedArtifacts;
+    }
+
+    /**
+     * Copies a CAR to the deployment folder under a name the server does not deploy, then renames it over the
+     * deployed CAR, and remembers its contents.
+     *
+     * @param server server
+     * @param project composite application project
+     * @param car built CAR
+     * @param entries CRC by entry name of the built CAR
+     * @param destination location to deploy the CAR to
+     * @throws IOException
+     */
+    static void deploy(IServer server, IProject project, File car, Map<String, Long> entries, File destination)
+            throws IOException {
+        Path target = destination.toPath();
+        Path partial = target.resolveSibling(destination.getName() + PARTIAL_EXTENSION);
+        Files.copy(car.toPath(), partial, StandardCopyOption.REPLACE_EXISTING);
+        try {
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        synchronized (CAppDeploymentTracker.class) {
+            deployedEntries.put(getKey(server, project), entries);
+        }
+    }
+
+    /**
+     * Forgets the deployed CAR of a project, so that it is deployed again on the next publish
+     */
+    static synchronized void undeployed(IServer server, IProject project) {
+        deployedEntries.remove(getKey(server, project));
+    }
+
+    private static String getKey(IServer server, IProject project) {
+        return server.getId() + "/" + project.getName();
+    }
+
+    // entries of an artifact are under a folder named after the artifact, e.g. HelloSequence_1.0.0/HelloSequence.xml
+    private static String getArtifactName(String entryName) {
+        int separator = entryName.indexOf('/');
+        return separator == -1 ? entryName : entryName.substring(0, separator);
+    }
+}
@@ -17,12 +17,14 @@
 package org.wso2.integrationstudio.distribution.project.publisher;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.URL;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -137,10 +139,11 @@ public class CAppProjectPublisher implements ICarbonServerModulePublisher {
                 repoLocation = new File(repoLocation, path);
             }
             try {
+                long startTime = System.currentTimeMillis();
                 CarExportHandler handler = new CarExportHandler();
                 List<IResource> exportArtifact = handler.exportArtifact(project);
                 File file = exportArtifact.get(0).getLocation().toFile();
-                FileUtils.copy(file, new File(repoLocation + File.separator + file.getName()));
+                deployCar(server, project, file, new File(repoLocation, file.getName()), startTime);
 
             } catch (Exception e) {
                 setException(e);
@@ -200,8 +203,9 @@ public class CAppProjectPublisher implements ICarbonServerModulePublisher {
                     || (isMI400Server && !hotDeploymentEnabled)) {
                 IPath iPath = CarbonServerManager.getServerHome(server);
                 File file = iPath.toFile();
-                copyCApp(file.getAbsolutePath(), project);
-                server.restart("run", new NullProgressMonitor());
+                if (copyCApp(file.getAbsolutePath(), project, server)) {
+                    server.restart("run", new NullProgressMonitor());
+                }
 
             } else if (isMI400Server) {
                 final MICarPublisher runnable = new MICarPublisher(deployLocation, project, server);
@@ -281,6 +285,7 @@ public class CAppProjectPublisher implements ICarbonServerModulePublisher {
 				IPath iPath = CarbonServerManager.getServerHome(server);
 				File file = iPath.toFile();
 				deleteCApp(file.getAbsolutePath(), project);
+				CAppDeploymentTracker.undeployed(server, project);
 				server.restart("run", new NullProgressMonitor());
 
 			} else {
@@ -350,24 +355,53 @@ public class CAppProjectPublisher implements ICarbonServerModulePublisher {
 		
 	}
 
-	private void copyCApp(String deploymentFolderPath, IProject selectedProject) {
+	/**
+	 * Builds the CAR of a project and copies it to the deployment folder of the server, unless it is the same as the
+	 * CAR last deployed.
+	 *
+	 * @return whether the CAR was copied
+	 */
+	private boolean copyCApp(String deploymentFolderPath, IProject selectedProject, IServer server) {
 		String CARFileName = selectedProject.getName();
 		String CARFileVersion = "1.0.0";
 		String finalFileName = String.format("%s_%s.car", CARFileName.replaceAll(".car$", ""), CARFileVersion);
 		deploymentFolderPath = deploymentFolderPath + MI_CAPP_PATH;
 
 		try {
-			File destFileName = new File(deploymentFolderPath, finalFileName);
-			if (destFileName.exists()) {
-				org.apache.commons.io.FileUtils.deleteQuietly(destFileName);
-			}
-
+			long startTime = System.currentTimeMillis();
 			IResource carbonArchive = ExportUtil.buildCAppProject(selectedProject);
-			FileUtils.copy(carbonArchive.getLocation().toFile(), destFileName);
-
+			return deployCar(server, selectedProject, carbonArchive.getLocation().toFile(),
+					new File(deploymentFolderPath, finalFileName), startTime);
 		} catch (Exception e) {
 			log.error("An error occured while deploying the carbon archive file.", e);
 		}
+		return false;
+	}
+
+	/**
+	 * Copies a built CAR to the deployment folder, unless its artifacts are the same as the CAR last deployed there.
+	 * The server then redeploys the CAR, which redeploys all of its artifacts, so skipping unchanged CARs saves a
+	 * redeployment, or a restart where the server is not hot deployed.
+	 *
+	 * @param startTime time the build of the CAR started, for logging how long the deployment took
+	 * @return whether the CAR was copied
+	 */
+	private static boolean deployCar(IServer server, IProject project, File car, File destination, long startTime)
+			throws IOException {
+		long buildTime = System.currentTimeMillis() - startTime;
+		Map<String, Long> entries = CAppDeploymentTracker.readEntries(car);
+		Set<String> changedArtifacts = CAppDeploymentTracker.getChangedArtifacts(server, project, entries,
+				destination);
+		if (changedArtifacts != null && changedArtifacts.isEmpty()) {
+			log.info(project.getName() + " has not changed since it was deployed to " + server.getName()
+					+ ", skipped deploying it after " + (System.currentTimeMillis() - startTime) + " ms");
+			return false;
+		}
+		CAppDeploymentTracker.deploy(server, project, car, entries, destination);
+		log.info("Deployed " + project.getName() + " to " + server.getName() + " in "
+				+ (System.currentTimeMillis() - startTime) + " ms, including " + buildTime + " ms building the CAR"
+				+ (changedArtifacts == null ? "" : ", changed artifacts: " + changedArtifacts));
+		return true;
 	}
 
 	private void deleteCApp(String deploymentFolderPath, IProject selectedProject) {
@@ -16,30 +16,24 @@
 
 package org.wso2.integrationstudio.distribution.project.util;
 
-import java.io.IOException;
-import java.io.InputStream;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
-import org.apache.maven.project.MavenProject;
-import org.eclipse.core.runtime.content.IContentDescription;
-import org.eclipse.core.runtime.content.XMLContentDescriber;
-import org.wso2.integrationstudio.distribution.project.Activator;
-import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
-import org.wso2.integrationstudio.logging.core.Logger;
-import org.wso2.integrationstudio.maven.util.MavenUtils;
+import org.wso2.integrationstudio.platform.core.utils.XMLStreamContentDescriber;
 
-public class POMDescriber extends XMLContentDescriber {
-	
-	private static IIntegrationStudioLog log=Logger.getLog(Activator.PLUGIN_ID);
+/**
+ * Recognizes the POM of a composite application project from its packaging, without reading the rest of the POM
+ */
+public class POMDescriber extends XMLStreamContentDescriber {
+
+	private static final String PROJECT = "project";
+	private static final String PACKAGING = "packaging";
+	private static final String CAPP_PACKAGING = "carbon/application";
 
-	public int describe(InputStream input, IContentDescription description)
-			throws IOException {
-		try {
-			MavenProject mavenPrj = MavenUtils.getMavenProject(input);
-			if ("carbon/application".equals(mavenPrj.getModel().getPackaging())) {
-				return VALID;
-			}
-		} catch (Exception e) {
-			log.warn(e);
+	protected int describe(XMLStreamReader reader) throws XMLStreamException {
+		if (moveToRootElement(reader) && PROJECT.equals(reader.getLocalName())
+				&& CAPP_PACKAGING.equals(getChildElementText(reader, PACKAGING))) {
+			return VALID;
 		}
 		return INVALID;
 	}
@@ -43,18 +43,15 @@ public class MavenMultiModulePOMDiscriber extends XMLContentDescriber {
     @Override
     public int describe(InputStream input, IContentDescription description) throws IOException {
         try {
-            input.read();
             IWorkbenchWindow window = PlatformUI.getWorkbench().getActiveWorkbenchWindow();
             if (window != null) {
                 IStructuredSelection selection = (IStructuredSelection) window.getSelectionService().getSelection();
                 Object firstElement = selection.getFirstElement();
                 if (firstElement instanceof IAdaptable) {
                     IProject project = ((File) firstElement).getProject();
-                    String[] natureIDs = project.getDescription().getNatureIds();
-                    for (String natureID : natureIDs) {
-                        if (natureID.equals(Constants.MAVEN_MULTI_MODULE_PROJECT_NATURE)) {
-                            return VALID;
-                        }
+                    // the file is not read, it is described from the natures of its project
+                    if (project.hasNature(Constants.MAVEN_MULTI_MODULE_PROJECT_NATURE)) {
+                        return VALID;
                     }
                 }
             }
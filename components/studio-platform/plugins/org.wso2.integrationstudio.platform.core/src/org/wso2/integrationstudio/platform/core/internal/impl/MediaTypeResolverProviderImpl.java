@@ -34,6 +34,7 @@ import org.wso2.integrationstudio.platform.core.interfaces.IMediaTypeFromFileNam
 import org.wso2.integrationstudio.platform.core.interfaces.IMediaTypeFromStreamResolver;
 import org.wso2.integrationstudio.platform.core.interfaces.IMediaTypeResolver;
 import org.wso2.integrationstudio.platform.core.interfaces.IMediaTypeResolverProvider;
+import org.wso2.integrationstudio.platform.core.mediatype.MediaTypeFileInputStream;
 import org.wso2.integrationstudio.utils.data.ITemporaryFileTag;
 import org.wso2.integrationstudio.utils.file.FileUtils;
 
@@ -88,7 +89,7 @@ public class MediaTypeResolverProviderImpl implements IMediaTypeResolverProvider
 				if (resolver.isInputStreamValidateSupported()) {
 					FileInputStream dataStream = null;
 					try {
-						dataStream = new FileInputStream(file);
+						dataStream = new MediaTypeFileInputStream(file);
 						boolean isMedia = resolver.isMediaType(dataStream);
 						if (isMedia && (selectedMediaTypeData == null || currentMaximum < resolver.getPriority())) {
 							selectedMediaTypeData = mediaTypeData;
@@ -132,7 +133,7 @@ public class MediaTypeResolverProviderImpl implements IMediaTypeResolverProvider
 			FileInputStream dataStream = null;
 			boolean isMediaType = false;
 			try {
-				dataStream = new FileInputStream(file);
+				dataStream = new MediaTypeFileInputStream(file);
 				isMediaType = isMediaType(dataStream);
 			} catch (FileNotFoundException e) {
 				log.error(e.getMessage(), e);
@@ -16,8 +16,9 @@
 
 package org.wso2.integrationstudio.platform.core.mediatype;
 
-import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.InputStream;
+import java.io.StringReader;
 
 import javax.xml.stream.FactoryConfigurationError;
 import javax.xml.stream.XMLInputFactory;
@@ -37,19 +38,22 @@ public abstract class AbstractXmlDocMediaTypeResolver implements IMediaTypeFromS
 
 	protected boolean isDocumentTag(InputStream dataStream, String tagName) throws FactoryConfigurationError {
 		try {
+			if (dataStream instanceof MediaTypeFileInputStream) {
+				// root element of the file is shared with the other resolvers, the stream itself is not read
+				File file = ((MediaTypeFileInputStream) dataStream).getFile();
+				if (tagName.equalsIgnoreCase(XmlRootElementSniffer.getRootElementName(file))) {
+					return true;
+				}
+				return tagName.equals("html") && XmlRootElementSniffer.containsHtmlTags(file);
+			}
 			String content = FileUtils.getContentAsString(dataStream);
 			if (content != null) {
-				content = content.toLowerCase();
-				if (content.contains("<html") && content.contains("</html>")) {
-					if (tagName.equals("html")) {
-						return true;
-					}
+				if (tagName.equals("html") && XmlRootElementSniffer.containsHtmlTags(content)) {
+					return true;
 				}
-				dataStream = new ByteArrayInputStream(content.getBytes());
+				return tagName.equalsIgnoreCase(XmlRootElementSniffer.getRootElementName(new StringReader(content)));
 			}
-			OMElement documentElement = getXmlDoc(dataStream);
-			String localName = documentElement.getLocalName();
-			return localName.equalsIgnoreCase(tagName);
+			return false;
 		} catch (Exception e) {
 			return false;
 		}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2010-2015, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.integrationstudio.platform.core.mediatype;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+
+/**
+ * Stream of a file handed to the media type resolvers. Resolvers which only need the root element of the document
+ * look it up through {@link XmlRootElementSniffer#getRootElementName(File)} using {@link #getFile()}, so the file is
+ * sniffed once for all the resolvers instead of being read by each of them.
+ */
+public class MediaTypeFileInputStream extends FileInputStream {
+
+	private final File file;
+
+	public MediaTypeFileInputStream(File file) throws FileNotFoundException {
+		super(file);
+		this.file = file;
+	}
+
+	public File getFile() {
+		return file;
+	}
+
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2010-2015, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.integrationstudio.platform.core.mediatype;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.wso2.integrationstudio.utils.file.FileUtils;
+
+/**
+ * Finds the root element of XML documents by reading them only up to the first start element.
+ *
+ * Results for files are cached by path, last modified time and size, so that all the media type resolvers asking for
+ * the root element of the same file share a single read of it.
+ */
+public class XmlRootElementSniffer {
+
+	private static final int MAX_CACHED_FILES = 10000;
+
+	private static final XMLInputFactory inputFactory = createInputFactory();
+
+	private static final Map<String, SniffResult> cache = new LinkedHashMap<String, SniffResult>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		protected boolean removeEldestEntry(Map.Entry<String, SniffResult> eldest) {
+			return size() > MAX_CACHED_FILES;
+		}
+	};
+
+	private XmlRootElementSniffer() {
+	}
+
+	/**
+	 * Returns the local name of the root element of the given file.
+	 *
+	 * @param file XML file
+	 * @return local name of the root element, or null if the file is not an XML document
+	 */
+	public static String getRootElementName(File file) {
+		return getSniffResult(file).rootElementName;
+	}
+
+	/**
+	 * Returns the local name of the root element of the document in the given stream. The stream is read up to the
+	 * root element and is not closed.
+	 *
+	 * @param dataStream XML content
+	 * @return local name of the root element, or null if the content is not an XML document
+	 */
+	public static String getRootElementName(InputStream dataStream) {
+		try {
+			return getRootElementName(inputFactory.createXMLStreamReader(dataStream));
+		} catch (XMLStreamException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the local name of the root element of the document in the given reader. The reader is read up to the
+	 * root element and is not closed.
+	 *
+	 * @param reader XML content
+	 * @return local name of the root element, or null if the content is not an XML document
+	 */
+	public static String getRootElementName(Reader reader) {
+		try {
+			return getRootElementName(inputFactory.createXMLStreamReader(reader));
+		} catch (XMLStreamException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Checks whether the given file contains both an opening and a closing html tag, in any case. Unlike the root
+	 * element, this requires reading the whole file, hence it is only evaluated on request and then cached.
+	 *
+	 * @param file file to check
+	 * @return whether the file contains html tags
+	 */
+	public static boolean containsHtmlTags(File file) {
+		SniffResult result = getSniffResult(file);
+		Boolean containsHtmlTags = result.containsHtmlTags;
+		if (containsHtmlTags == null) {
+			try {
+				containsHtmlTags = containsHtmlTags(FileUtils.getContentAsString(file));
+			} catch (IOException e) {
+				containsHtmlTags = Boolean.FALSE;
+			}
+			result.containsHtmlTags = containsHtmlTags;
+		}
+		return containsHtmlTags;
+	}
+
+	/**
+	 * @param content document content
+	 * @return whether the content contains both an opening and a closing html tag, in any case
+	 */
+	public static boolean containsHtmlTags(String content) {
+		String lowerCaseContent = content.toLowerCase();
+		return lowerCaseContent.contains("<html") && lowerCaseContent.contains("</html>");
+	}
+
+	private static SniffResult getSniffResult(File file) {
+		String path = file.getAbsolutePath();
+		long lastModified = file.lastModified();
+		long length = file.length();
+		synchronized (cache) {
+			SniffResult result = cache.get(path);
+			if (result != null && result.lastModified == lastModified && result.length == length) {
+				return result;
+			}
+		}
+
+		String rootElementName = null;
+		try {
+			InputStream dataStream = new BufferedInputStream(new FileInputStream(file));
+			try {
+				rootElementName = getRootElementName(dataStream);
+			} finally {
+				dataStream.close();
+			}
+		} catch (IOException e) {
+			// not readable, hence not an XML document
+		}
+
+		SniffResult result = new SniffResult(lastModified, length, rootElementName);
+		synchronized (cache) {
+			cache.put(path, result);
+		}
+		return result;
+	}
+
+	private static String getRootElementName(XMLStreamReader reader) throws XMLStreamException {
+		try {
+			while (reader.hasNext()) {
+				if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+					return reader.getLocalName();
+				}
+			}
+			return null;
+		} finally {
+			reader.close();
+		}
+	}
+
+	private static XMLInputFactory createInputFactory() {
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		// only the root element is needed, external DTDs and entities must not be loaded for it
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		return factory;
+	}
+
+	private static class SniffResult {
+		private final long lastModified;
+		private final long length;
+		private final String rootElementName;
+		private volatile Boolean containsHtmlTags;
+
+		SniffResult(long lastModified, long length, String rootElementName) {
+			this.lastModified = lastModified;
+			this.length = length;
+			this.rootElementName = rootElementName;
+		}
+	}
+
+}
@@ -99,6 +99,29 @@ public abstract class ProjectArtifactHandler {
 		}
 	}
 
+	/**
+	 * Cleans the target directory of the project except for the given file, which can be the archive an incremental
+	 * export is going to update.
+	 */
+	protected void clearTarget(IProject project, File preserved) {
+		try {
+			project.build(IncrementalProjectBuilder.CLEAN_BUILD, getProgressMonitor());
+			File target = project.getFolder("target").getLocation().toFile();
+
+			File[] children = target.listFiles();
+			if (children != null) {
+				for (File child : children) {
+					if (!child.equals(preserved)) {
+						FileUtils.forceDelete(child);
+					}
+				}
+			}
+
+		} catch (Exception e) {
+			log.error("Error while cleaning the target directory", e);
+		}
+	}
+
 	protected IFolder getTempDirInWorksapce(String projectName, String dirName) {
 		String dir = String.format("%s_%s", projectName, dirName);
 		IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(".tmp");
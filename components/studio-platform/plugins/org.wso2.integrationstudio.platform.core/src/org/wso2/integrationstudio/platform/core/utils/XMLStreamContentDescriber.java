@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2010-2015, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.integrationstudio.platform.core.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.core.runtime.content.IContentDescription;
+import org.eclipse.core.runtime.content.XMLContentDescriber;
+
+/**
+ * Base class for content describers which recognize an XML document from its root element or the first few elements
+ * under it. The document is read with a streaming parser, only as far as {@link #describe(XMLStreamReader)} reads it,
+ * so that describing a file does not parse or bind the whole document. Documents which are not well formed up to that
+ * point are {@link #INVALID}.
+ */
+public abstract class XMLStreamContentDescriber extends XMLContentDescriber {
+
+	private static final XMLInputFactory inputFactory = createInputFactory();
+
+	private static XMLInputFactory createInputFactory() {
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+		return factory;
+	}
+
+	public int describe(InputStream input, IContentDescription description) throws IOException {
+		XMLStreamReader reader = null;
+		try {
+			synchronized (inputFactory) {
+				reader = inputFactory.createXMLStreamReader(input);
+			}
+			return describe(reader);
+		} catch (XMLStreamException e) {
+			return INVALID;
+		} finally {
+			close(reader);
+		}
+	}
+
+	public int describe(Reader input, IContentDescription description) throws IOException {
+		XMLStreamReader reader = null;
+		try {
+			synchronized (inputFactory) {
+				reader = inputFactory.createXMLStreamReader(input);
+			}
+			return describe(reader);
+		} catch (XMLStreamException e) {
+			return INVALID;
+		} finally {
+			close(reader);
+		}
+	}
+
+	/**
+	 * Describes a document, reading no more of it than needed to recognize it
+	 *
+	 * @param reader reader positioned at the start of the document
+	 * @return {@link #VALID}, {@link #INDETERMINATE} or {@link #INVALID}
+	 * @throws XMLStreamException if the document is not well formed
+	 */
+	protected abstract int describe(XMLStreamReader reader) throws XMLStreamException;
+
+	/**
+	 * Moves to the root element of the document
+	 *
+	 * @param reader reader positioned at the start of the document
+	 * @return true if the reader is on the root element, false if the document has no root element
+	 * @throws XMLStreamException
+	 */
+	protected static boolean moveToRootElement(XMLStreamReader reader) throws XMLStreamException {
+		while (reader.hasNext()) {
+			if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Reads the text of the first child of the current element with the given local name. Children before it are
+	 * skipped, and the rest of the document after it is not read.
+	 *
+	 * @param reader reader positioned on an element
+	 * @param localName local name of the child
+	 * @return text of the child, or null if the element has no such child
+	 * @throws XMLStreamException
+	 */
+	protected static String getChildElementText(XMLStreamReader reader, String localName) throws XMLStreamException {
+		int depth = 0;
+		while (reader.hasNext()) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				if (depth == 0 && localName.equals(reader.getLocalName())) {
+					return reader.getElementText().trim();
+				}
+				depth++;
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				if (depth == 0) {
+					return null;
+				}
+				depth--;
+			}
+		}
+		return null;
+	}
+
+	private static void close(XMLStreamReader reader) {
+		if (reader != null) {
+			try {
+				reader.close();
+			} catch (XMLStreamException e) {
+				// the stream is closed by the content type manager
+			}
+		}
+	}
+}
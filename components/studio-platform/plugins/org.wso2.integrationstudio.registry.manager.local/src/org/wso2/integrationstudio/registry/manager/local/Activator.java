@@ -22,6 +22,7 @@ import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
 import org.osgi.framework.BundleContext;
 import org.wso2.integrationstudio.registry.manager.local.manager.FileModificationManager;
+import org.wso2.integrationstudio.registry.manager.local.utils.RegistryResourceStateCache;
 
 /**
  * The activator class controls the plug-in life cycle
@@ -55,6 +56,8 @@ public class Activator extends AbstractUIPlugin {
 		fileModificationManager = new FileModificationManager();
 		workspace.addResourceChangeListener(fileModificationManager,
 				IResourceChangeEvent.POST_CHANGE);
+		workspace.addResourceChangeListener(RegistryResourceStateCache.getInstance(),
+				IResourceChangeEvent.POST_CHANGE);
 	}
 
 	/*
@@ -69,6 +72,7 @@ public class Activator extends AbstractUIPlugin {
 		super.stop(context);
 		IWorkspace workspace = ResourcesPlugin.getWorkspace();
 		workspace.removeResourceChangeListener(fileModificationManager);
+		workspace.removeResourceChangeListener(RegistryResourceStateCache.getInstance());
 	}
 
 	/**
@@ -21,7 +21,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
@@ -30,6 +32,10 @@ import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceVisitor;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.jface.viewers.IBaseLabelProvider;
 import org.eclipse.jface.viewers.IDecoration;
@@ -45,12 +51,15 @@ import org.wso2.integrationstudio.logging.core.Logger;
 import org.wso2.integrationstudio.registry.manager.local.Activator;
 import org.wso2.integrationstudio.registry.manager.local.bean.RemoteRegistryInfo;
 import org.wso2.integrationstudio.registry.manager.local.utils.RegistryCheckInClientUtils;
+import org.wso2.integrationstudio.registry.manager.local.utils.RegistryResourceStateCache;
 
 public class RegistryResourceDecorator extends LabelProvider implements ILightweightLabelDecorator {
 	private static IIntegrationStudioLog log=Logger.getLog(Activator.PLUGIN_ID);
 	
 	private static List<String> distinctFiles = Collections.unmodifiableList(Arrays.asList("pom.xml", ".classpath", "artifact.xml", ".project"));
 
+	private static final ResourceStateJob resourceStateJob = new ResourceStateJob();
+
 	/**
 	 * decorate checked out files and folders with images according to the state
 	 * whether the file or folder is in-sync with remote registry etc
@@ -104,7 +113,17 @@ public class RegistryResourceDecorator extends LabelProvider implements ILightwe
 		int resourceState = RegistryCheckInClientUtils.RESOURCE_STATE_NOT_RESOURCE;
 
 		if (location != null) {
-			resourceState = RegistryCheckInClientUtils.getResourceState(location.toOSString());
+			String path = location.toOSString();
+			RegistryResourceStateCache stateCache = RegistryResourceStateCache.getInstance();
+			if (stateCache.isResourceStateAvailable(path)) {
+				resourceState = stateCache.getResourceState(path);
+			} else {
+				// the state of the folder is computed in the background, until then only registry folders are marked
+				resourceStateJob.add(resource);
+				if (RegistryCheckInClientUtils.isRegistryResource(path)) {
+					resourceState = RegistryCheckInClientUtils.RESOURCE_STATE_NORMAL;
+				}
+			}
 		}
 		switch (resourceState) {
 			case RegistryCheckInClientUtils.RESOURCE_STATE_NORMAL:
@@ -206,6 +225,15 @@ public class RegistryResourceDecorator extends LabelProvider implements ILightwe
 	 * @param objects
 	 */
 	public static void refreshResources(Object[] objects) {
+		RegistryResourceStateCache.getInstance().clear();
+		fireRefreshResources(objects);
+	}
+
+	/**
+	 * refresh the decorations of resources without discarding the cached resource states
+	 * @param objects
+	 */
+	private static void fireRefreshResources(Object[] objects) {
 		RegistryResourceDecorator registryResourceFileDecorator = RegistryResourceDecorator
 														.getRegistryResourceFileDecoratorInstance();
 		if (registryResourceFileDecorator != null){
@@ -224,6 +252,7 @@ public class RegistryResourceDecorator extends LabelProvider implements ILightwe
 	 * @param p
 	 */
 	public static void refreshProjectResource(IProject p) {
+		RegistryResourceStateCache.getInstance().clear();
 		RegistryResourceDecorator registryResourceFileDecorator = RegistryResourceDecorator
 														.getRegistryResourceFileDecoratorInstance();
 		if (registryResourceFileDecorator != null){
@@ -235,4 +264,49 @@ public class RegistryResourceDecorator extends LabelProvider implements ILightwe
 			registryResourceFileDecorator.refreshProject(p);
 		}
 	}
+
+	/**
+	 * Computes the states of folders queued by the decorator and refreshes their decorations.
+	 */
+	private static class ResourceStateJob extends Job {
+		private final Set<IResource> resources = new LinkedHashSet<IResource>();
+
+		ResourceStateJob() {
+			super("Computing registry resource states");
+			setSystem(true);
+			setPriority(DECORATE);
+		}
+
+		void add(IResource resource) {
+			synchronized (resources) {
+				if (!resources.add(resource)) {
+					return;
+				}
+			}
+			schedule();
+		}
+
+		protected IStatus run(IProgressMonitor monitor) {
+			List<IResource> computed = new ArrayList<IResource>();
+			while (!monitor.isCanceled()) {
+				IResource resource;
+				synchronized (resources) {
+					if (resources.isEmpty()) {
+						break;
+					}
+					resource = resources.iterator().next();
+					resources.remove(resource);
+				}
+				IPath location = resource.getLocation();
+				if (location != null) {
+					RegistryResourceStateCache.getInstance().getResourceState(location.toOSString());
+					computed.add(resource);
+				}
+			}
+			if (!computed.isEmpty()) {
+				fireRefreshResources(computed.toArray());
+			}
+			return Status.OK_STATUS;
+		}
+	}
 }
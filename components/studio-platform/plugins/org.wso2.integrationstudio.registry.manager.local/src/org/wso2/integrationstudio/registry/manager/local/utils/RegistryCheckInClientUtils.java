@@ -22,7 +22,9 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.xml.namespace.QName;
 
@@ -59,6 +61,7 @@ public class RegistryCheckInClientUtils {
 	private static final QName REGISTRY_URL_Q_NAME = new QName("registryUrl");
 	private static final QName MD5_Q_NAME = new QName("md5");
 	private static final QName STATUS_Q_NAME = new QName("status");
+	private static final QName REGISTRY_STATE_Q_NAME = new QName("registryState");
 	
 	private static final String META_PREFIX = "~";
 	private static final String CONFLICT_SERVER_EXTENSION = ".server";
@@ -66,6 +69,14 @@ public class RegistryCheckInClientUtils {
 	private static final String FOLDER_META_FILE = "~.xml";
 	private static final String XML_EXTENSION = ".xml";
 	private static final String META_EXTENSION = ".meta";
+	private static final int MAX_CACHED_FILES = 10000;
+
+	/**
+	 * Parsed metadata files and checksums of working copy files, by path. Entries are only used while the last
+	 * modified time and size of the file they were read from are unchanged.
+	 */
+	private static final Map<String, MetaFileInfo> metaFileCache = createFileCache();
+	private static final Map<String, FileChecksum> checksumCache = createFileCache();
 	
 	public static final int RESOURCE_STATE_NOT_CONFLICT = -2;
 	public static final int RESOURCE_STATE_NOT_RESOURCE = -1;
@@ -228,6 +239,16 @@ public class RegistryCheckInClientUtils {
 	 *		{@link #RESOURCE_STATE_ERROR}
 	 */
 	public static int getResourceState(String filePath) {
+		return getResourceState(filePath, null);
+	}
+
+	/**
+	 * Return the state of a file/folder, taking the states of its child and parent folders from the given cache.
+	 * @param filePath Path to the file/folder
+	 * @param stateCache cache of folder states, or null to compute them
+	 * @return the state, as returned by {@link #getResourceState(String)}
+	 */
+	static int getResourceState(String filePath, RegistryResourceStateCache stateCache) {
 		//Assume that it is not a registry resource
 		int state = RESOURCE_STATE_NOT_RESOURCE;
 		
@@ -266,11 +287,13 @@ public class RegistryCheckInClientUtils {
 					state = getFileResourceState(state, resource,metadataFile);
 				} else {
 					//determine reasonable state through the states of its file/folders contained.	
-					state = getFolderResourceState(state, metadataFolder, resource);
+					state = getFolderResourceState(state, metadataFolder, resource, stateCache);
 				}
 				
 				if (state == RESOURCE_STATE_NORMAL) {
-					if (RegistryResourceUtils.getRegistryState(filePath) == RegistryResourceUtils.RegistryState.ADDED) {
+					MetaFileInfo metaFileInfo = getMetaFileInfo(metadataFile);
+					if (metaFileInfo != null
+							&& metaFileInfo.registryState == RegistryResourceUtils.RegistryState.ADDED) {
 						state = RESOURCE_STATE_NEW;
 					}
 				}
@@ -284,7 +307,7 @@ public class RegistryCheckInClientUtils {
 			
 			//parent is a registry resource or a new registry resource => new resource
 			if (parent != null && 
-					(isRegistryResource(parent) || getResourceState(parent) == RESOURCE_STATE_NEW)){
+					(isRegistryResource(parent) || resolveResourceState(parent, stateCache) == RESOURCE_STATE_NEW)){
 				state = RESOURCE_STATE_NEW;
 			}
 			
@@ -293,15 +316,21 @@ public class RegistryCheckInClientUtils {
 		return state;
 	}
 
+	private static int resolveResourceState(String filePath, RegistryResourceStateCache stateCache) {
+		return stateCache != null ? stateCache.getResourceState(filePath) : getResourceState(filePath, null);
+	}
+
 	/**
 	 * Determine the states of each file/folder inside the folder and decide on a appropriate state 
 	 * for the folder.
 	 * @param currentState Current prevailing state for the folder
 	 * @param metadataFolder Path to the metadata folder
 	 * @param folder File object to the registry resource directory
+	 * @param stateCache cache of folder states, or null to compute them
 	 * @return the state of the directory
 	 */
-	private static int getFolderResourceState(int currentState, File metadataFolder, File folder) {
+	private static int getFolderResourceState(int currentState, File metadataFolder, File folder,
+			RegistryResourceStateCache stateCache) {
 		
 		//Assume the children state is the current state of the folder
 		int directoryState = currentState;
@@ -313,7 +342,7 @@ public class RegistryCheckInClientUtils {
 			if (file.isFile() || !file.getName().equals(META_EXTENSION)) {
 				
 				//get the resource state of the child file/folder
-				int childState = getResourceState(file.getAbsolutePath());
+				int childState = resolveResourceState(file.getAbsolutePath(), stateCache);
 				
 				if (childState == RESOURCE_STATE_CONFLICT) {
 					//the final state for the folder is conflict. ignore other children states
@@ -353,19 +382,15 @@ public class RegistryCheckInClientUtils {
 	 */
 	private static int getFileResourceState(int currentState, File resource, File metaFile) {
 		int state=currentState;
-		OMElement metaFileElement = null;
-		try {
-			//get the OM element containing the meta information about the registry resource 
-			metaFileElement = Utils.getOMElementFromMetaFile(metaFile.getAbsolutePath());
-		} catch (SynchronizationException e) {
-			log.error(e);
-		}
-		
+		//get the meta information about the registry resource 
+		MetaFileInfo metaFileInfo = getMetaFileInfo(metaFile);
 
 		if (isResourceConflict(resource.getAbsolutePath())){
 			state = RESOURCE_STATE_CONFLICT;
-		} else if(metaFileElement.getAttributeValue(STATUS_Q_NAME) != null){
-			String statusValue = metaFileElement.getAttributeValue(STATUS_Q_NAME);
+		} else if (metaFileInfo == null) {
+			state = RESOURCE_STATE_ERROR;
+		} else if(metaFileInfo.status != null){
+			String statusValue = metaFileInfo.status;
 			if("added".equals(statusValue)){
 				state = RESOURCE_STATE_ADDED;
 			} else if ("deleted".equals(statusValue)){
@@ -374,10 +399,10 @@ public class RegistryCheckInClientUtils {
 		} else{
 			try {
 				//Retrieve the checksum of the original file when checkedout
-				String checksum = metaFileElement.getAttributeValue(MD5_Q_NAME);
+				String checksum = metaFileInfo.md5;
 				
 				//Checksum of the working copy
-				String workingCopyChecksum = Utils.getMD5(Utils.getBytesFromFile(resource));
+				String workingCopyChecksum = getWorkingCopyChecksum(resource);
 				
 				if (workingCopyChecksum==null){
 					//Couldn't determine the checksum of the local copy => file couldn't be read
@@ -394,6 +419,70 @@ public class RegistryCheckInClientUtils {
 		return state;
 	}
 
+	/**
+	 * Return the meta information of a registry resource, parsing its metadata file only if it changed since it was
+	 * last read.
+	 * @param metaFile File object to the metadata file
+	 * @return the meta information, or null if the metadata file cannot be read
+	 */
+	private static MetaFileInfo getMetaFileInfo(File metaFile) {
+		String path = metaFile.getAbsolutePath();
+		long lastModified = metaFile.lastModified();
+		long length = metaFile.length();
+		synchronized (metaFileCache) {
+			MetaFileInfo metaFileInfo = metaFileCache.get(path);
+			if (metaFileInfo != null && metaFileInfo.lastModified == lastModified && metaFileInfo.length == length) {
+				return metaFileInfo;
+			}
+		}
+		MetaFileInfo metaFileInfo;
+		try {
+			metaFileInfo = new MetaFileInfo(lastModified, length, Utils.getOMElementFromMetaFile(path));
+		} catch (SynchronizationException e) {
+			log.error(e);
+			return null;
+		}
+		synchronized (metaFileCache) {
+			metaFileCache.put(path, metaFileInfo);
+		}
+		return metaFileInfo;
+	}
+
+	/**
+	 * Return the checksum of a working copy file, computing it only if the file changed since it was last computed.
+	 * @param resource File object to the working copy file
+	 * @return the checksum
+	 * @throws SynchronizationException if the file cannot be read
+	 */
+	private static String getWorkingCopyChecksum(File resource) throws SynchronizationException {
+		String path = resource.getAbsolutePath();
+		long lastModified = resource.lastModified();
+		long length = resource.length();
+		synchronized (checksumCache) {
+			FileChecksum checksum = checksumCache.get(path);
+			if (checksum != null && checksum.lastModified == lastModified && checksum.length == length) {
+				return checksum.md5;
+			}
+		}
+		String md5 = Utils.getMD5(Utils.getBytesFromFile(resource));
+		if (md5 != null) {
+			synchronized (checksumCache) {
+				checksumCache.put(path, new FileChecksum(lastModified, length, md5));
+			}
+		}
+		return md5;
+	}
+
+	private static <V> Map<String, V> createFileCache() {
+		return new LinkedHashMap<String, V>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+				return size() > MAX_CACHED_FILES;
+			}
+		};
+	}
+
 	/**
 	 * Checks to see if the resource is in conflicted state
 	 * @param path
@@ -579,23 +668,18 @@ public class RegistryCheckInClientUtils {
 			
 			//Locate the metadata file and obtain the omelement which contains all the meta info
 			File metaFile = getMetadataFile(path);
-			OMElement metaFileElement = Utils.getOMElementFromMetaFile(metaFile
-					.getAbsolutePath());
-			String registryUrl = metaFileElement.getAttributeValue(REGISTRY_URL_Q_NAME);
-			String relativePath = metaFileElement.getAttributeValue(PATH_Q_NAME);
-			boolean isCollection = metaFileElement.getAttributeValue(IS_COLLECTION_Q_NAME)
-				.equalsIgnoreCase("true");
-			OMElement creatorEle = metaFileElement.getFirstChildWithName(CREATOR_Q_NAME);
-			String creator = (creatorEle!=null)?creatorEle.getText():null;
+			MetaFileInfo metaFileInfo = getMetaFileInfo(metaFile);
+			if (metaFileInfo == null) {
+				throw new Exception("Cannot read the metadata file: " + metaFile);
+			}
+			String registryUrl = metaFileInfo.registryUrl;
+			String relativePath = metaFileInfo.path;
+			boolean isCollection = metaFileInfo.isCollection.equalsIgnoreCase("true");
+			String creator = metaFileInfo.creator;
 			
-			OMElement createdTimeEle = metaFileElement.getFirstChildWithName(
-					CREATED_TIME_Q_NAME);
-			long createdTime = Long.parseLong((createdTimeEle!=null)?createdTimeEle.getText():"0");
-			OMElement lastUpdaterEle = metaFileElement.getFirstChildWithName(LAST_UPDATER_Q_NAME);
-			String lastUpdater = (lastUpdaterEle!=null)?lastUpdaterEle.getText():"";
-			OMElement lastModifiedEle = metaFileElement.getFirstChildWithName(
-					LAST_MODIFIED_Q_NAME);
-			long lastModified = (lastModifiedEle!=null)?Long.parseLong(lastModifiedEle.getText()):metaFile.lastModified();
+			long createdTime = Long.parseLong((metaFileInfo.createdTime!=null)?metaFileInfo.createdTime:"0");
+			String lastUpdater = (metaFileInfo.lastUpdater!=null)?metaFileInfo.lastUpdater:"";
+			long lastModified = (metaFileInfo.lastModifiedTime!=null)?Long.parseLong(metaFileInfo.lastModifiedTime):metaFile.lastModified();
 			
 			RemoteRegistryInfo remoteRegistryInfo = new RemoteRegistryInfo();
 			try {
@@ -718,4 +802,63 @@ public class RegistryCheckInClientUtils {
 		}
 	}
 	
+	/**
+	 * Meta information read from the metadata file of a registry resource.
+	 */
+	private static class MetaFileInfo {
+		private final long lastModified;
+		private final long length;
+		private final String status;
+		private final String md5;
+		private final String registryUrl;
+		private final String path;
+		private final String isCollection;
+		private final String creator;
+		private final String createdTime;
+		private final String lastUpdater;
+		private final String lastModifiedTime;
+		private final int registryState;
+
+		MetaFileInfo(long lastModified, long length, OMElement metaFileElement) {
+			this.lastModified = lastModified;
+			this.length = length;
+			status = metaFileElement.getAttributeValue(STATUS_Q_NAME);
+			md5 = metaFileElement.getAttributeValue(MD5_Q_NAME);
+			registryUrl = metaFileElement.getAttributeValue(REGISTRY_URL_Q_NAME);
+			path = metaFileElement.getAttributeValue(PATH_Q_NAME);
+			isCollection = metaFileElement.getAttributeValue(IS_COLLECTION_Q_NAME);
+			creator = getChildText(metaFileElement, CREATOR_Q_NAME);
+			createdTime = getChildText(metaFileElement, CREATED_TIME_Q_NAME);
+			lastUpdater = getChildText(metaFileElement, LAST_UPDATER_Q_NAME);
+			lastModifiedTime = getChildText(metaFileElement, LAST_MODIFIED_Q_NAME);
+			int state = -1;
+			String registryStateText = getChildText(metaFileElement, REGISTRY_STATE_Q_NAME);
+			if (registryStateText != null) {
+				try {
+					state = Integer.parseInt(registryStateText.trim());
+				} catch (NumberFormatException e) {
+					log.error("Error reading meta data", e);
+				}
+			}
+			registryState = state;
+		}
+
+		private static String getChildText(OMElement element, QName name) {
+			OMElement child = element.getFirstChildWithName(name);
+			return (child != null) ? child.getText() : null;
+		}
+	}
+
+	private static class FileChecksum {
+		private final long lastModified;
+		private final long length;
+		private final String md5;
+
+		FileChecksum(long lastModified, long length, String md5) {
+			this.lastModified = lastModified;
+			this.length = length;
+			this.md5 = md5;
+		}
+	}
+
 }
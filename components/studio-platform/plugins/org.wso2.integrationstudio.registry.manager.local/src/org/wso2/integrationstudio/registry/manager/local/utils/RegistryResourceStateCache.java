@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2010, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.integrationstudio.registry.manager.local.utils;
+
+import java.io.File;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
+import org.wso2.integrationstudio.logging.core.Logger;
+import org.wso2.integrationstudio.registry.manager.local.Activator;
+
+/**
+ * Caches the states of checked out registry resource folders.
+ *
+ * The state of a folder depends on the states of everything below it. Computing it through this cache reuses the
+ * cached states of its sub folders, so a tree of folders is traversed once instead of once per folder. Changes to a
+ * resource discard the cached states of all the folders containing it.
+ */
+public class RegistryResourceStateCache implements IResourceChangeListener {
+	private static IIntegrationStudioLog log=Logger.getLog(Activator.PLUGIN_ID);
+
+	private static final RegistryResourceStateCache instance = new RegistryResourceStateCache();
+
+	private final ConcurrentMap<String, Integer> folderStates = new ConcurrentHashMap<String, Integer>();
+
+	/**
+	 * Incremented on every invalidation, so that states computed concurrently with a change are not cached.
+	 */
+	private final AtomicLong generation = new AtomicLong();
+
+	private RegistryResourceStateCache() {
+	}
+
+	public static RegistryResourceStateCache getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Return the state of a file/folder, as returned by {@link RegistryCheckInClientUtils#getResourceState(String)}.
+	 * @param path Path to the file/folder
+	 * @return the state
+	 */
+	public int getResourceState(String path) {
+		Integer state = folderStates.get(path);
+		if (state != null) {
+			return state;
+		}
+		long currentGeneration = generation.get();
+		int resourceState = RegistryCheckInClientUtils.getResourceState(path, this);
+		if (new File(path).isDirectory() && generation.get() == currentGeneration) {
+			folderStates.put(path, resourceState);
+		}
+		return resourceState;
+	}
+
+	/**
+	 * Checks whether the state of a file/folder can be returned without traversing the folder. States of files are
+	 * never cached, but they are computed from the file and its metadata only.
+	 * @param path Path to the file/folder
+	 * @return true if the path is a file or a folder with a cached state
+	 */
+	public boolean isResourceStateAvailable(String path) {
+		return folderStates.containsKey(path) || !new File(path).isDirectory();
+	}
+
+	/**
+	 * Discard the cached states of the folders containing the file/folder, and of the folder itself.
+	 * @param path Path to the file/folder
+	 */
+	public void invalidate(String path) {
+		generation.incrementAndGet();
+		File file = new File(path);
+		while (file != null) {
+			folderStates.remove(file.getPath());
+			file = file.getParentFile();
+		}
+	}
+
+	/**
+	 * Discard all the cached states.
+	 */
+	public void clear() {
+		generation.incrementAndGet();
+		folderStates.clear();
+	}
+
+	public void resourceChanged(IResourceChangeEvent event) {
+		if (event.getDelta() == null || folderStates.isEmpty()) {
+			return;
+		}
+		try {
+			event.getDelta().accept(new IResourceDeltaVisitor() {
+				public boolean visit(IResourceDelta delta) throws CoreException {
+					IResource resource = delta.getResource();
+					if (resource.getType() == IResource.FILE || delta.getKind() != IResourceDelta.CHANGED) {
+						// folders which only changed through their children are invalidated by the children
+						IPath location = resource.getLocation();
+						if (location != null) {
+							invalidate(location.toOSString());
+						}
+					}
+					return true;
+				}
+			});
+		} catch (CoreException e) {
+			log.error(e);
+		}
+	}
+
+}
@@ -0,0 +1,457 @@
+/*
+ * Copyright (c) 2010, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.integrationstudio.utils.archive;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Creates and extracts zip archives, doing the file I/O on a dedicated pool of threads.
+ *
+ * Entries are read and checksummed in parallel, ahead of a single {@link ZipOutputStream} which writes them in the
+ * order of their names, with the modification time of their source files, so archiving the same sources twice
+ * produces identical archives. Entries are not compressed in parallel: the {@link ZipOutputStream} deflates them itself
+ * on the writing thread, since it cannot take data deflated elsewhere. Entries which are archives or images themselves
+ * are stored instead of being compressed again. Extraction writes the entries of an archive in parallel, transferring their content into the target files
+ * through file channels.
+ */
+public class ArchiveEngine {
+
+    /**
+     * Files up to this size are read ahead of the writer, larger files are streamed by the writer.
+     */
+    private static final int IN_MEMORY_ENTRY_LIMIT = 1024 * 1024;
+
+    private static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    private static final Set<String> COMPRESSED_EXTENSIONS = new HashSet<String>(Arrays.asList("jar", "zip", "car",
+            "war", "aar", "mar", "xar", "dar", "gz", "tgz", "bz2", "xz", "7z", "rar", "png", "jpg", "jpeg", "gif"));
+
+    private static final Object DIRECTORY = new Object();
+
+    /**
+     * Entries by name. Directories map to {@link #DIRECTORY}, files to their source file or generated content.
+     */
+    private final SortedMap<String, Object> entries = new TreeMap<String, Object>();
+
+    private static class ExecutorHolder {
+        private static final ExecutorService executor = Executors.newFixedThreadPool(PARALLELISM,
+                new ThreadFactory() {
+                    private final AtomicInteger count = new AtomicInteger();
+
+                    public Thread newThread(Runnable runnable) {
+                        Thread thread = new Thread(runnable, "Archive Engine " + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+    }
+
+    /**
+     * Adds a file to the archive, along with entries for its parent directories.
+     *
+     * @param entryName name of the entry, using / as separator
+     * @param file source file
+     * @return this engine
+     */
+    public ArchiveEngine addFile(String entryName, File file) {
+        addParentDirectories(entryName);
+        entries.put(entryName, file);
+        return this;
+    }
+
+    /**
+     * Adds generated content to the archive, along with entries for its parent directories.
+     *
+     * @param entryName name of the entry, using / as separator
+     * @param content content of the entry
+     * @return this engine
+     */
+    public ArchiveEngine addContent(String entryName, byte[] content) {
+        addParentDirectories(entryName);
+        entries.put(entryName, content);
+        return this;
+    }
+
+    /**
+     * Adds a directory entry to the archive, along with entries for its parent directories.
+     *
+     * @param entryName name of the directory, using / as separator
+     * @return this engine
+     */
+    public ArchiveEngine addDirectory(String entryName) {
+        addParentDirectories(entryName);
+        entries.put(entryName + "/", DIRECTORY);
+        return this;
+    }
+
+    /**
+     * Adds the files and sub directories of a directory to the archive, recursively.
+     *
+     * @param entryName name of the directory inside the archive, or an empty string to add the contents at the root
+     * @param directory source directory
+     * @return this engine
+     */
+    public ArchiveEngine addDirectoryContents(String entryName, File directory) {
+        if (!entryName.isEmpty()) {
+            addDirectory(entryName);
+        }
+        File[] children = directory.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                String childEntryName = entryName.isEmpty() ? child.getName() : entryName + "/" + child.getName();
+                if (child.isDirectory()) {
+                    addDirectoryContents(childEntryName, child);
+                } else {
+                    addFile(childEntryName, child);
+                }
+            }
+        }
+        return this;
+    }
+
+    private void addParentDirectories(String entryName) {
+        int index = entryName.indexOf('/');
+        while (index != -1) {
+            entries.put(entryName.substring(0, index + 1), DIRECTORY);
+            index = entryName.indexOf('/', index + 1);
+        }
+    }
+
+    /**
+     * Writes the archive to the given file.
+     *
+     * @param archive archive file to create or replace
+     * @throws IOException if a source cannot be read or the archive cannot be written
+     */
+    public void writeTo(File archive) throws IOException {
+        OutputStream out = new FileOutputStream(archive);
+        try {
+            writeTo(out);
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Writes the archive to the given stream. The stream is not closed.
+     *
+     * @param out stream to write the archive to
+     * @throws IOException if a source cannot be read or the archive cannot be written
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        List<Map.Entry<String, Object>> entryList = new ArrayList<Map.Entry<String, Object>>(entries.entrySet());
+        ZipOutputStream zipOut = new ZipOutputStream(
+                new BufferedOutputStream(new UnclosableOutputStream(out), 65536));
+
+        // a bounded window of entries is prepared ahead of the writer to keep the memory use flat
+        ExecutorService executor = ExecutorHolder.executor;
+        int window = PARALLELISM * 4;
+        Deque<Future<PreparedEntry>> inFlight = new ArrayDeque<Future<PreparedEntry>>();
+        int next = 0;
+        try {
+            while (next < entryList.size() && inFlight.size() < window) {
+                inFlight.add(executor.submit(prepareTask(entryList.get(next++))));
+            }
+            while (!inFlight.isEmpty()) {
+                writeEntry(zipOut, getPrepared(inFlight.poll()));
+                if (next < entryList.size()) {
+                    inFlight.add(executor.submit(prepareTask(entryList.get(next++))));
+                }
+            }
+        } finally {
+            for (Future<PreparedEntry> task : inFlight) {
+                task.cancel(true);
+            }
+        }
+        // writes the central directory and flushes, the given stream is left open
+        zipOut.close();
+    }
+
+    private static PreparedEntry getPrepared(Future<PreparedEntry> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while creating the archive");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("Error while reading an archive entry", cause);
+        }
+    }
+
+    private static Callable<PreparedEntry> prepareTask(final Map.Entry<String, Object> entry) {
+        return new Callable<PreparedEntry>() {
+            public PreparedEntry call() throws IOException {
+                return prepare(entry.getKey(), entry.getValue());
+            }
+        };
+    }
+
+    private static PreparedEntry prepare(String name, Object source) throws IOException {
+        PreparedEntry entry = new PreparedEntry(name);
+        if (source == DIRECTORY) {
+            entry.zipEntry.setTime(0);
+            setStored(entry.zipEntry, 0, 0);
+            return entry;
+        }
+
+        boolean store = isCompressed(name);
+        if (source instanceof byte[]) {
+            entry.zipEntry.setTime(0);
+            entry.data = (byte[]) source;
+        } else {
+            File file = (File) source;
+            entry.zipEntry.setTime(file.lastModified());
+            if (file.length() > IN_MEMORY_ENTRY_LIMIT) {
+                // the writer streams the file, a stored entry only needs its checksum up front
+                entry.file = file;
+                if (store) {
+                    setStored(entry.zipEntry, file.length(), checksum(file));
+                }
+                return entry;
+            }
+            entry.data = readFully(file);
+        }
+
+        if (store) {
+            CRC32 crc = new CRC32();
+            crc.update(entry.data);
+            setStored(entry.zipEntry, entry.data.length, crc.getValue());
+        }
+        return entry;
+    }
+
+    private static void setStored(ZipEntry zipEntry, long size, long crc) {
+        zipEntry.setMethod(ZipEntry.STORED);
+        zipEntry.setSize(size);
+        zipEntry.setCompressedSize(size);
+        zipEntry.setCrc(crc);
+    }
+
+    private static boolean isCompressed(String name) {
+        int index = name.lastIndexOf('.');
+        return index != -1 && COMPRESSED_EXTENSIONS.contains(name.substring(index + 1).toLowerCase());
+    }
+
+    private static byte[] readFully(File file) throws IOException {
+        long length = file.length();
+        byte[] content = new byte[(int) length];
+        InputStream in = new FileInputStream(file);
+        try {
+            int offset = 0;
+            int read;
+            while (offset < content.length && (read = in.read(content, offset, content.length - offset)) != -1) {
+                offset += read;
+            }
+            if (offset < content.length) {
+                throw new IOException(file + " was modified while it was being archived");
+            }
+        } finally {
+            in.close();
+        }
+        return content;
+    }
+
+    private static long checksum(File file) throws IOException {
+        CRC32 crc = new CRC32();
+        InputStream in = new FileInputStream(file);
+        try {
+            byte[] buffer = new byte[65536];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+            }
+        } finally {
+            in.close();
+        }
+        return crc.getValue();
+    }
+
+    private static void writeEntry(ZipOutputStream zipOut, PreparedEntry entry) throws IOException {
+        zipOut.putNextEntry(entry.zipEntry);
+        if (entry.data != null) {
+            zipOut.write(entry.data);
+        } else if (entry.file != null) {
+            copy(entry.file, zipOut);
+        }
+        // fails if a stored file no longer matches the size and checksum it was prepared with
+        zipOut.closeEntry();
+    }
+
+    private static void copy(File file, OutputStream out) throws IOException {
+        InputStream in = new FileInputStream(file);
+        try {
+            byte[] buffer = new byte[65536];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Extracts an archive into the given directory. Entries are written in parallel.
+     *
+     * @param archive archive to extract
+     * @param extractDir directory to extract the archive into, created if it does not exist
+     * @throws IOException if the archive cannot be read, or an entry points outside the extraction directory
+     */
+    public static void extract(File archive, File extractDir) throws IOException {
+        final ZipFile zipFile = new ZipFile(archive);
+        try {
+            extractDir.mkdirs();
+            String rootPath = extractDir.getCanonicalPath() + File.separator;
+
+            // directories are created up front, so that the parallel writers only create files
+            List<Future<Void>> tasks = new ArrayList<Future<Void>>();
+            List<Object[]> files = new ArrayList<Object[]>();
+            Enumeration<? extends ZipEntry> zipEntries = zipFile.entries();
+            while (zipEntries.hasMoreElements()) {
+                ZipEntry zipEntry = zipEntries.nextElement();
+                File target = new File(extractDir, zipEntry.getName());
+                if (!target.getCanonicalPath().startsWith(rootPath)
+                        && !target.getCanonicalFile().equals(extractDir.getCanonicalFile())) {
+                    throw new ZipException("Entry " + zipEntry.getName() + " is outside of the extraction directory");
+                }
+                if (zipEntry.isDirectory()) {
+                    target.mkdirs();
+                } else {
+                    target.getParentFile().mkdirs();
+                    files.add(new Object[] { zipEntry, target });
+                }
+            }
+
+            ExecutorService executor = ExecutorHolder.executor;
+            for (final Object[] file : files) {
+                tasks.add(executor.submit(new Callable<Void>() {
+                    public Void call() throws IOException {
+                        extractEntry(zipFile, (ZipEntry) file[0], (File) file[1]);
+                        return null;
+                    }
+                }));
+            }
+            IOException failure = null;
+            for (Future<Void> task : tasks) {
+                try {
+                    task.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failure = new InterruptedIOException("Interrupted while extracting " + archive);
+                    break;
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause() instanceof IOException ? (IOException) e.getCause()
+                                : new IOException("Error while extracting " + archive, e.getCause());
+                    }
+                }
+            }
+            if (failure != null) {
+                for (Future<Void> task : tasks) {
+                    task.cancel(true);
+                }
+                throw failure;
+            }
+        } finally {
+            zipFile.close();
+        }
+    }
+
+    private static void extractEntry(ZipFile zipFile, ZipEntry zipEntry, File target) throws IOException {
+        InputStream in = zipFile.getInputStream(zipEntry);
+        try {
+            FileOutputStream out = new FileOutputStream(target);
+            try {
+                FileChannel channel = out.getChannel();
+                ReadableByteChannel source = Channels.newChannel(in);
+                long position = 0;
+                long transferred;
+                while ((transferred = channel.transferFrom(source, position, 1 << 20)) > 0) {
+                    position += transferred;
+                }
+            } finally {
+                out.close();
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    private static class PreparedEntry {
+        private final ZipEntry zipEntry;
+        private byte[] data;
+        private File file;
+
+        PreparedEntry(String name) {
+            this.zipEntry = new ZipEntry(name);
+        }
+    }
+
+    private static class UnclosableOutputStream extends FilterOutputStream {
+
+        UnclosableOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        public void close() throws IOException {
+            flush();
+        }
+    }
+
+}
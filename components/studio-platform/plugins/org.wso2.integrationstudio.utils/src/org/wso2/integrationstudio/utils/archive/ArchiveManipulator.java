@@ -48,8 +48,6 @@ import java.util.zip.ZipOutputStream;
  */
 public class ArchiveManipulator {
 
-    protected String archiveSourceDir;
-
     public void archiveDir(File destArchive, File sourceDir) throws IOException {
     	archiveDir(destArchive.toString(), sourceDir.toString());
     }
@@ -65,10 +63,7 @@ public class ArchiveManipulator {
             throw new RuntimeException(sourceDir + " is not a directory");
         }
 
-        ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(destArchiveName));
-        this.archiveSourceDir = sourceDir;
-        zipDir(zipDir, zos);
-        zos.close();
+        new ArchiveEngine().addDirectoryContents("", zipDir).writeTo(new File(destArchiveName));
     }
 
     /**
@@ -128,8 +123,7 @@ public class ArchiveManipulator {
      * @throws IOException
      */
     public void extract(String archive, String extractDir) throws IOException {
-        FileInputStream inputStream = new FileInputStream(archive);
-        extractFromStream(inputStream, extractDir);
+        extract(new File(archive), new File(extractDir));
     }
     
     /**
@@ -139,7 +133,13 @@ public class ArchiveManipulator {
      * @throws IOException
      */
     public void extract(File archive, File extractDir) throws IOException {
-    	extract(archive.toString(), extractDir.toString());
+        try {
+            ArchiveEngine.extract(archive, extractDir);
+        } catch (IOException e) {
+            String msg = "Cannot unzip archive. It is probably corrupt";
+            System.err.println(msg);
+            throw e;
+        }
     }
 
     /**
@@ -203,52 +203,4 @@ public class ArchiveManipulator {
             }
         }
     }
-
-    /**
-     * Utility method used by archive methods
-     * @param zipDir
-     * @param zos
-     * @throws IOException
-     */
-    private void zipDir(File zipDir, ZipOutputStream zos) throws IOException {
-        //get a listing of the directory content
-        String[] dirList = zipDir.list();
-        byte[] readBuffer = new byte[40960];
-        int bytesIn = 0;
-        //loop through dirList, and zip the files
-        for (int i = 0; i < dirList.length; i++) {
-            File f = new File(zipDir, dirList[i]);
-            //place the zip entry in the ZipOutputStream object
-            zos.putNextEntry(new ZipEntry(getZipEntryPath(f)));
-            if (f.isDirectory()) {
-                //if the File object is a directory, call this
-                //function again to add its content recursively
-                zipDir(f, zos);
-                //loop again
-                continue;
-            }
-            //if we reached here, the File object f was not a directory
-            //create a FileInputStream on top of f
-            FileInputStream fis = new FileInputStream(f);
-
-            //now write the content of the file to the ZipOutputStream
-            while ((bytesIn = fis.read(readBuffer)) != -1) {
-                zos.write(readBuffer, 0, bytesIn);
-            }
-            //close the Stream
-            fis.close();
-        }
-    }
-
-    private String getZipEntryPath(File f) {
-        String entryPath = f.getPath();
-        entryPath = entryPath.substring(archiveSourceDir.length() + 1);
-        if (File.separatorChar == '\\') {
-            entryPath = entryPath.replace(File.separatorChar, '/');
-        }
-        if (f.isDirectory()) {
-            entryPath += "/";
-        }
-        return entryPath;
-    }
 }
@@ -55,6 +55,7 @@ import java.util.zip.ZipInputStream;
 
 import org.apache.commons.io.FilenameUtils;
 import org.eclipse.core.runtime.Path;
+import org.wso2.integrationstudio.utils.archive.ArchiveEngine;
 import org.wso2.integrationstudio.utils.data.ITemporaryFileTag;
 import org.wso2.integrationstudio.utils.internal.model.TempFileTag;
 
@@ -724,8 +725,7 @@ public class FileUtils{
      * @throws IOException
      */
 	public static void extract(String archive, String extractDir) throws IOException {
-        FileInputStream inputStream = new FileInputStream(archive);
-        extractFromStream(inputStream, extractDir);
+        extract(new File(archive), new File(extractDir));
     }
     /**
      * Utility method to extract an archive
@@ -734,7 +734,13 @@ public class FileUtils{
      * @throws IOException
      */
 	public static void extract(File archive, File extractDir) throws IOException {
-    	extract(archive.toString(), extractDir.toString());
+        try {
+            ArchiveEngine.extract(archive, extractDir);
+        } catch (IOException e) {
+            String msg = "Cannot unzip archive. It is probably corrupt";
+            System.err.println(msg);
+            throw e;
+        }
     }
 
     /**